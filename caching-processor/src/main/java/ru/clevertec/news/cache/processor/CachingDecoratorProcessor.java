@@ -0,0 +1,380 @@
+package ru.clevertec.news.cache.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Generates a {@code <Service>CachingDecorator} for every class with methods annotated with
+ * {@code ru.clevertec.news.cache.CachedById}, {@code CachePutById} or {@code EvictById}.
+ * The decorator implements the single interface of the class, delegates every abstract method to the class
+ * and keeps a {@code ru.clevertec.cache.Cache} keyed by the first argument of the annotated methods.
+ * Caching is plain generated code, so it costs neither a proxy nor reflective argument handling per call.
+ * <p>
+ * For methods returning {@code Mono<T>} the cache holds the emitted values of type {@code T}, never a Mono:
+ * a hit is served without subscribing to the service, a put caches the value the write emits, and an evict
+ * removes the value once the write terminates. A read that was in flight while a write of the class completed
+ * does not cache its value, as it may predate the write.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@SupportedAnnotationTypes({
+        CachingDecoratorProcessor.CACHED_BY_ID,
+        CachingDecoratorProcessor.CACHE_PUT_BY_ID,
+        CachingDecoratorProcessor.EVICT_BY_ID})
+public class CachingDecoratorProcessor extends AbstractProcessor {
+
+    static final String CACHED_BY_ID = "ru.clevertec.news.cache.CachedById";
+    static final String CACHE_PUT_BY_ID = "ru.clevertec.news.cache.CachePutById";
+    static final String EVICT_BY_ID = "ru.clevertec.news.cache.EvictById";
+
+    private static final String DECORATOR_SUFFIX = "CachingDecorator";
+    private static final String CACHE = "ru.clevertec.cache.Cache";
+    private static final String CACHE_FACTORY = "ru.clevertec.cache.CacheFactory";
+    private static final String MONO = "reactor.core.publisher.Mono";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Map<TypeElement, Map<ExecutableElement, String>> servicesToMethods = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            String annotationName = annotation.getQualifiedName().toString();
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                ExecutableElement method = (ExecutableElement) element;
+                Map<ExecutableElement, String> methods = servicesToMethods.computeIfAbsent(
+                        (TypeElement) method.getEnclosingElement(), service -> new LinkedHashMap<>());
+                if (methods.put(method, annotationName) != null) {
+                    error(method, "Only one of @CachedById, @CachePutById and @EvictById is allowed on a method");
+                }
+            }
+        }
+        servicesToMethods.forEach(this::generateDecorator);
+        return true;
+    }
+
+    private void generateDecorator(TypeElement service, Map<ExecutableElement, String> annotatedMethods) {
+        if (service.getKind() != ElementKind.CLASS || service.getNestingKind().isNested()) {
+            error(service, "Caching annotations are supported on top-level classes only");
+            return;
+        }
+        if (service.getInterfaces().size() != 1) {
+            error(service, "A class with caching annotations has to implement exactly one interface, "
+                    + "which its CachingDecorator implements");
+            return;
+        }
+        DeclaredType serviceInterface = (DeclaredType) service.getInterfaces().get(0);
+
+        TypeMirror keyType = null;
+        TypeMirror valueType = null;
+        for (Map.Entry<ExecutableElement, String> entry : annotatedMethods.entrySet()) {
+            ExecutableElement method = entry.getKey();
+            if (method.getParameters().isEmpty()) {
+                error(method, "A cached method has to take the cache key as its first parameter");
+                return;
+            }
+            TypeMirror methodKeyType = boxed(method.getParameters().get(0).asType());
+            if (keyType == null) {
+                keyType = methodKeyType;
+            } else if (!processingEnv.getTypeUtils().isSameType(keyType, methodKeyType)) {
+                error(method, "Every cached method of a class has to take a key of type " + keyType);
+                return;
+            }
+            if (EVICT_BY_ID.equals(entry.getValue())) {
+                continue;
+            }
+            if (valueType == null) {
+                valueType = method.getReturnType();
+            } else if (!processingEnv.getTypeUtils().isSameType(valueType, method.getReturnType())) {
+                error(method, "Every cached method of a class has to return " + valueType);
+                return;
+            }
+        }
+        if (valueType == null) {
+            error(service, "A class with @EvictById has to declare the cached value with @CachedById or @CachePutById");
+            return;
+        }
+        if (valueType.getKind().isPrimitive() || valueType.getKind() == TypeKind.VOID) {
+            error(service, "A cached value has to be a reference type, not " + valueType);
+            return;
+        }
+        if (isMono(valueType) && (((DeclaredType) valueType).getTypeArguments().size() != 1
+                || emittedType(valueType).getKind() != TypeKind.DECLARED)) {
+            error(service, "A cached Mono has to emit a declared type, not " + valueType);
+            return;
+        }
+
+        List<ExecutableElement> interfaceMethods = abstractMethods(serviceInterface);
+        for (ExecutableElement method : annotatedMethods.keySet()) {
+            if (interfaceMethods.stream().noneMatch(interfaceMethod ->
+                    processingEnv.getElementUtils().overrides(method, interfaceMethod, service))) {
+                error(method, "A cached method has to implement a method of " + serviceInterface);
+                return;
+            }
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(service).getQualifiedName().toString();
+        String decoratorName = service.getSimpleName() + DECORATOR_SUFFIX;
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(
+                    packageName.isEmpty() ? decoratorName : packageName + "." + decoratorName, service);
+            try (Writer writer = file.openWriter(); PrintWriter out = new PrintWriter(writer)) {
+                writeDecorator(out, packageName, decoratorName, service, serviceInterface, interfaceMethods,
+                        keyType, valueType, annotatedMethods);
+            }
+        } catch (IOException e) {
+            error(service, "Could not write " + decoratorName + ": " + e.getMessage());
+        }
+    }
+
+    private void writeDecorator(PrintWriter out, String packageName, String decoratorName, TypeElement service,
+                                DeclaredType serviceInterface, List<ExecutableElement> interfaceMethods,
+                                TypeMirror keyType, TypeMirror valueType,
+                                Map<ExecutableElement, String> annotatedMethods) {
+        String serviceName = service.getQualifiedName().toString();
+        TypeMirror cachedType = isMono(valueType) ? emittedType(valueType) : valueType;
+        String cacheType = CACHE + "<" + keyType + ", " + cachedType + ">";
+
+        if (!packageName.isEmpty()) {
+            out.println("package " + packageName + ";");
+            out.println();
+        }
+        out.println("/**");
+        out.println(" * Caching decorator of {@link " + serviceName + "} generated from its caching annotations.");
+        out.println(" */");
+        out.println("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")");
+        out.println("public class " + decoratorName + " implements " + serviceInterface + " {");
+        out.println();
+        out.println("    private final " + serviceName + " delegate;");
+        out.println("    private final " + cacheType + " cache;");
+        out.println("    private final java.util.concurrent.locks.Lock lock = new java.util.concurrent.locks.ReentrantLock();");
+        out.println("    private long writes;");
+        out.println();
+        out.println("    public " + decoratorName + "(" + serviceName + " delegate,");
+        out.println("            " + CACHE_FACTORY + "<" + keyType + ", " + cachedType + "> cacheFactory) {");
+        out.println("        this.delegate = delegate;");
+        out.println("        this.cache = cacheFactory.createCache();");
+        out.println("    }");
+
+        for (ExecutableElement method : interfaceMethods) {
+            ExecutableType methodType = (ExecutableType) processingEnv.getTypeUtils()
+                    .asMemberOf(serviceInterface, method);
+            String annotation = annotationOf(service, method, annotatedMethods);
+            out.println();
+            writeMethod(out, method, methodType, annotation, cachedType);
+        }
+
+        out.println();
+        out.println("    private " + cachedType + " cached(" + keyType + " key) {");
+        out.println("        lock.lock();");
+        out.println("        try {");
+        out.println("            return cache.get(key);");
+        out.println("        } finally {");
+        out.println("            lock.unlock();");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("    private long writes() {");
+        out.println("        lock.lock();");
+        out.println("        try {");
+        out.println("            return writes;");
+        out.println("        } finally {");
+        out.println("            lock.unlock();");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("    private void cacheRead(" + keyType + " key, " + cachedType + " value, long writesBefore) {");
+        out.println("        lock.lock();");
+        out.println("        try {");
+        out.println("            if (writes == writesBefore) {");
+        out.println("                cache.removeByKey(key);");
+        out.println("                cache.put(key, value);");
+        out.println("            }");
+        out.println("        } finally {");
+        out.println("            lock.unlock();");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("    private void cache(" + keyType + " key, " + cachedType + " value) {");
+        out.println("        lock.lock();");
+        out.println("        try {");
+        out.println("            writes++;");
+        out.println("            cache.removeByKey(key);");
+        out.println("            cache.put(key, value);");
+        out.println("        } finally {");
+        out.println("            lock.unlock();");
+        out.println("        }");
+        out.println("    }");
+        out.println();
+        out.println("    private void evict(" + keyType + " key) {");
+        out.println("        lock.lock();");
+        out.println("        try {");
+        out.println("            writes++;");
+        out.println("            cache.removeByKey(key);");
+        out.println("        } finally {");
+        out.println("            lock.unlock();");
+        out.println("        }");
+        out.println("    }");
+        out.println("}");
+    }
+
+    private void writeMethod(PrintWriter out, ExecutableElement method, ExecutableType methodType,
+                             String annotation, TypeMirror cachedType) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        List<String> declarations = new ArrayList<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            declarations.add(methodType.getParameterTypes().get(i) + " " + parameters.get(i).getSimpleName());
+        }
+        String arguments = parameters.stream()
+                .map(parameter -> parameter.getSimpleName().toString())
+                .collect(Collectors.joining(", "));
+        String typeParameters = method.getTypeParameters().isEmpty() ? "" : method.getTypeParameters().stream()
+                .map(this::typeParameter)
+                .collect(Collectors.joining(", ", "<", "> "));
+        String thrown = methodType.getThrownTypes().isEmpty() ? "" : methodType.getThrownTypes().stream()
+                .map(TypeMirror::toString)
+                .collect(Collectors.joining(", ", " throws ", ""));
+        TypeMirror returnType = methodType.getReturnType();
+        boolean returnsVoid = returnType.getKind() == TypeKind.VOID;
+        String call = "delegate." + method.getSimpleName() + "(" + arguments + ")";
+        String key = parameters.isEmpty() ? null : parameters.get(0).getSimpleName().toString();
+
+        out.println("    @Override");
+        out.println("    public " + typeParameters + returnType + " " + method.getSimpleName()
+                + "(" + String.join(", ", declarations) + ")" + thrown + " {");
+        if (annotation != null && isMono(returnType)) {
+            writeMonoMethod(out, annotation, call, key, cachedType);
+        } else if (CACHED_BY_ID.equals(annotation)) {
+            out.println("        " + cachedType + " cached = cached(" + key + ");");
+            out.println("        if (cached != null) {");
+            out.println("            return cached;");
+            out.println("        }");
+            out.println("        " + cachedType + " result = " + call + ";");
+            out.println("        cache(" + key + ", result);");
+            out.println("        return result;");
+        } else if (CACHE_PUT_BY_ID.equals(annotation)) {
+            out.println("        " + cachedType + " result = " + call + ";");
+            out.println("        cache(" + key + ", result);");
+            out.println("        return result;");
+        } else if (EVICT_BY_ID.equals(annotation)) {
+            if (returnsVoid) {
+                out.println("        " + call + ";");
+                out.println("        evict(" + key + ");");
+            } else {
+                out.println("        " + returnType + " result = " + call + ";");
+                out.println("        evict(" + key + ");");
+                out.println("        return result;");
+            }
+        } else {
+            out.println("        " + (returnsVoid ? "" : "return ") + call + ";");
+        }
+        out.println("    }");
+    }
+
+    /**
+     * Writes the body of an annotated method returning Mono: the service is subscribed to only on a miss, and
+     * the cache is changed by the values and termination of the returned Mono rather than by the call.
+     */
+    private void writeMonoMethod(PrintWriter out, String annotation, String call, String key, TypeMirror cachedType) {
+        if (CACHED_BY_ID.equals(annotation)) {
+            out.println("        return " + MONO + ".defer(() -> {");
+            out.println("            " + cachedType + " cached = cached(" + key + ");");
+            out.println("            if (cached != null) {");
+            out.println("                return " + MONO + ".just(cached);");
+            out.println("            }");
+            out.println("            long writesBefore = writes();");
+            out.println("            return " + call + ".doOnNext(value -> cacheRead(" + key + ", value, writesBefore));");
+            out.println("        });");
+        } else if (CACHE_PUT_BY_ID.equals(annotation)) {
+            out.println("        return " + call);
+            out.println("                .doOnNext(value -> cache(" + key + ", value))");
+            out.println("                .doOnError(error -> evict(" + key + "));");
+        } else {
+            out.println("        return " + call + ".doFinally(signal -> evict(" + key + "));");
+        }
+    }
+
+    private boolean isMono(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+                && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(MONO);
+    }
+
+    private TypeMirror emittedType(TypeMirror monoType) {
+        return ((DeclaredType) monoType).getTypeArguments().get(0);
+    }
+
+    /**
+     * Collects the abstract methods of the interface and of its superinterfaces; default methods stay inherited,
+     * so their calls of abstract methods go through the decorator as well.
+     */
+    private List<ExecutableElement> abstractMethods(DeclaredType serviceInterface) {
+        TypeElement interfaceElement = (TypeElement) serviceInterface.asElement();
+        Set<ExecutableElement> methods = new LinkedHashSet<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(
+                processingEnv.getElementUtils().getAllMembers(interfaceElement))) {
+            if (method.getModifiers().contains(Modifier.ABSTRACT)
+                    && method.getEnclosingElement().getKind() == ElementKind.INTERFACE) {
+                methods.add(method);
+            }
+        }
+        return new ArrayList<>(methods);
+    }
+
+    private String annotationOf(TypeElement service, ExecutableElement interfaceMethod,
+                                Map<ExecutableElement, String> annotatedMethods) {
+        for (Map.Entry<ExecutableElement, String> entry : annotatedMethods.entrySet()) {
+            if (processingEnv.getElementUtils().overrides(entry.getKey(), interfaceMethod, service)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    private String typeParameter(TypeParameterElement parameter) {
+        String bounds = parameter.getBounds().stream()
+                .map(TypeMirror::toString)
+                .filter(bound -> !"java.lang.Object".equals(bound))
+                .collect(Collectors.joining(" & "));
+        return bounds.isEmpty() ? parameter.getSimpleName().toString() : parameter.getSimpleName() + " extends " + bounds;
+    }
+
+    private TypeMirror boxed(TypeMirror type) {
+        return type.getKind().isPrimitive()
+                ? processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).asType()
+                : type;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
@@ -0,0 +1,181 @@
+package ru.clevertec.news.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.clevertec.cache.Cache;
+import ru.clevertec.news.codec.JsonCodec;
+import ru.clevertec.news.codec.StreamingPageDecoder;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.service.ChunkedPageFetcher;
+import ru.clevertec.news.service.CommentCounter;
+import ru.clevertec.news.service.CommentService;
+import ru.clevertec.news.service.CommentServiceImpl;
+import ru.clevertec.news.service.CommentServiceImplCachingDecorator;
+import ru.clevertec.news.service.CommentStreams;
+import ru.clevertec.news.service.OwnershipCache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Measures a cache hit of CommentService.get, resolved to the comment, through the runtime AOP proxy with the around
+ * advice the comment cache used to be, and through the CachingDecorator generated at compile time. Both keep
+ * a HashMap-backed cache behind a lock. The advice cached the Mono returned by the service, so each of its hits
+ * subscribes to the service again, while the decorator caches the comment. The service stands in for the downstream
+ * call with a Mono that counts its subscriptions; the counts per hit are printed after each trial.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CachingDecoratorBenchmark {
+
+    private static final long COMMENT_ID = 1L;
+
+    private CountingCommentService aspectTarget;
+    private CountingCommentService decoratorTarget;
+    private CommentService aspectProxy;
+    private CommentService generatedDecorator;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+        aspectTarget = new CountingCommentService(objectMapper);
+        decoratorTarget = new CountingCommentService(objectMapper);
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(aspectTarget);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new CommentCacheAspect());
+        aspectProxy = proxyFactory.getProxy();
+
+        generatedDecorator = new CommentServiceImplCachingDecorator(decoratorTarget, MapCache::new);
+
+        aspectProxy.get(COMMENT_ID).block();
+        generatedDecorator.get(COMMENT_ID).block();
+        aspectTarget.reset();
+        decoratorTarget.reset();
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (CountingCommentService target : List.of(aspectTarget, decoratorTarget)) {
+            if (target.hits > 0) {
+                System.out.printf("%ndownstream calls per hit: %.2f%n", (double) target.calls / target.hits);
+            }
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<CommentResponse> aspectProxyHit() {
+        aspectTarget.hits++;
+        return aspectProxy.get(COMMENT_ID).block();
+    }
+
+    @Benchmark
+    public ResponseEntity<CommentResponse> generatedDecoratorHit() {
+        decoratorTarget.hits++;
+        return generatedDecorator.get(COMMENT_ID).block();
+    }
+
+    /**
+     * Comment service whose get emits a fixed comment and counts the subscriptions, each standing for a call
+     * of comment-service.
+     */
+    static class CountingCommentService extends CommentServiceImpl {
+
+        private final ResponseEntity<CommentResponse> comment = ResponseEntity.ok(
+                new CommentResponse(COMMENT_ID, null, "Text", null, 1L));
+        private long calls;
+        private long hits;
+
+        CountingCommentService(ObjectMapper objectMapper) {
+            super(WebClient.builder().baseUrl("http://localhost"),
+                    new JsonCodec(objectMapper), new StreamingPageDecoder(objectMapper, 200, 16_777_216, 5000),
+                    new ChunkedPageFetcher(false, 500, 4, 5000), false,
+                    new CommentCounter(null, false, 0, Duration.ZERO, Duration.ZERO), new OwnershipCache(false, 0),
+                    new CommentStreams(null, Duration.ZERO, 0, Duration.ZERO, 0));
+        }
+
+        @Override
+        public Mono<ResponseEntity<CommentResponse>> get(Long id) {
+            return Mono.fromCallable(() -> {
+                calls++;
+                return comment;
+            });
+        }
+
+        private void reset() {
+            calls = 0;
+            hits = 0;
+        }
+    }
+
+    /**
+     * Around advice of the former runtime comment cache.
+     */
+    @Aspect
+    public static class CommentCacheAspect {
+
+        private final Cache<Long, Mono<ResponseEntity<CommentResponse>>> cache = new MapCache<>();
+        private final Lock lock = new ReentrantLock();
+
+        @Around("execution(* ru.clevertec.news.service.CommentServiceImpl.get(..))")
+        @SuppressWarnings("unchecked")
+        public Mono<ResponseEntity<CommentResponse>> get(ProceedingJoinPoint joinPoint) throws Throwable {
+            lock.lock();
+            try {
+                Long id = (Long) joinPoint.getArgs()[0];
+                Mono<ResponseEntity<CommentResponse>> commentResponse = cache.get(id);
+                if (commentResponse == null) {
+                    commentResponse = (Mono<ResponseEntity<CommentResponse>>) joinPoint.proceed();
+                }
+                cache.put(id, commentResponse);
+                return commentResponse;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static class MapCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, V> values = new HashMap<>();
+
+        @Override
+        public V get(K key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void removeByKey(K key) {
+            values.remove(key);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ru.clevertec.news.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.clevertec.news.codec.JsonCodec;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decoding a page of news through the generic ObjectMapper path previously used by the services
+ * (Object round trip plus a new TypeReference per call) with the prebuilt readers of JsonCodec.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JsonCodecBenchmark {
+
+    private static final int PAGE_SIZE = 15;
+
+    private ObjectMapper objectMapper;
+    private JsonCodec jsonCodec;
+    private byte[] pageJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .filterProvider(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+        jsonCodec = new JsonCodec(objectMapper.copy().registerModule(new BlackbirdModule()));
+
+        List<NewsResponse> content = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            content.add(new NewsResponse((long) i, LocalDateTime.of(2024, 1, 1, 12, 0, 0, i * 1_000_000),
+                    "Title " + i, "Text of the news " + i, new UserResponse("user" + i % 3), null, null));
+        }
+        pageJson = objectMapper.writeValueAsString(new PaginationResponse<>(1, 10, content))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public PaginationResponse<NewsResponse> genericObjectMapper() throws Exception {
+        Object body = objectMapper.readValue(pageJson, Object.class);
+        return objectMapper.readValue(objectMapper.writeValueAsString(body),
+                new TypeReference<PaginationResponse<NewsResponse>>() {
+                });
+    }
+
+    @Benchmark
+    public PaginationResponse<NewsResponse> prebuiltReader() {
+        return jsonCodec.readNewsPage(pageJson);
+    }
+}
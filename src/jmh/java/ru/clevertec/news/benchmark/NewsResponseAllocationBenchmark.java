@@ -0,0 +1,72 @@
+package ru.clevertec.news.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work done per '/api/news/{id}' response: decoding the news and the comment page
+ * received from downstream services, attaching the comments and encoding the result.
+ * Run with {@code ./gradlew jmh}; the gc profiler reports bytes allocated per response as gc.alloc.rate.norm.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NewsResponseAllocationBenchmark {
+
+    private static final int COMMENTS_PER_PAGE = 15;
+    private static final String[] USERS = {"alice", "bob", "carol"};
+
+    private ObjectMapper objectMapper;
+    private String newsJson;
+    private String commentsJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .filterProvider(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+
+        NewsResponse news = new NewsResponse(1L, LocalDateTime.of(2024, 1, 1, 12, 0), "Title",
+                "x".repeat(2000), new UserResponse("alice"), null, null);
+        List<CommentResponse> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS_PER_PAGE; i++) {
+            comments.add(new CommentResponse((long) i, "2024-01-01T12:00:00.000", "Comment text " + i,
+                    new UserResponse(USERS[i % USERS.length]), 1L));
+        }
+        newsJson = objectMapper.writeValueAsString(news);
+        commentsJson = objectMapper.writeValueAsString(new PaginationResponse<>(1, 1, comments));
+    }
+
+    @Benchmark
+    public byte[] newsByIdResponse() throws Exception {
+        NewsResponse news = objectMapper.readValue(newsJson, NewsResponse.class);
+        Object commentsBody = objectMapper.readValue(commentsJson, Object.class);
+        PaginationResponse<CommentResponse> comments = objectMapper.readValue(
+                objectMapper.writeValueAsString(commentsBody),
+                new TypeReference<PaginationResponse<CommentResponse>>() {
+                });
+        return objectMapper.writeValueAsBytes(news.withComments(comments));
+    }
+}
@@ -0,0 +1,117 @@
+package ru.clevertec.news.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Flux;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.service.NewsSearchIndex;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches of the in-gateway NewsSearchIndex over a synthetic corpus of news items whose words follow a Zipf-like
+ * distribution over a vocabulary of 50000 words: a frequent word, a rare word, two words and a prefix being typed,
+ * plus an update of an indexed news item. Each search takes the first page of 20 results.
+ * Run with {@code ./gradlew jmh}; the corpus takes a few gigabytes of heap, so the fork gets 6g.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class NewsSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int TITLE_WORDS = 6;
+    private static final int TEXT_WORDS = 30;
+    private static final int LIMIT = 20;
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ru", "sa", "to", "vi", "ze", "po",
+            "da", "fe", "gu", "hi", "jo", "be", "ce", "wa", "xu", "yo"};
+
+    @Param({"1000000"})
+    private int articles;
+
+    private NewsSearchIndex index;
+    private SplittableRandom random;
+    private String frequentWord;
+    private String rareWord;
+    private String twoWords;
+    private String typedPrefix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new NewsSearchIndex(null, true, 0, articles, Long.MAX_VALUE, 50, Duration.ofDays(1),
+                Duration.ofSeconds(10));
+        random = new SplittableRandom(42);
+        index.rebuild(Flux.range(1, articles).map(id -> article(id, random))).block();
+        frequentWord = word(3);
+        rareWord = word(20_000);
+        twoWords = word(10) + " " + word(200);
+        typedPrefix = word(100).substring(0, 3);
+    }
+
+    @Benchmark
+    public List<NewsResponse> frequentWord() {
+        return index.search(frequentWord, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<NewsResponse> rareWord() {
+        return index.search(rareWord, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<NewsResponse> twoWords() {
+        return index.search(twoWords, 0, LIMIT);
+    }
+
+    @Benchmark
+    public List<NewsResponse> typedPrefix() {
+        return index.search(typedPrefix, 0, LIMIT);
+    }
+
+    @Benchmark
+    public void update() {
+        index.put(article(1 + random.nextInt(articles), random));
+    }
+
+    private static NewsResponse article(long id, SplittableRandom random) {
+        return new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), words(TITLE_WORDS, random),
+                words(TEXT_WORDS, random), new UserResponse("author"), null, null);
+    }
+
+    private static String words(int count, SplittableRandom random) {
+        StringBuilder words = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                words.append(' ');
+            }
+            // ranks are drawn with probability falling off roughly as 1 / rank
+            words.append(word((int) Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1));
+        }
+        return words.toString();
+    }
+
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        for (int rest = rank + SYLLABLES.length; rest > 0; rest /= SYLLABLES.length) {
+            word.append(SYLLABLES[rest % SYLLABLES.length]);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,157 @@
+package ru.clevertec.news.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.clevertec.news.codec.JsonCodec;
+import ru.clevertec.news.codec.StreamingPageDecoder;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.service.BlockingNewsServiceImpl;
+import ru.clevertec.news.service.ChunkedPageFetcher;
+import ru.clevertec.news.service.CommentCounter;
+import ru.clevertec.news.service.CommentPageFallback;
+import ru.clevertec.news.service.CommentService;
+import ru.clevertec.news.service.CommentServiceImpl;
+import ru.clevertec.news.service.CommentStreams;
+import ru.clevertec.news.service.NewsSearchIndex;
+import ru.clevertec.news.service.NewsService;
+import ru.clevertec.news.service.NewsServiceImpl;
+import ru.clevertec.news.service.OwnershipCache;
+import ru.clevertec.news.service.TitleSuggester;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of '/api/news/{id}' for both values of 'news.service.mode': the reactive NewsServiceImpl
+ * and the blocking BlockingNewsServiceImpl. Concurrent clients call the service against a local stub
+ * of the downstream services that answers after a fixed latency.
+ * Run with {@code ./gradlew jmh}; the report shows throughput (ops/ms) and the p0.99 latency of the sample mode
+ * next to each other per mode. The blocking mode uses virtual threads only when the benchmark JVM is Java 21 or later.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class NewsServiceModeBenchmark {
+
+    private static final int COMMENTS_PER_PAGE = 15;
+
+    @Param({"reactive", "blocking"})
+    private String mode;
+
+    @Param({"20"})
+    private long downstreamLatencyMs;
+
+    private HttpServer downstream;
+    private ExecutorService downstreamExecutor;
+    private NewsService newsService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .filterProvider(new SimpleFilterProvider().setFailOnUnknownId(false))
+                .build();
+        byte[] newsJson = objectMapper.writeValueAsBytes(new NewsResponse(1L, LocalDateTime.of(2024, 1, 1, 12, 0),
+                "Title", "x".repeat(2000), new UserResponse("alice"), null, null));
+        List<CommentResponse> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS_PER_PAGE; i++) {
+            comments.add(new CommentResponse((long) i, "2024-01-01T12:00:00.000", "Comment text " + i,
+                    new UserResponse("user" + i % 3), 1L));
+        }
+        byte[] commentsJson = objectMapper.writeValueAsBytes(new PaginationResponse<>(1, 1, comments));
+
+        downstreamExecutor = Executors.newCachedThreadPool();
+        downstream = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        downstream.setExecutor(downstreamExecutor);
+        downstream.createContext("/news/", exchange -> respond(exchange, newsJson));
+        downstream.createContext("/comments/news/", exchange -> respond(exchange, commentsJson));
+        downstream.start();
+        String baseUrl = "http://localhost:" + downstream.getAddress().getPort();
+
+        JsonCodec jsonCodec = new JsonCodec(objectMapper);
+        StreamingPageDecoder streamingPageDecoder = new StreamingPageDecoder(objectMapper, 200, 16_777_216, 5000);
+        ChunkedPageFetcher chunkedPageFetcher = new ChunkedPageFetcher(false, 500, 4, 5000);
+        CommentService commentService = new CommentServiceImpl(WebClient.builder().baseUrl(baseUrl),
+                jsonCodec, streamingPageDecoder, chunkedPageFetcher, false,
+                new CommentCounter(null, false, 0, Duration.ZERO, Duration.ZERO), new OwnershipCache(false, 0),
+                new CommentStreams(null, Duration.ZERO, 0, Duration.ZERO, 0));
+        CommentPageFallback commentPageFallback = new CommentPageFallback(Duration.ZERO, 0, Duration.ZERO);
+
+        if ("blocking".equals(mode)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("news-service-");
+            executor.setVirtualThreads(Runtime.version().feature() >= 21);
+            SimpleAsyncTaskExecutor forkExecutor = new SimpleAsyncTaskExecutor("news-service-fork-");
+            forkExecutor.setVirtualThreads(Runtime.version().feature() >= 21);
+            newsService = new BlockingNewsServiceImpl(
+                    RestClient.builder().requestFactory(new JdkClientHttpRequestFactory()).baseUrl(baseUrl),
+                    commentService, jsonCodec, chunkedPageFetcher, commentPageFallback, executor, forkExecutor, false,
+                    new OwnershipCache(false, 0),
+                    new NewsSearchIndex(null, false, 0, 0, 0, 0, Duration.ZERO, Duration.ZERO),
+                    new TitleSuggester(false, 0, 0));
+        } else {
+            newsService = new NewsServiceImpl(WebClient.builder().baseUrl(baseUrl),
+                    commentService, jsonCodec, streamingPageDecoder, chunkedPageFetcher, commentPageFallback, false,
+                    new OwnershipCache(false, 0),
+                    new NewsSearchIndex(null, false, 0, 0, 0, 0, Duration.ZERO, Duration.ZERO),
+                    new TitleSuggester(false, 0, 0));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        downstream.stop(0);
+        downstreamExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public ResponseEntity<NewsResponse> newsById() {
+        return newsService.get(1L, COMMENTS_PER_PAGE, 1).block();
+    }
+
+    private void respond(HttpExchange exchange, byte[] body) throws IOException {
+        try {
+            Thread.sleep(downstreamLatencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
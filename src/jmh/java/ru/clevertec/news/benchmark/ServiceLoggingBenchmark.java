@@ -0,0 +1,168 @@
+package ru.clevertec.news.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.clevertec.loggingstarter.annotation.Loggable;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.logging.SampledLoggingAspect;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of logging a Loggable service call that returns a news page with comments:
+ * no logging, the synchronous logging of every call with its arguments and result, and SampledLoggingAspect
+ * with the default 1% rate behind an asynchronous appender. Both loggers write to a discarding stream,
+ * so the report shows the cost on the calling threads rather than the speed of the console.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class ServiceLoggingBenchmark {
+
+    private static final String SYNCHRONOUS_LOGGER = "service-calls-synchronous";
+    private static final int COMMENTS_PER_PAGE = 15;
+
+    @Param({"none", "synchronous", "sampled"})
+    private String logging;
+
+    private NewsLookup newsLookup;
+    private List<Appender<ILoggingEvent>> appenders;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Appender<ILoggingEvent> discarding = discardingAppender(context);
+        AsyncAppender async = new AsyncAppender();
+        async.setContext(context);
+        async.setQueueSize(8192);
+        async.setDiscardingThreshold(0);
+        async.setNeverBlock(true);
+        async.addAppender(discarding);
+        async.start();
+        appenders = List.of(async, discarding);
+
+        attach(context.getLogger(SampledLoggingAspect.LOGGER_NAME), async);
+        attach(context.getLogger(SYNCHRONOUS_LOGGER), discarding);
+
+        List<CommentResponse> comments = new ArrayList<>();
+        for (int i = 0; i < COMMENTS_PER_PAGE; i++) {
+            comments.add(new CommentResponse((long) i, "2024-01-01T12:00:00.000", "Comment text " + i,
+                    new UserResponse("user" + i % 3), 1L));
+        }
+        NewsLookup target = new NewsLookup(new NewsResponse(1L, LocalDateTime.of(2024, 1, 1, 12, 0),
+                "Title", "x".repeat(2000), new UserResponse("alice"), new PaginationResponse<>(1, 1, comments), null));
+
+        if ("none".equals(logging)) {
+            newsLookup = target;
+            return;
+        }
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(target);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect("sampled".equals(logging)
+                ? new SampledLoggingAspect(0.01, Map.of(), Duration.ofMillis(500), 512)
+                : new SynchronousLoggingAspect());
+        newsLookup = proxyFactory.getProxy();
+    }
+
+    @TearDown
+    public void tearDown() {
+        appenders.forEach(Appender::stop);
+    }
+
+    @Benchmark
+    public ResponseEntity<NewsResponse> newsById() {
+        return newsLookup.get(1L, COMMENTS_PER_PAGE, 1).block();
+    }
+
+    private Appender<ILoggingEvent> discardingAppender(LoggerContext context) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d %-5level [%thread] %logger - %msg%n");
+        encoder.start();
+        OutputStreamAppender<ILoggingEvent> appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+        return appender;
+    }
+
+    private void attach(Logger logger, Appender<ILoggingEvent> appender) {
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        logger.addAppender(appender);
+    }
+
+    @Loggable
+    public static class NewsLookup {
+
+        private final NewsResponse news;
+
+        public NewsLookup(NewsResponse news) {
+            this.news = news;
+        }
+
+        public Mono<ResponseEntity<NewsResponse>> get(Long id, int pageSizeComments, int numberPageComments) {
+            return Mono.just(ResponseEntity.ok(news));
+        }
+    }
+
+    /**
+     * Logging of every call on the calling thread: the arguments before the call, the result after it.
+     */
+    @Aspect
+    public static class SynchronousLoggingAspect {
+
+        private static final org.slf4j.Logger log = LoggerFactory.getLogger(SYNCHRONOUS_LOGGER);
+
+        @Around("@within(ru.clevertec.loggingstarter.annotation.Loggable)")
+        public Object log(ProceedingJoinPoint joinPoint) throws Throwable {
+            String method = joinPoint.getSignature().toShortString();
+            log.info("Method {} called with arguments {}", method, Arrays.toString(joinPoint.getArgs()));
+            Object result = joinPoint.proceed();
+            if (result instanceof Mono<?> mono) {
+                return mono.doOnSuccess(value -> log.info("Method {} returned {}", method, value));
+            }
+            log.info("Method {} returned {}", method, result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ru.clevertec.news.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.service.TitleSuggester;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Title suggestions of TitleSuggester over synthetic titles of three to six words from a vocabulary of 50000 words:
+ * a one-letter prefix, a word prefix and a prefix of two words, plus a view of a news item. Each suggestion takes
+ * the 10 most popular titles. The setup prints the heap per title both as accounted by the suggester, the figure
+ * 'news.suggest.max-bytes' limits, and as measured by the heap growth after a GC.
+ * Run with {@code ./gradlew jmh}.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TitleSuggesterBenchmark {
+
+    private static final int VOCABULARY = 50_000;
+    private static final int LIMIT = 10;
+    private static final String[] SYLLABLES = {"ka", "lo", "mi", "ne", "ru", "sa", "to", "vi", "ze", "po",
+            "da", "fe", "gu", "hi", "jo", "be", "ce", "wa", "xu", "yo"};
+
+    @Param({"100000"})
+    private int titles;
+
+    private TitleSuggester suggester;
+    private SplittableRandom random;
+    private String letter;
+    private String wordPrefix;
+    private String twoWords;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new SplittableRandom(42);
+        long before = usedHeap();
+        suggester = new TitleSuggester(true, Long.MAX_VALUE, 100);
+        for (long id = 1; id <= titles; id++) {
+            suggester.put(news(id));
+        }
+        for (int i = 0; i < titles; i++) {
+            suggester.view(news(1 + random.nextInt(titles)));
+        }
+        long measured = usedHeap() - before;
+        System.out.printf("%n%d titles: %d bytes/title accounted, %d bytes/title measured%n", suggester.size(),
+                suggester.memoryBytes() / suggester.size(), measured / suggester.size());
+        letter = word(3).substring(0, 1);
+        wordPrefix = word(3).substring(0, 3);
+        twoWords = word(3) + " " + word(40).substring(0, 2);
+    }
+
+    @Benchmark
+    public List<String> letter() {
+        return suggester.suggest(letter, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> wordPrefix() {
+        return suggester.suggest(wordPrefix, LIMIT);
+    }
+
+    @Benchmark
+    public List<String> twoWords() {
+        return suggester.suggest(twoWords, LIMIT);
+    }
+
+    @Benchmark
+    public void view() {
+        suggester.view(news(1 + random.nextInt(titles)));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * News item with a title derived from its ID, so a viewed news item keeps its title.
+     */
+    private static NewsResponse news(long id) {
+        SplittableRandom random = new SplittableRandom(id);
+        StringBuilder title = new StringBuilder();
+        int words = 3 + random.nextInt(4);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                title.append(' ');
+            }
+            // ranks are drawn with probability falling off roughly as 1 / rank
+            title.append(word((int) Math.exp(random.nextDouble() * Math.log(VOCABULARY)) - 1));
+        }
+        title.setCharAt(0, Character.toUpperCase(title.charAt(0)));
+        return new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), title.toString(), "Text",
+                new UserResponse("author"), null, null);
+    }
+
+    private static String word(int rank) {
+        StringBuilder word = new StringBuilder();
+        for (int rest = rank + SYLLABLES.length; rest > 0; rest /= SYLLABLES.length) {
+            word.append(SYLLABLES[rest % SYLLABLES.length]);
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,216 @@
+package ru.clevertec.news.admission;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control of gateway requests: every RequestClass has its own concurrency limit and a bounded queue,
+ * so cheap reads do not wait behind writes and searches. The queueing delay of a class is the age of its oldest
+ * queued request; once it exceeds the target delay times the shedding factor of the class, new requests of that class
+ * are rejected before they queue, so a backed-up class does not shed the others. A queued request that is not
+ * admitted within the maximum wait is rejected as well.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class AdmissionController {
+
+    private final Map<RequestClass, Lane> lanes = new EnumMap<>(RequestClass.class);
+    private final long targetDelayNanos;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+
+    /**
+     * Constructor for AdmissionController.
+     *
+     * @param limits      Concurrency and queue limits per class.
+     * @param targetDelay Queueing delay above which classes are shed by their shedding factor.
+     * @param maxWait     Longest time a request waits in the queue.
+     * @param retryAfter  Delay suggested to rejected clients.
+     */
+    public AdmissionController(Map<RequestClass, Limits> limits, Duration targetDelay, Duration maxWait,
+                               Duration retryAfter) {
+        for (RequestClass requestClass : RequestClass.values()) {
+            Limits classLimits = limits.get(requestClass);
+            if (classLimits == null) {
+                throw new IllegalArgumentException("No admission limits for " + requestClass.propertyName());
+            }
+            lanes.put(requestClass, new Lane(classLimits));
+        }
+        this.targetDelayNanos = targetDelay.toNanos();
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Requests admission of a request.
+     *
+     * @param requestClass Class of the request.
+     * @return Future completed with the permit once the request is admitted, or failed with
+     * AdmissionRejectedException. The permit has to be released when the request completes.
+     */
+    public CompletableFuture<Permit> admit(RequestClass requestClass) {
+        Lane lane = lanes.get(requestClass);
+        long now = System.nanoTime();
+        int sheddingFactor = requestClass.getSheddingFactor();
+        boolean shed = sheddingFactor > 0 && lane.oldestWait(now) > targetDelayNanos * sheddingFactor;
+        return lane.admit(now, shed);
+    }
+
+    /**
+     * @return Age of the oldest queued request of any class, zero while no request is queued.
+     */
+    public Duration queueingDelay() {
+        long now = System.nanoTime();
+        long delay = 0;
+        for (Lane lane : lanes.values()) {
+            delay = Math.max(delay, lane.oldestWait(now));
+        }
+        return Duration.ofNanos(delay);
+    }
+
+    /**
+     * @param requestClass Class of requests.
+     * @return Number of admitted requests of the class that have not completed yet.
+     */
+    public int inFlight(RequestClass requestClass) {
+        return lanes.get(requestClass).inFlight();
+    }
+
+    /**
+     * @param requestClass Class of requests.
+     * @return Number of queued requests of the class.
+     */
+    public int queued(RequestClass requestClass) {
+        return lanes.get(requestClass).queued();
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Concurrency and queue limits of a request class.
+     *
+     * @param concurrency Maximum number of admitted requests of the class in flight.
+     * @param queue       Maximum number of queued requests of the class.
+     */
+    public record Limits(int concurrency, int queue) {
+    }
+
+    /**
+     * Admission of a single request.
+     */
+    public interface Permit {
+
+        /**
+         * Releases the permit when the request completes. Calls after the first one are ignored.
+         */
+        void release();
+    }
+
+    private final class Lane {
+
+        private final Limits limits;
+        private final Deque<Waiter> waiters = new ArrayDeque<>();
+        private int inFlight;
+
+        private Lane(Limits limits) {
+            this.limits = limits;
+        }
+
+        private CompletableFuture<Permit> admit(long now, boolean shed) {
+            Waiter waiter;
+            synchronized (this) {
+                if (inFlight < limits.concurrency() && waiters.isEmpty()) {
+                    inFlight++;
+                    return CompletableFuture.completedFuture(new LanePermit(this));
+                }
+                if (shed || waiters.size() >= limits.queue()) {
+                    return CompletableFuture.failedFuture(new AdmissionRejectedException(retryAfter));
+                }
+                waiter = new Waiter(now);
+                waiters.addLast(waiter);
+            }
+            // a request that times out or is cancelled while queued gives up its place; release() skips it
+            waiter.future.whenComplete((permit, e) -> {
+                if (e != null) {
+                    remove(waiter);
+                }
+            });
+            CompletableFuture.delayedExecutor(maxWait.toNanos(), TimeUnit.NANOSECONDS).execute(() ->
+                    waiter.future.completeExceptionally(new AdmissionRejectedException(retryAfter)));
+            return waiter.future;
+        }
+
+        /**
+         * Hands the permit over to the first queued request, completing it outside the lock because the request
+         * continues on the releasing thread, or frees it if nothing is queued.
+         */
+        private void release() {
+            while (true) {
+                Waiter next;
+                synchronized (this) {
+                    next = waiters.pollFirst();
+                    if (next == null) {
+                        inFlight--;
+                        return;
+                    }
+                }
+                if (next.future.complete(new LanePermit(this))) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized void remove(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+
+        private synchronized long oldestWait(long now) {
+            Waiter oldest = waiters.peekFirst();
+            return oldest == null ? 0 : now - oldest.enqueuedAt;
+        }
+
+        private synchronized int inFlight() {
+            return inFlight;
+        }
+
+        private synchronized int queued() {
+            return waiters.size();
+        }
+    }
+
+    private static final class Waiter {
+
+        private final long enqueuedAt;
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        private Waiter(long enqueuedAt) {
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private static final class LanePermit implements Permit {
+
+        private final Lane lane;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private LanePermit(Lane lane) {
+            this.lane = lane;
+        }
+
+        @Override
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                lane.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package ru.clevertec.news.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Admission control of the servlet runtime. A request that has to queue is put into asynchronous mode, so it waits
+ * without holding a container thread, and is dispatched to the rest of the chain once admitted. The permit is released
+ * when the response completes, including asynchronous (Mono) handler results.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionFilter.class.getName() + ".permit";
+
+    private final AdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionController admissionController, ObjectMapper objectMapper) {
+        this.admissionController = admissionController;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Async dispatches are filtered too: the dispatch of a request admitted from the queue carries its permit.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (isAsyncDispatch(request)) {
+            AdmissionController.Permit admitted = (AdmissionController.Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            if (admitted != null) {
+                proceed(request, response, filterChain, admitted);
+            } else {
+                // dispatch of an asynchronous handler result, whose permit is released by its listener
+                filterChain.doFilter(request, response);
+            }
+            return;
+        }
+        RequestClass requestClass = RequestClass.of(HttpMethod.valueOf(request.getMethod()),
+                request.getRequestURI().substring(request.getContextPath().length()));
+        if (requestClass == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CompletableFuture<AdmissionController.Permit> admission = admissionController.admit(requestClass);
+        if (admission.isDone()) {
+            AdmissionController.Permit permit;
+            try {
+                permit = admission.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof AdmissionRejectedException rejected) {
+                    reject(response, rejected);
+                    return;
+                }
+                throw new ServletException(e.getCause());
+            }
+            proceed(request, response, filterChain, permit);
+        } else {
+            queue(request, admission);
+        }
+    }
+
+    /**
+     * Releases the container thread while the request is queued; the admitted request is dispatched again with
+     * its permit, a rejected one is answered from the thread that rejects it.
+     */
+    private void queue(HttpServletRequest request, CompletableFuture<AdmissionController.Permit> admission) {
+        AsyncContext asyncContext = request.startAsync();
+        // the wait is bounded by the maximum wait of the admission controller
+        asyncContext.setTimeout(0);
+        asyncContext.addListener(new CancellingListener(admission));
+        admission.whenComplete((permit, e) -> {
+            if (e == null) {
+                request.setAttribute(PERMIT_ATTRIBUTE, permit);
+                asyncContext.dispatch();
+            } else if (e instanceof AdmissionRejectedException rejected) {
+                try {
+                    reject((HttpServletResponse) asyncContext.getResponse(), rejected);
+                } catch (IOException ignored) {
+                    // the client has gone away
+                } finally {
+                    asyncContext.complete();
+                }
+            }
+        });
+    }
+
+    private void proceed(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         AdmissionController.Permit permit) throws ServletException, IOException {
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleasingListener(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, AdmissionRejectedException e) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, e.retryAfterHeader());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), e.toIncorrectData());
+    }
+
+    /**
+     * Gives up the place in the queue, or the permit granted meanwhile, when the client goes away while queued.
+     */
+    private record CancellingListener(CompletableFuture<AdmissionController.Permit> admission)
+            implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            cancel();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            cancel();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void cancel() {
+            admission.cancel(false);
+            admission.thenAccept(AdmissionController.Permit::release);
+        }
+    }
+
+    private record ReleasingListener(AdmissionController.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package ru.clevertec.news.admission;
+
+import org.springframework.http.HttpStatus;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a request is shed or its wait for admission times out.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(Duration retryAfter) {
+        super("The service is overloaded, retry later");
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * @return Value of the Retry-After header in whole seconds, at least 1.
+     */
+    public String retryAfterHeader() {
+        return String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000));
+    }
+
+    /**
+     * @return Body of the 503 response.
+     */
+    public IncorrectData toIncorrectData() {
+        return new IncorrectData(getClass().getSimpleName(), getMessage(),
+                String.valueOf(HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+}
@@ -0,0 +1,61 @@
+package ru.clevertec.news.admission;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Admission control of the Netty/WebFlux runtime. A queued request waits without holding a thread;
+ * the permit is released when the exchange completes, fails or is cancelled.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class ReactiveAdmissionFilter implements WebFilter {
+
+    private final AdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+
+    public ReactiveAdmissionFilter(AdmissionController admissionController, ObjectMapper objectMapper) {
+        this.admissionController = admissionController;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestClass requestClass = RequestClass.of(exchange.getRequest().getMethod(),
+                exchange.getRequest().getPath().pathWithinApplication().value());
+        if (requestClass == null) {
+            return chain.filter(exchange);
+        }
+
+        CompletableFuture<AdmissionController.Permit> admission = admissionController.admit(requestClass);
+        return Mono.fromFuture(admission)
+                // a permit granted while the client was going away is given back
+                .doOnCancel(() -> admission.thenAccept(AdmissionController.Permit::release))
+                .flatMap(permit -> chain.filter(exchange).doFinally(signal -> permit.release()))
+                .onErrorResume(AdmissionRejectedException.class, e -> reject(exchange.getResponse(), e));
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, AdmissionRejectedException e) {
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, e.retryAfterHeader());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        try {
+            DataBuffer body = response.bufferFactory().wrap(objectMapper.writeValueAsBytes(e.toIncorrectData()));
+            return response.writeWith(Mono.just(body));
+        } catch (JsonProcessingException ex) {
+            return response.setComplete();
+        }
+    }
+}
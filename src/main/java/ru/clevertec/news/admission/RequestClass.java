@@ -0,0 +1,85 @@
+package ru.clevertec.news.admission;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.regex.Pattern;
+
+/**
+ * Classes of gateway requests in the order of their priority under overload.
+ * A class with a shedding factor is rejected up front once its queueing delay exceeds the target delay
+ * multiplied by the factor, so searches go first and cached reads are never shed early.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public enum RequestClass {
+
+    /**
+     * Read of title suggestions, served from memory without a downstream call.
+     */
+    CACHED_READ(0),
+
+    /**
+     * Read going to the downstream services, including reads by id: their cache exists only in some profiles
+     * and a miss goes downstream.
+     */
+    UNCACHED_READ(4),
+
+    /**
+     * Creation, update or archiving of news and comments.
+     */
+    WRITE(2),
+
+    /**
+     * Full-text search of news and comments.
+     */
+    SEARCH(1);
+
+    private static final Pattern CACHED_READ_PATH = Pattern.compile("/api/news/suggest/?");
+    private static final Pattern STREAM_PATH = Pattern.compile("/api/news/[^/]+/comments/stream/?");
+
+    private final int sheddingFactor;
+
+    RequestClass(int sheddingFactor) {
+        this.sheddingFactor = sheddingFactor;
+    }
+
+    /**
+     * Classifies a request to the news or comment API.
+     *
+     * @param method HTTP method of the request.
+     * @param path   Path of the request without the query.
+     * @return The class of the request, or null if the request is not subject to admission control: requests outside
+     * the news and comment API, and comment streams, which would hold a permit for as long as they are viewed and
+     * are bounded by CommentStreams instead.
+     */
+    public static RequestClass of(HttpMethod method, String path) {
+        if (!path.startsWith("/api/news") && !path.startsWith("/api/comments")) {
+            return null;
+        }
+        if (HttpMethod.GET.equals(method) && STREAM_PATH.matcher(path).matches()) {
+            return null;
+        }
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+            return WRITE;
+        }
+        if (path.endsWith("/search")) {
+            return SEARCH;
+        }
+        return CACHED_READ_PATH.matcher(path).matches() ? CACHED_READ : UNCACHED_READ;
+    }
+
+    /**
+     * @return Multiplier of the target delay above which the class is shed, or 0 if it is never shed early.
+     */
+    public int getSheddingFactor() {
+        return sheddingFactor;
+    }
+
+    /**
+     * @return Name of the class in the configuration, e.g. 'cached-read'.
+     */
+    public String propertyName() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,22 @@
+package ru.clevertec.news.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose result is read through the cache: the generated CachingDecorator returns the value
+ * cached under the first argument and calls the service only on a miss, caching its result. Of a Mono result
+ * the emitted value is cached, so a hit never subscribes to the service.
+ * The annotation is processed at compile time and is not retained in the class files.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface CachedById {
+}
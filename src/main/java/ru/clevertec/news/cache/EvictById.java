@@ -0,0 +1,21 @@
+package ru.clevertec.news.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method after which the value cached under the first argument is removed.
+ * The generated CachingDecorator always calls the service; of a Mono result the value is removed once
+ * the Mono terminates.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface EvictById {
+}
@@ -0,0 +1,90 @@
+package ru.clevertec.news.codec;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.springframework.stereotype.Component;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.exceptionhandlerstarter.exception.ParsJsonException;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Holds prebuilt ObjectReader instances for the DTOs exchanged with downstream services,
+ * so every decode skips the generic ObjectMapper type lookup.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class JsonCodec {
+
+    private static final String INVALID_NEWS = "Json news is invalid";
+    private static final String INVALID_COMMENT = "Json comment is invalid";
+    private static final String INVALID_ERROR = "Json error is invalid";
+
+    private final ObjectReader newsReader;
+    private final ObjectReader newsPageReader;
+    private final ObjectReader newsListReader;
+    private final ObjectReader commentReader;
+    private final ObjectReader commentPageReader;
+    private final ObjectReader commentListReader;
+    private final ObjectReader incorrectDataReader;
+
+    public JsonCodec(ObjectMapper objectMapper) {
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        JavaType newsPage = typeFactory.constructParametricType(PaginationResponse.class, NewsResponse.class);
+        JavaType newsList = typeFactory.constructCollectionType(List.class, NewsResponse.class);
+        JavaType commentPage = typeFactory.constructParametricType(PaginationResponse.class, CommentResponse.class);
+        JavaType commentList = typeFactory.constructCollectionType(List.class, CommentResponse.class);
+
+        this.newsReader = objectMapper.readerFor(NewsResponse.class);
+        this.newsPageReader = objectMapper.readerFor(newsPage);
+        this.newsListReader = objectMapper.readerFor(newsList);
+        this.commentReader = objectMapper.readerFor(CommentResponse.class);
+        this.commentPageReader = objectMapper.readerFor(commentPage);
+        this.commentListReader = objectMapper.readerFor(commentList);
+        this.incorrectDataReader = objectMapper.readerFor(IncorrectData.class);
+    }
+
+    public NewsResponse readNews(byte[] json) {
+        return read(newsReader, json, INVALID_NEWS);
+    }
+
+    public PaginationResponse<NewsResponse> readNewsPage(byte[] json) {
+        return read(newsPageReader, json, INVALID_NEWS);
+    }
+
+    public List<NewsResponse> readNewsList(byte[] json) {
+        return read(newsListReader, json, INVALID_NEWS);
+    }
+
+    public CommentResponse readComment(byte[] json) {
+        return read(commentReader, json, INVALID_COMMENT);
+    }
+
+    public PaginationResponse<CommentResponse> readCommentPage(byte[] json) {
+        return read(commentPageReader, json, INVALID_COMMENT);
+    }
+
+    public List<CommentResponse> readCommentList(byte[] json) {
+        return read(commentListReader, json, INVALID_COMMENT);
+    }
+
+    public IncorrectData readIncorrectData(byte[] json) {
+        return read(incorrectDataReader, json, INVALID_ERROR);
+    }
+
+    private <T> T read(ObjectReader reader, byte[] json, String errorMessage) {
+        try {
+            return reader.readValue(json);
+        } catch (IOException e) {
+            throw new ParsJsonException(errorMessage);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ru.clevertec.news.codec;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Codec for LocalDateTime values in the fixed 'yyyy-MM-dd'T'HH:mm:ss.SSS' format used by the news services.
+ * Values are written and parsed digit by digit without DateTimeFormatter; anything that does not match
+ * the fixed layout falls back to the ISO parser.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public final class LocalDateTimeCodec {
+
+    public static final String PATTERN = "yyyy-MM-dd'T'HH:mm:ss.SSS";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+    private static final int LENGTH = 23;
+
+    private LocalDateTimeCodec() {
+    }
+
+    /**
+     * Formats the value in the fixed layout.
+     *
+     * @param value The value to format.
+     * @return Formatted value.
+     */
+    public static String format(LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return FORMATTER.format(value);
+        }
+        char[] chars = new char[LENGTH];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, value.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, value.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        writeDigits(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, value.getSecond(), 2);
+        chars[19] = '.';
+        writeDigits(chars, 20, value.getNano() / 1_000_000, 3);
+        return new String(chars);
+    }
+
+    /**
+     * Parses the value written in the fixed layout, or any ISO local date-time as a fallback.
+     *
+     * @param text The text to parse.
+     * @return Parsed value.
+     */
+    public static LocalDateTime parse(String text) {
+        if (text.length() != LENGTH || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':' || text.charAt(19) != '.') {
+            return LocalDateTime.parse(text);
+        }
+        int year = readDigits(text, 0, 4);
+        int month = readDigits(text, 5, 2);
+        int day = readDigits(text, 8, 2);
+        int hour = readDigits(text, 11, 2);
+        int minute = readDigits(text, 14, 2);
+        int second = readDigits(text, 17, 2);
+        int millis = readDigits(text, 20, 3);
+        if ((year | month | day | hour | minute | second | millis) < 0) {
+            return LocalDateTime.parse(text);
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, millis * 1_000_000);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static int readDigits(String text, int offset, int width) {
+        int value = 0;
+        for (int i = offset; i < offset + width; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    public static class Serializer extends StdScalarSerializer<LocalDateTime> {
+
+        public Serializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(format(value));
+        }
+    }
+
+    public static class Deserializer extends StdScalarDeserializer<LocalDateTime> {
+
+        public Deserializer() {
+            super(LocalDateTime.class);
+        }
+
+        @Override
+        public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            String text = parser.getValueAsString();
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            try {
+                return parse(text.trim());
+            } catch (RuntimeException e) {
+                return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, text, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package ru.clevertec.news.codec;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.exceptionhandlerstarter.exception.MicroserviceResponseException;
+import ru.clevertec.exceptionhandlerstarter.exception.ParsJsonException;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes large downstream pages without aggregating the response body. The body is fed chunk by chunk
+ * into a non-blocking Jackson parser, and every element of the 'content' array is decoded as soon as
+ * its last token arrives. The number of bytes and items per page is limited.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class StreamingPageDecoder {
+
+    private static final String CONTENT_FIELD = "content";
+    private static final String PAGE_NUMBER_FIELD = "pageNumber";
+    private static final String COUNT_PAGE_FIELD = "countPage";
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader newsReader;
+    private final ObjectReader commentReader;
+    private final int threshold;
+    private final long maxBytes;
+    private final int maxItems;
+
+    public StreamingPageDecoder(ObjectMapper objectMapper,
+                                @Value("${page.streaming.threshold:200}") int threshold,
+                                @Value("${page.streaming.max-bytes:16777216}") long maxBytes,
+                                @Value("${page.streaming.max-items:5000}") int maxItems) {
+        this.objectMapper = objectMapper;
+        this.newsReader = objectMapper.readerFor(NewsResponse.class);
+        this.commentReader = objectMapper.readerFor(CommentResponse.class);
+        this.threshold = threshold;
+        this.maxBytes = maxBytes;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Checks whether a page of the given size has to be decoded in the streaming mode.
+     *
+     * @param pageSize Requested page size.
+     * @return true if the page size is above the configured threshold.
+     */
+    public boolean isLargePage(int pageSize) {
+        return pageSize > threshold;
+    }
+
+    public Mono<PaginationResponse<NewsResponse>> decodeNewsPage(Flux<DataBuffer> body) {
+        return decodePage(body, newsReader);
+    }
+
+    public Mono<PaginationResponse<CommentResponse>> decodeCommentPage(Flux<DataBuffer> body) {
+        return decodePage(body, commentReader);
+    }
+
+    /**
+     * Decodes a page, collecting the streamed items together with the page attributes.
+     *
+     * @param body       Response body chunks.
+     * @param itemReader Reader for a single element of the 'content' array.
+     * @param <T>        Type of the page element.
+     * @return Mono with the decoded page.
+     */
+    public <T> Mono<PaginationResponse<T>> decodePage(Flux<DataBuffer> body, ObjectReader itemReader) {
+        return Mono.defer(() -> {
+            PageTokenizer<T> tokenizer = new PageTokenizer<>(itemReader);
+            return decodeItems(body, tokenizer)
+                    .collectList()
+                    .map(content -> new PaginationResponse<>(tokenizer.pageNumber, tokenizer.countPage, content));
+        });
+    }
+
+    private <T> Flux<T> decodeItems(Flux<DataBuffer> body, PageTokenizer<T> tokenizer) {
+        return body.concatMapIterable(tokenizer::feed)
+                .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+                .doFinally(signal -> tokenizer.close());
+    }
+
+    /**
+     * Creates the error returned for a page above the byte or item limit.
+     *
+     * @param message Description of the exceeded limit.
+     * @return Exception with the 413 status.
+     */
+    public static MicroserviceResponseException limitExceeded(String message) {
+        return new MicroserviceResponseException(
+                new IncorrectData("PageLimitExceededException", message, String.valueOf(HttpStatus.PAYLOAD_TOO_LARGE.value())),
+                HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    /**
+     * Stateful tokenizer of a single page body. Not thread-safe; chunks are fed sequentially.
+     */
+    private final class PageTokenizer<T> {
+
+        private final ObjectReader itemReader;
+        private final JsonParser parser;
+        private long bytes;
+        private int items;
+        private int depth;
+        private String field;
+        private boolean inContent;
+        private TokenBuffer item;
+        private int pageNumber;
+        private int countPage;
+
+        private PageTokenizer(ObjectReader itemReader) {
+            this.itemReader = itemReader;
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException e) {
+                throw new ParsJsonException("Json page is invalid");
+            }
+        }
+
+        private List<T> feed(DataBuffer buffer) {
+            try {
+                int length = buffer.readableByteCount();
+                bytes += length;
+                if (bytes > maxBytes) {
+                    throw limitExceeded("Page body exceeds " + maxBytes + " bytes");
+                }
+                byte[] chunk = new byte[length];
+                buffer.read(chunk);
+                ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).feedInput(chunk, 0, length);
+                return drain();
+            } catch (IOException e) {
+                throw new ParsJsonException("Json page is invalid");
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        private List<T> endOfInput() {
+            ((ByteArrayFeeder) parser.getNonBlockingInputFeeder()).endOfInput();
+            try {
+                return drain();
+            } catch (IOException e) {
+                throw new ParsJsonException("Json page is invalid");
+            }
+        }
+
+        private List<T> drain() throws IOException {
+            List<T> decoded = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if (item != null || (inContent && depth == 2 && token != JsonToken.END_ARRAY)) {
+                    T value = bufferItemToken(token);
+                    if (value != null) {
+                        decoded.add(value);
+                    }
+                    continue;
+                }
+                switch (token) {
+                    case START_OBJECT -> depth++;
+                    case START_ARRAY -> {
+                        depth++;
+                        inContent = depth == 2 && CONTENT_FIELD.equals(field);
+                    }
+                    case END_OBJECT -> depth--;
+                    case END_ARRAY -> {
+                        depth--;
+                        inContent = false;
+                    }
+                    case FIELD_NAME -> {
+                        if (depth == 1) {
+                            field = parser.currentName();
+                        }
+                    }
+                    case VALUE_NUMBER_INT -> {
+                        if (depth == 1 && PAGE_NUMBER_FIELD.equals(field)) {
+                            pageNumber = parser.getIntValue();
+                        } else if (depth == 1 && COUNT_PAGE_FIELD.equals(field)) {
+                            countPage = parser.getIntValue();
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+            return decoded;
+        }
+
+        private T bufferItemToken(JsonToken token) throws IOException {
+            if (item == null) {
+                item = new TokenBuffer(parser, null);
+            }
+            item.copyCurrentEvent(parser);
+            if (token.isStructStart()) {
+                depth++;
+            } else if (token.isStructEnd()) {
+                depth--;
+            }
+            if (depth > 2) {
+                return null;
+            }
+            if (++items > maxItems) {
+                throw limitExceeded("Page contains more than " + maxItems + " items");
+            }
+            try (JsonParser itemParser = item.asParser(objectMapper)) {
+                return itemReader.readValue(itemParser);
+            } finally {
+                item = null;
+            }
+        }
+
+        private void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing to release beyond the parser buffers
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.clevertec.news.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import ru.clevertec.news.admission.AdmissionController;
+import ru.clevertec.news.admission.AdmissionFilter;
+import ru.clevertec.news.admission.ReactiveAdmissionFilter;
+import ru.clevertec.news.admission.RequestClass;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Admission control in front of the news and comment controllers, enabled with 'admission.enabled'.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+
+    private static final AdmissionController.Limits DEFAULT_LIMITS = new AdmissionController.Limits(64, 128);
+
+    /**
+     * Builds the controller from 'admission.classes.&lt;class&gt;.concurrency|queue', e.g. 'admission.classes.search';
+     * classes without limits get 64 concurrent and 128 queued requests.
+     */
+    @Bean
+    public AdmissionController admissionController(
+            Environment environment,
+            @Value("${admission.target-delay:50ms}") Duration targetDelay,
+            @Value("${admission.max-wait:1s}") Duration maxWait,
+            @Value("${admission.retry-after:1s}") Duration retryAfter) {
+        Map<String, AdmissionController.Limits> configured = Binder.get(environment)
+                .bind("admission.classes", Bindable.mapOf(String.class, AdmissionController.Limits.class))
+                .orElse(Map.of());
+        Map<RequestClass, AdmissionController.Limits> limits = new EnumMap<>(RequestClass.class);
+        for (RequestClass requestClass : RequestClass.values()) {
+            limits.put(requestClass, configured.getOrDefault(requestClass.propertyName(), DEFAULT_LIMITS));
+        }
+        return new AdmissionController(limits, targetDelay, maxWait, retryAfter);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<AdmissionFilter> admissionFilter(AdmissionController admissionController,
+                                                                   ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissionFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionFilter(admissionController, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveAdmissionFilter reactiveAdmissionFilter(AdmissionController admissionController,
+                                                           ObjectMapper objectMapper) {
+        return new ReactiveAdmissionFilter(admissionController, objectMapper);
+    }
+}
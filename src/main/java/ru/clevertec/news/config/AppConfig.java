@@ -1,34 +1,184 @@
 package ru.clevertec.news.config;
 
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import jakarta.ws.rs.core.UriBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.NativeDetector;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 import ru.clevertec.exceptionhandlerstarter.handler.NewsManagementSystemExceptionHandler;
+import ru.clevertec.news.deadline.DeadlineExchangeFilter;
+import ru.clevertec.news.logging.SampledLoggingAspect;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
 
 @Configuration
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class AppConfig {
 
     @Bean
     @LoadBalanced
     @Profile("!test")
-    public WebClient.Builder webClientBuilderCommentsUrl() {
-        return WebClient.builder()
+    public WebClient.Builder webClientBuilderCommentsUrl(
+            @Qualifier("commentServiceClientResources") ObjectProvider<DownstreamClientResources> resources,
+            ObjectProvider<DeadlineExchangeFilter> deadlineFilter) {
+        WebClient.Builder builder = WebClient.builder()
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .baseUrl("http://comment-service");
+        resources.ifAvailable(downstream -> builder.clientConnector(downstream.connector()));
+        deadlineFilter.ifAvailable(builder::filter);
+        return builder;
     }
 
     @Bean
     @LoadBalanced
     @Profile("!test")
-    public WebClient.Builder webClientBuilderNewsUrl() {
-        return WebClient.builder()
+    public WebClient.Builder webClientBuilderNewsUrl(
+            @Qualifier("newsServiceClientResources") ObjectProvider<DownstreamClientResources> resources,
+            ObjectProvider<DeadlineExchangeFilter> deadlineFilter) {
+        WebClient.Builder builder = WebClient.builder()
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .baseUrl("http://news-service");
+        resources.ifAvailable(downstream -> builder.clientConnector(downstream.connector()));
+        deadlineFilter.ifAvailable(builder::filter);
+        return builder;
+    }
+
+    /**
+     * Event loops and connection pool of comment-service, isolated from the news-service ones unless
+     * 'downstream.isolation.enabled' is false, in which case both share the global Reactor Netty resources.
+     */
+    @Bean
+    @Profile("!test")
+    @ConditionalOnProperty(name = "downstream.isolation.enabled", havingValue = "true", matchIfMissing = true)
+    public DownstreamClientResources commentServiceClientResources(Environment environment) {
+        return downstreamClientResources(environment, "comment-service");
+    }
+
+    /**
+     * Event loops and connection pool of news-service.
+     */
+    @Bean
+    @Profile("!test")
+    @ConditionalOnProperty(name = "downstream.isolation.enabled", havingValue = "true", matchIfMissing = true)
+    public DownstreamClientResources newsServiceClientResources(Environment environment) {
+        return downstreamClientResources(environment, "news-service");
+    }
+
+    /**
+     * Logs the connection pools of the isolated downstream services every 'downstream.metrics.log-interval'.
+     */
+    @Bean
+    @Profile("!test")
+    @ConditionalOnProperty(name = "downstream.isolation.enabled", havingValue = "true", matchIfMissing = true)
+    public DownstreamPoolLogger downstreamPoolLogger(
+            ObjectProvider<DownstreamClientResources> resources,
+            @Value("${downstream.metrics.log-interval:1m}") Duration interval) {
+        return new DownstreamPoolLogger(resources.orderedStream().toList(), interval);
+    }
+
+    @Bean
+    @LoadBalanced
+    @Profile("!test")
+    @ConditionalOnProperty(name = "news.service.mode", havingValue = "blocking")
+    public RestClient.Builder restClientBuilderNewsUrl() {
+        return RestClient.builder()
+                .requestFactory(new JdkClientHttpRequestFactory())
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .baseUrl("http://news-service");
+    }
+
+    /**
+     * Executor of the blocking news service calls: a virtual thread per task on Java 21 and later, otherwise a
+     * platform thread per task with at most 'news.service.blocking.concurrency' running, further calls waiting
+     * for a thread to finish.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "news.service.mode", havingValue = "blocking")
+    public AsyncTaskExecutor newsServiceExecutor(
+            @Value("${news.service.blocking.concurrency:200}") int concurrency) {
+        return blockingExecutor("news-service-", concurrency);
+    }
+
+    /**
+     * Executor of the subtasks forked by the blocking news service calls, bounded like the calls. Subtasks fork
+     * nothing, so a call waiting for a subtask thread always gets one.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "news.service.mode", havingValue = "blocking")
+    public AsyncTaskExecutor newsServiceForkExecutor(
+            @Value("${news.service.blocking.concurrency:200}") int concurrency) {
+        return blockingExecutor("news-service-fork-", concurrency);
+    }
+
+    /**
+     * Registers a lenient filter provider, so DTOs marked with field filters are serialized in full
+     * unless a projection is requested by the client.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldsFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+
+    /**
+     * Replaces reflective property access with generated accessors in the application ObjectMapper.
+     * A native image cannot define classes at runtime, so there the module is replaced with an empty one.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule() : new BlackbirdModule();
+    }
+
+    /**
+     * Defers creation of beans that are not needed to serve traffic, by default the Swagger beans,
+     * to their first use. Enabled with the 'startup' profile.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "startup.lazy-beans.enabled", havingValue = "true")
+    public static LazyBeansPostProcessor lazyBeansPostProcessor(Environment environment) {
+        List<String> prefixes = Binder.get(environment)
+                .bind("startup.lazy-beans.prefixes", Bindable.listOf(String.class))
+                .orElse(List.of("org.springdoc", SwaggerConfig.class.getName()));
+        return new LazyBeansPostProcessor(prefixes);
+    }
+
+    /**
+     * Sampled logging of the Loggable services: failed and slow calls are always logged, other calls with
+     * the rate of the method. Replaces the logging of the starter, which has to be disabled with 'aop.logging.enabled'.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "aop.logging.sampled.enabled", havingValue = "true")
+    public SampledLoggingAspect sampledLoggingAspect(
+            Environment environment,
+            @Value("${aop.logging.sampled.rate:0.01}") double rate,
+            @Value("${aop.logging.sampled.slow-threshold:500ms}") Duration slowThreshold,
+            @Value("${aop.logging.sampled.max-length:512}") int maxLength) {
+        Map<String, Double> methodRates = Binder.get(environment)
+                .bind("aop.logging.sampled.methods", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+        return new SampledLoggingAspect(rate, methodRates, slowThreshold, maxLength);
     }
 
     @Bean
@@ -36,4 +186,20 @@ public class AppConfig {
     public NewsManagementSystemExceptionHandler handler(){
         return new NewsManagementSystemExceptionHandler();
     }
+
+    private static DownstreamClientResources downstreamClientResources(Environment environment, String name) {
+        DownstreamClientResources.Settings settings = Binder.get(environment)
+                .bindOrCreate("downstream." + name, DownstreamClientResources.Settings.class);
+        return new DownstreamClientResources(name, settings);
+    }
+
+    private static AsyncTaskExecutor blockingExecutor(String threadNamePrefix, int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        if (Runtime.version().feature() >= 21) {
+            executor.setVirtualThreads(true);
+        } else {
+            executor.setConcurrencyLimit(concurrency);
+        }
+        return executor;
+    }
 }
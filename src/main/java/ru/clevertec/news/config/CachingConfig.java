@@ -0,0 +1,54 @@
+package ru.clevertec.news.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import ru.clevertec.cache.CacheFactory;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.service.BlockingNewsServiceImpl;
+import ru.clevertec.news.service.BlockingNewsServiceImplCachingDecorator;
+import ru.clevertec.news.service.CommentService;
+import ru.clevertec.news.service.CommentServiceImpl;
+import ru.clevertec.news.service.CommentServiceImplCachingDecorator;
+import ru.clevertec.news.service.NewsService;
+import ru.clevertec.news.service.NewsServiceImpl;
+import ru.clevertec.news.service.NewsServiceImplCachingDecorator;
+
+/**
+ * Puts the caching decorators generated from the caching annotations of the services in front of them.
+ * The decorators are primary beans, so controllers and other services get the cached variant.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Configuration
+@Profile("prod")
+public class CachingConfig {
+
+    @Bean
+    @Primary
+    public CommentService cachingCommentService(CommentServiceImpl commentService,
+            CacheFactory<Long, ResponseEntity<CommentResponse>> cacheFactory) {
+        return new CommentServiceImplCachingDecorator(commentService, cacheFactory);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "news.service.mode", havingValue = "reactive", matchIfMissing = true)
+    public NewsService cachingNewsService(NewsServiceImpl newsService,
+            CacheFactory<Long, ResponseEntity<NewsResponse>> cacheFactory) {
+        return new NewsServiceImplCachingDecorator(newsService, cacheFactory);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "news.service.mode", havingValue = "blocking")
+    public NewsService cachingBlockingNewsService(BlockingNewsServiceImpl newsService,
+            CacheFactory<Long, ResponseEntity<NewsResponse>> cacheFactory) {
+        return new BlockingNewsServiceImplCachingDecorator(newsService, cacheFactory);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.clevertec.news.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import ru.clevertec.news.deadline.DeadlineExceptionHandler;
+import ru.clevertec.news.deadline.DeadlineExchangeFilter;
+import ru.clevertec.news.deadline.DeadlineFilter;
+import ru.clevertec.news.deadline.ReactiveDeadlineFilter;
+
+import java.time.Duration;
+
+/**
+ * Deadline propagation, enabled with 'deadline.enabled': every API request gets a deadline from the
+ * X-Request-Timeout-Ms header or 'deadline.default-budget', capped by 'deadline.max-budget', and the WebClient
+ * calls to the downstream services are bounded by what is left of it. The filters resolve the deadline once per
+ * request, so the controllers are not proxied for it.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "deadline.enabled", havingValue = "true")
+public class DeadlineConfig {
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    public DeadlineConfig(@Value("${deadline.default-budget:5s}") Duration defaultBudget,
+                          @Value("${deadline.max-budget:30s}") Duration maxBudget) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+    }
+
+    @Bean
+    public DeadlineExchangeFilter deadlineExchangeFilter() {
+        return new DeadlineExchangeFilter();
+    }
+
+    @Bean
+    public DeadlineExceptionHandler deadlineExceptionHandler() {
+        return new DeadlineExceptionHandler();
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public FilterRegistrationBean<DeadlineFilter> deadlineFilter() {
+        FilterRegistrationBean<DeadlineFilter> registration =
+                new FilterRegistrationBean<>(new DeadlineFilter(defaultBudget, maxBudget));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public ReactiveDeadlineFilter reactiveDeadlineFilter() {
+        return new ReactiveDeadlineFilter(defaultBudget, maxBudget);
+    }
+}
@@ -0,0 +1,121 @@
+package ru.clevertec.news.config;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactor Netty resources dedicated to one downstream service: its own event loop threads and connection pool,
+ * so a slow downstream exhausts only its own connections and loops. The pool keeps metrics per remote address,
+ * which {@link #snapshot()} sums up for {@link DownstreamPoolLogger}.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class DownstreamClientResources implements DisposableBean {
+
+    private final String name;
+    private final LoopResources loopResources;
+    private final ConnectionProvider connectionProvider;
+    private final Map<SocketAddress, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for DownstreamClientResources.
+     *
+     * @param name     Name of the downstream service, used for the thread names and the pool name.
+     * @param settings Event loop and connection pool limits.
+     */
+    public DownstreamClientResources(String name, Settings settings) {
+        this.name = name;
+        this.loopResources = LoopResources.create(name, settings.eventLoopThreads(), true);
+        this.connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(settings.maxConnections())
+                .pendingAcquireMaxCount(settings.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.pendingAcquireTimeout())
+                .maxIdleTime(settings.maxIdleTime())
+                .metrics(true, () -> new ConnectionProvider.MeterRegistrar() {
+                    @Override
+                    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress,
+                                                ConnectionPoolMetrics metrics) {
+                        pools.put(remoteAddress, metrics);
+                    }
+
+                    @Override
+                    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+                        pools.remove(remoteAddress);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * @return Connector of a WebClient running on the event loops and the connection pool of the downstream.
+     */
+    public ClientHttpConnector connector() {
+        return new ReactorClientHttpConnector(HttpClient.create(connectionProvider).runOn(loopResources));
+    }
+
+    /**
+     * @return Current state of the connection pool summed over the instances of the downstream.
+     */
+    public PoolSnapshot snapshot() {
+        int acquired = 0;
+        int idle = 0;
+        int pending = 0;
+        for (ConnectionPoolMetrics metrics : pools.values()) {
+            acquired += metrics.acquiredSize();
+            idle += metrics.idleSize();
+            pending += metrics.pendingAcquireSize();
+        }
+        return new PoolSnapshot(name, pools.size(), acquired, idle, pending);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.disposeLater()
+                .then(loopResources.disposeLater())
+                .block(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Limits of the resources of a downstream, bound from 'downstream.&lt;service&gt;'.
+     *
+     * @param eventLoopThreads       Number of event loop threads.
+     * @param maxConnections         Maximum number of connections per instance of the downstream.
+     * @param pendingAcquireMaxCount Maximum number of requests waiting for a connection.
+     * @param pendingAcquireTimeout  Longest wait for a connection.
+     * @param maxIdleTime            Idle time after which a connection is closed.
+     */
+    public record Settings(@DefaultValue("2") int eventLoopThreads,
+                           @DefaultValue("100") int maxConnections,
+                           @DefaultValue("200") int pendingAcquireMaxCount,
+                           @DefaultValue("2s") Duration pendingAcquireTimeout,
+                           @DefaultValue("30s") Duration maxIdleTime) {
+    }
+
+    /**
+     * State of the connection pool of a downstream.
+     *
+     * @param name      Name of the downstream service.
+     * @param instances Number of instances with a pool.
+     * @param acquired  Connections in use.
+     * @param idle      Connections ready for reuse.
+     * @param pending   Requests waiting for a connection.
+     */
+    public record PoolSnapshot(String name, int instances, int acquired, int idle, int pending) {
+    }
+}
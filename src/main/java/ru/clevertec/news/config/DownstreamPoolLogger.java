@@ -0,0 +1,69 @@
+package ru.clevertec.news.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Logs the state of the connection pools of the isolated downstream services every interval: at INFO, or at WARN
+ * while requests wait for a connection, which is the first sign of a downstream holding on to its connections.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class DownstreamPoolLogger implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DownstreamPoolLogger.class);
+
+    private final List<DownstreamClientResources> resources;
+    private final Duration interval;
+    private Disposable task;
+
+    /**
+     * Constructor for DownstreamPoolLogger.
+     *
+     * @param resources Resources of the downstream services whose pools are logged.
+     * @param interval  Interval between two logs of the pools; zero disables logging.
+     */
+    public DownstreamPoolLogger(List<DownstreamClientResources> resources, Duration interval) {
+        this.resources = List.copyOf(resources);
+        this.interval = interval;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!interval.isZero() && !interval.isNegative() && !resources.isEmpty()) {
+            task = Flux.interval(interval, interval)
+                    .subscribe(tick -> logPools());
+        }
+    }
+
+    /**
+     * Logs one line per downstream service.
+     */
+    void logPools() {
+        for (DownstreamClientResources downstream : resources) {
+            DownstreamClientResources.PoolSnapshot pool = downstream.snapshot();
+            if (pool.pending() > 0) {
+                log.warn("Downstream {} pool: instances={}, acquired={}, idle={}, pending={}",
+                        pool.name(), pool.instances(), pool.acquired(), pool.idle(), pool.pending());
+            } else {
+                log.info("Downstream {} pool: instances={}, acquired={}, idle={}, pending={}",
+                        pool.name(), pool.instances(), pool.acquired(), pool.idle(), pool.pending());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (task != null) {
+            task.dispose();
+        }
+    }
+}
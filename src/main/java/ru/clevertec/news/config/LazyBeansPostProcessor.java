@@ -0,0 +1,50 @@
+package ru.clevertec.news.config;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.List;
+
+/**
+ * Marks beans that are not needed to serve traffic as lazy, so they are created on first use instead of
+ * during startup. A bean is matched by the class name of the bean, or of its factory bean for bean methods,
+ * against the configured package or class name prefixes.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class LazyBeansPostProcessor implements BeanFactoryPostProcessor {
+
+    private final List<String> prefixes;
+
+    public LazyBeansPostProcessor(List<String> prefixes) {
+        this.prefixes = prefixes;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            String className = originClassName(beanFactory, definition);
+            if (className != null && prefixes.stream().anyMatch(className::startsWith)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    /**
+     * Resolves the class that declares the bean.
+     *
+     * @param beanFactory The bean factory.
+     * @param definition  The bean definition.
+     * @return Class name of the factory bean for bean methods, otherwise of the bean itself.
+     */
+    private String originClassName(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String factoryBeanName = definition.getFactoryBeanName();
+        if (factoryBeanName != null && beanFactory.containsBeanDefinition(factoryBeanName)) {
+            return beanFactory.getBeanDefinition(factoryBeanName).getBeanClassName();
+        }
+        return definition.getBeanClassName();
+    }
+}
@@ -0,0 +1,49 @@
+package ru.clevertec.news.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.news.admission.AdmissionController;
+import ru.clevertec.news.codec.LocalDateTimeCodec;
+import ru.clevertec.news.entity.dto.CommentRequest;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.ModifyCommentRequest;
+import ru.clevertec.news.entity.dto.ModifyNewsRequest;
+import ru.clevertec.news.entity.dto.NewsRequest;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.User;
+import ru.clevertec.news.entity.dto.UserRequest;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.logging.SampledLoggingAspect;
+import ru.clevertec.news.util.PaginationResponse;
+
+/**
+ * Reflection hints for the native image that Spring AOT cannot infer from the bean definitions:
+ * DTOs decoded by JsonCodec and WebClient, Jackson serializers referenced from annotations,
+ * the advice of the logging aspect and the limits bound from the configuration.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] JSON_TYPES = {
+            CommentRequest.class, CommentResponse.class, ModifyCommentRequest.class, ModifyNewsRequest.class,
+            NewsRequest.class, NewsResponse.class, User.class, UserRequest.class, UserResponse.class,
+            PaginationResponse.class, IncorrectData.class};
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), JSON_TYPES);
+        hints.reflection().registerType(UserResponse.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(LocalDateTimeCodec.Serializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(LocalDateTimeCodec.Deserializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        hints.reflection().registerType(SampledLoggingAspect.class, MemberCategory.INVOKE_DECLARED_METHODS);
+        hints.reflection().registerType(AdmissionController.Limits.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        hints.reflection().registerType(DownstreamClientResources.Settings.class,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -6,8 +6,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,15 +16,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import reactor.core.publisher.Mono;
 import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.news.entity.dto.BulkItem;
 import ru.clevertec.news.entity.dto.CommentRequest;
 import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.UserContext;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.util.List;
+import java.util.UUID;
 
 @Validated
 @RequestMapping(path = "/api/comments")
@@ -105,7 +109,32 @@ public interface CommentController {
     @GetMapping
     Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(
             @RequestParam(defaultValue = "15", name = "pageSize") int pageSize,
-            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage);
+            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) List<String> fields);
+
+    @Operation(
+            summary = "Get comments by ID list",
+            tags = {"Comment"},
+            description = "Get comments for up to 100 IDs. Returns an item per requested ID in the order of " +
+                    "the request with either the comment or the error of its retrieval.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Successfully retrieved comments, errors are reported per ID"),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Payload is incorrect: no IDs or more than 100 IDs",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class))),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "General application error",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class)))
+            })
+    @GetMapping(params = "ids")
+    Mono<ResponseEntity<List<BulkItem<CommentResponse>>>> getByIds(
+            @RequestParam(name = "ids") @Size(min = 1, max = 100) List<Long> ids,
+            @RequestParam(name = "fields", required = false) List<String> fields);
 
      @Operation(
             summary = "Get all comments related to news",
@@ -133,12 +162,16 @@ public interface CommentController {
     Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllByIdNews(
             @PathVariable(name = "idNews") Long idNews,
             @RequestParam(defaultValue = "15", name = "pageSize") int pageSize,
-            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage);
+            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) List<String> fields);
 
     @GetMapping("/archive")
     Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(
             @RequestParam(defaultValue = "15", name = "pageSize") int pageSize,
-            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage);
+            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) List<String> fields);
 
     @Operation(
             summary = "Create new comment",
@@ -157,7 +190,9 @@ public interface CommentController {
                             content = @Content(schema = @Schema(implementation = IncorrectData.class)))
             })
     @PostMapping
-    Mono<ResponseEntity<CommentResponse>> create(@Valid @RequestBody CommentRequest commentDto, HttpServletRequest request);
+    Mono<ResponseEntity<CommentResponse>> create(@Valid @RequestBody CommentRequest commentDto,
+                                                 @RequestHeader(UserContext.X_USER_UUID) UUID userUuid,
+                                                 @RequestHeader(name = UserContext.X_USER_NAME, required = false) String userName);
 
     @Operation(
             summary = "Update comment by ID",
@@ -178,7 +213,8 @@ public interface CommentController {
     @PutMapping("/{id}")
     Mono<ResponseEntity<CommentResponse>> update(@PathVariable("id") Long id,
                                                  @Valid @RequestBody CommentRequest commentDto,
-                                                 HttpServletRequest request);
+                                                 @RequestHeader(UserContext.X_USER_UUID) UUID userUuid,
+                                                 @RequestHeader(name = UserContext.X_USER_NAME, required = false) String userName);
 
 
     @Operation(
@@ -201,7 +237,9 @@ public interface CommentController {
                             content = @Content(schema = @Schema(implementation = IncorrectData.class)))
             })
     @PatchMapping("/{id}")
-    Mono<ResponseEntity<Void>> moveToArchive(@PathVariable("id") Long id, HttpServletRequest request);
+    Mono<ResponseEntity<Void>> moveToArchive(@PathVariable("id") Long id,
+                                             @RequestHeader(UserContext.X_USER_UUID) UUID userUuid,
+                                             @RequestHeader(name = UserContext.X_USER_NAME, required = false) String userName);
 
     @Operation(
             summary = "Search for comments",
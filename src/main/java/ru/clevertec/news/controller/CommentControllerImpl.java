@@ -1,22 +1,30 @@
 package ru.clevertec.news.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
+import ru.clevertec.news.entity.dto.BulkItem;
 import ru.clevertec.news.entity.dto.CommentRequest;
 import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.pagination.CursorPaginator;
+import ru.clevertec.news.pagination.PageCursor;
+import ru.clevertec.news.service.BulkFetcher;
 import ru.clevertec.news.service.CommentService;
+import ru.clevertec.news.util.FieldsProjection;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
 public class CommentControllerImpl implements CommentController {
 
     private final CommentService service;
+    private final BulkFetcher bulkFetcher;
+    private final CursorPaginator paginator;
 
     @Override
     public Mono<ResponseEntity<CommentResponse>> getById(Long id) {
@@ -34,34 +42,52 @@ public class CommentControllerImpl implements CommentController {
     }
 
     @Override
-    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(int pageSize, int numberPage) {
-        return service.getAll(pageSize, numberPage);
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(int pageSize, int numberPage, String cursor,
+                                                                           List<String> fields) {
+        FieldsProjection projection = FieldsProjection.of(fields);
+        return paginator.page("comments?fields=" + fields, PageCursor.of(cursor, pageSize, numberPage),
+                page -> service.getAll(page.pageSize(), page.numberPage(), projection));
     }
 
     @Override
-    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllByIdNews(Long idNews, int pageSize, int numberPage) {
-        return service.getCommentsByIdNews(idNews, pageSize, numberPage);
+    public Mono<ResponseEntity<List<BulkItem<CommentResponse>>>> getByIds(List<Long> ids, List<String> fields) {
+        return bulkFetcher.fetch(ids, service::get);
     }
 
     @Override
-    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(int pageSize, int numberPage) {
-        return service.getAllFromArchive(pageSize, numberPage);
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllByIdNews(Long idNews, int pageSize, int numberPage,
+                                                                                   String cursor,
+                                                                                   List<String> fields) {
+        FieldsProjection projection = FieldsProjection.of(fields);
+        return paginator.page("comments/news/" + idNews + "?fields=" + fields,
+                PageCursor.of(cursor, pageSize, numberPage),
+                page -> service.getCommentsByIdNews(idNews, page.pageSize(), page.numberPage(), projection));
     }
 
     @Override
-    public Mono<ResponseEntity<CommentResponse>> create(CommentRequest commentDto, HttpServletRequest request) {
-        return service.create(commentDto,request);
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(int pageSize, int numberPage,
+                                                                                      String cursor,
+                                                                                      List<String> fields) {
+        FieldsProjection projection = FieldsProjection.of(fields);
+        return paginator.page("comments/archive?fields=" + fields, PageCursor.of(cursor, pageSize, numberPage),
+                page -> service.getAllFromArchive(page.pageSize(), page.numberPage(), projection));
     }
 
     @Override
-    public Mono<ResponseEntity<CommentResponse>> update(Long id, CommentRequest commentDto, HttpServletRequest request) {
-        return service.update(id, commentDto, request);
+    public Mono<ResponseEntity<CommentResponse>> create(CommentRequest commentDto, UUID userUuid, String userName) {
+        return service.create(commentDto, new UserContext(userUuid, userName));
+    }
+
+    @Override
+    public Mono<ResponseEntity<CommentResponse>> update(Long id, CommentRequest commentDto,
+                                                        UUID userUuid, String userName) {
+        return service.update(id, commentDto, new UserContext(userUuid, userName));
     }
 
 
     @Override
-    public Mono<ResponseEntity<Void>> moveToArchive(Long id, HttpServletRequest request) {
-        return service.archive(id, request);
+    public Mono<ResponseEntity<Void>> moveToArchive(Long id, UUID userUuid, String userName) {
+        return service.archive(id, new UserContext(userUuid, userName));
     }
 
     @Override
@@ -0,0 +1,56 @@
+package ru.clevertec.news.controller;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.FieldsProjection;
+
+import java.util.Arrays;
+
+/**
+ * Applies the {@code fields} projection requested by a client while the response body is serialized.
+ * News endpoints filter NewsResponse properties, comment endpoints filter CommentResponse properties.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@RestControllerAdvice(assignableTypes = {NewsController.class, CommentController.class})
+public class FieldsProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer,
+                                           MediaType contentType,
+                                           MethodParameter returnType,
+                                           ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String[] values = servletRequest.getServletRequest().getParameterValues(FieldsProjection.FIELDS_PARAM);
+        FieldsProjection fields = FieldsProjection.of(values == null ? null : Arrays.asList(values));
+        if (fields.isAll()) {
+            return;
+        }
+
+        bodyContainer.setFilters(fields.toFilterProvider(filterIdFor(returnType.getContainingClass())));
+    }
+
+    /**
+     * Resolves the filter of the DTO returned by the controller.
+     *
+     * @param controllerType Type of the controller handling the request.
+     * @return Id of the NewsResponse filter for news endpoints, otherwise of the CommentResponse filter.
+     */
+    static String filterIdFor(Class<?> controllerType) {
+        return NewsController.class.isAssignableFrom(controllerType)
+                ? NewsResponse.FIELDS_FILTER
+                : CommentResponse.FIELDS_FILTER;
+    }
+}
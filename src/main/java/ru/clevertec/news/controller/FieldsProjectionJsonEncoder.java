@@ -0,0 +1,62 @@
+package ru.clevertec.news.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import ru.clevertec.news.util.FieldsProjection;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux counterpart of {@link FieldsProjectionAdvice}: applies the {@code fields} projection
+ * requested by a client while the response body is encoded.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class FieldsProjectionJsonEncoder extends Jackson2JsonEncoder {
+
+    private static final String FILTER_PROVIDER_HINT = FieldsProjectionJsonEncoder.class.getName() + ".filterProvider";
+
+    public FieldsProjectionJsonEncoder(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Map<String, Object> getEncodeHints(ResolvableType actualType,
+                                              ResolvableType elementType,
+                                              @Nullable MediaType mediaType,
+                                              ServerHttpRequest request,
+                                              ServerHttpResponse response) {
+        Map<String, Object> hints = super.getEncodeHints(actualType, elementType, mediaType, request, response);
+        FieldsProjection fields = FieldsProjection.of(request.getQueryParams().get(FieldsProjection.FIELDS_PARAM));
+        if (fields.isAll() || !(actualType.getSource() instanceof MethodParameter parameter)
+                || !(NewsController.class.isAssignableFrom(parameter.getContainingClass())
+                || CommentController.class.isAssignableFrom(parameter.getContainingClass()))) {
+            return hints;
+        }
+
+        Map<String, Object> projectionHints = new HashMap<>(hints);
+        projectionHints.put(FILTER_PROVIDER_HINT,
+                fields.toFilterProvider(FieldsProjectionAdvice.filterIdFor(parameter.getContainingClass())));
+        return projectionHints;
+    }
+
+    @Override
+    protected ObjectWriter customizeWriter(ObjectWriter writer,
+                                           @Nullable MimeType mimeType,
+                                           ResolvableType elementType,
+                                           @Nullable Map<String, Object> hints) {
+        FilterProvider filters = hints != null ? (FilterProvider) hints.get(FILTER_PROVIDER_HINT) : null;
+        return filters != null ? writer.with(filters) : writer;
+    }
+}
@@ -6,9 +6,12 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -16,15 +19,23 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.news.entity.dto.ArchiveJobRequest;
+import ru.clevertec.news.entity.dto.ArchiveJobResponse;
+import ru.clevertec.news.entity.dto.BulkItem;
+import ru.clevertec.news.entity.dto.CommentResponse;
 import ru.clevertec.news.entity.dto.NewsRequest;
 import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.util.List;
+import java.util.UUID;
 
 @Tag(name = "News Controller", description = "Operations related to news")
 @Validated
@@ -34,7 +45,10 @@ public interface NewsController {
     @Operation(
             summary = "Get news by ID",
             tags = {"News"},
-            description = "Get news. Returns a news by ID with successfully retrieved comment list related to a news.")
+            description = "Get news. Returns a news by ID with successfully retrieved comment list related to a news. " +
+                    "The optional 'fields' parameter limits the returned properties, comments are loaded " +
+                    "only when 'comments' is requested. Without 'fields', 'commentsCount' is present once the count " +
+                    "is known; requesting it in 'fields' waits for it.")
     @ApiResponses(
             value = {
                     @ApiResponse(responseCode = "200", description = "Successfully retrieved a news"),
@@ -56,7 +70,9 @@ public interface NewsController {
                                                @RequestParam(defaultValue = "15", name = "pageSizeComments")
                                                int pageSizeComments,
                                                @RequestParam(defaultValue = "1", name = "numberPageComments")
-                                               int numberPageComments);
+                                               int numberPageComments,
+                                               @RequestParam(name = "fields", required = false)
+                                               List<String> fields);
 
     @Operation(
             summary = "Get archived news by ID",
@@ -84,12 +100,16 @@ public interface NewsController {
                                                       @RequestParam(defaultValue = "15", name = "pageSizeComments")
                                                       int pageSizeComments,
                                                       @RequestParam(defaultValue = "1", name = "numberPageComments")
-                                                      int numberPageComments);
+                                                      int numberPageComments,
+                                                      @RequestParam(name = "fields", required = false)
+                                                      List<String> fields);
 
     @Operation(
             summary = "Get all news",
             tags = {"News"},
-            description = "Successfully retrieved news list.")
+            description = "Successfully retrieved news list. A page followed by another one returns the cursor " +
+                    "of the next page in the 'X-Next-Cursor' header; the 'cursor' parameter replaces " +
+                    "'pageSize' and 'numberPage'.")
     @ApiResponses(
             value = {
                     @ApiResponse(responseCode = "200",
@@ -107,13 +127,86 @@ public interface NewsController {
     @GetMapping
     Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(
             @RequestParam(defaultValue = "15", name = "pageSize") int pageSize,
-            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage);
+            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) List<String> fields);
 
+    @Operation(
+            summary = "Get news by ID list",
+            tags = {"News"},
+            description = "Get news without comments for up to 100 IDs. Returns an item per requested ID in " +
+                    "the order of the request with either the news or the error of its retrieval. " +
+                    "The fields parameter applies to the news of every item.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Successfully retrieved news, errors are reported per ID"),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Payload is incorrect: no IDs or more than 100 IDs",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class))),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "General application error",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class)))
+            })
+    @GetMapping(params = "ids")
+    Mono<ResponseEntity<List<BulkItem<NewsResponse>>>> getByIds(
+            @RequestParam(name = "ids") @Size(min = 1, max = 100) List<Long> ids,
+            @RequestParam(name = "fields", required = false) List<String> fields);
+
+    @Operation(
+            summary = "Get news feed",
+            tags = {"News"},
+            description = "Get a page of news with the first comments of every news item in one request.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200",
+                            description = "Successfully retrieved news feed",
+                            content = @Content(schema = @Schema(implementation = PaginationResponse.class))),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Payload is incorrect: page size above 100 or more than 20 comments",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class))),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "General application error",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class)))
+            })
+    @GetMapping("/feed")
+    Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getFeed(
+            @RequestParam(defaultValue = "15", name = "pageSize") @Max(100) int pageSize,
+            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage,
+            @RequestParam(defaultValue = "3", name = "comments") @Max(20) int comments);
+
+    @Operation(
+            summary = "Stream new comments of news by ID",
+            tags = {"News"},
+            description = "Server-sent events with the comments of a news created from now on, whether created " +
+                    "through this gateway or elsewhere, and periodic keep-alive comments.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Stream of new comments"),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "News not found",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class))),
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Too many news are streamed"),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "General application error",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class)))
+            })
+    @GetMapping(value = "/{id}/comments/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    Flux<ServerSentEvent<CommentResponse>> streamComments(@PathVariable("id") Long id);
 
     @Operation(
             summary = "Get all archived news",
             tags = {"News"},
-            description = "Successfully retrieved comment list related to news.")
+            description = "Successfully retrieved comment list related to news. Supports the 'cursor' " +
+                    "pagination of 'Get all news'.")
     @ApiResponses(
             value = {
                     @ApiResponse(responseCode = "200",
@@ -135,7 +228,9 @@ public interface NewsController {
     @GetMapping("/archive")
     Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(
             @RequestParam(defaultValue = "15", name = "pageSize") int pageSize,
-            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage);
+            @RequestParam(defaultValue = "1", name = "numberPage") int numberPage,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "fields", required = false) List<String> fields);
 
     @Operation(
             summary = "Create new news",
@@ -154,7 +249,9 @@ public interface NewsController {
                             content = @Content(schema = @Schema(implementation = IncorrectData.class)))
             })
     @PostMapping
-    Mono<ResponseEntity<NewsResponse>> create(@Valid @RequestBody NewsRequest newsDto, HttpServletRequest request);
+    Mono<ResponseEntity<NewsResponse>> create(@Valid @RequestBody NewsRequest newsDto,
+                                              @RequestHeader(UserContext.X_USER_UUID) UUID userUuid,
+                                              @RequestHeader(name = UserContext.X_USER_NAME, required = false) String userName);
 
     @Operation(
             summary = "Update news by ID",
@@ -175,7 +272,8 @@ public interface NewsController {
     @PutMapping("/{id}")
     Mono<ResponseEntity<NewsResponse>> update(@PathVariable("id") Long id,
                                               @Valid @RequestBody NewsRequest newsDto,
-                                              HttpServletRequest request);
+                                              @RequestHeader(UserContext.X_USER_UUID) UUID userUuid,
+                                              @RequestHeader(name = UserContext.X_USER_NAME, required = false) String userName);
 
     @Operation(
             summary = "Move news to archive by ID",
@@ -197,7 +295,53 @@ public interface NewsController {
                             content = @Content(schema = @Schema(implementation = IncorrectData.class)))
             })
     @PatchMapping("/{id}")
-    Mono<ResponseEntity<Void>> moveToArchive(@PathVariable("id") Long id, HttpServletRequest request);
+    Mono<ResponseEntity<Void>> moveToArchive(@PathVariable("id") Long id,
+                                             @RequestHeader(UserContext.X_USER_UUID) UUID userUuid,
+                                             @RequestHeader(name = UserContext.X_USER_NAME, required = false) String userName);
+
+    @Operation(
+            summary = "Move news to archive in the background",
+            tags = {"News"},
+            description = "Starts a job archiving up to 1000 news and their comments; the comments of a news are " +
+                    "archived only after the news is. Returns the job, whose status is polled at the Location.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "202", description = "Archive job started"),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Payload is incorrect: no IDs or more than 1000 IDs",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class))),
+                    @ApiResponse(
+                            responseCode = "429",
+                            description = "Too many running archive jobs",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class))),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "General application error",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class)))
+            })
+    @PostMapping("/archive-jobs")
+    Mono<ResponseEntity<ArchiveJobResponse>> createArchiveJob(
+            @Valid @RequestBody ArchiveJobRequest request,
+            @RequestHeader(UserContext.X_USER_UUID) UUID userUuid,
+            @RequestHeader(name = UserContext.X_USER_NAME, required = false) String userName);
+
+    @Operation(
+            summary = "Get archive job by ID",
+            tags = {"News"},
+            description = "Get the progress of an archive job: archived news and comments, errors per news ID " +
+                    "and the throughput of the job.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved the archive job"),
+                    @ApiResponse(responseCode = "404", description = "Archive job by ID not found"),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "General application error",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class)))
+            })
+    @GetMapping("/archive-jobs/{jobId}")
+    Mono<ResponseEntity<ArchiveJobResponse>> getArchiveJob(@PathVariable("jobId") UUID jobId);
 
     @Operation(
             summary = "Search for news",
@@ -225,4 +369,26 @@ public interface NewsController {
     Mono<ResponseEntity<List<NewsResponse>>> search(@RequestParam(name = "search") String searchValue,
                                                     @RequestParam(name = "offset") Integer offset,
                                                     @RequestParam(name = "limit") Integer limit);
+
+    @Operation(
+            summary = "Suggest news titles",
+            tags = {"News"},
+            description = "Get the most popular titles of news starting with the typed prefix, ignoring case. " +
+                    "Titles are suggested from the news seen by the gateway, without calling the news service.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved suggested titles"),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Payload is incorrect: empty or too long prefix, limit above 50",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class))),
+                    @ApiResponse(
+                            responseCode = "500",
+                            description = "General application error",
+                            content = @Content(schema = @Schema(implementation = IncorrectData.class)))
+            })
+    @GetMapping("/suggest")
+    Mono<ResponseEntity<List<String>>> suggest(
+            @RequestParam(name = "prefix") @Size(min = 1, max = 100) String prefix,
+            @RequestParam(defaultValue = "10", name = "limit") @Max(50) int limit);
 }
@@ -1,61 +1,142 @@
 package ru.clevertec.news.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import ru.clevertec.news.entity.dto.ArchiveJobRequest;
+import ru.clevertec.news.entity.dto.ArchiveJobResponse;
+import ru.clevertec.news.entity.dto.BulkItem;
+import ru.clevertec.news.entity.dto.CommentResponse;
 import ru.clevertec.news.entity.dto.NewsRequest;
 import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.pagination.CursorPaginator;
+import ru.clevertec.news.pagination.PageCursor;
+import ru.clevertec.news.service.ArchiveJobService;
+import ru.clevertec.news.service.BulkFetcher;
+import ru.clevertec.news.service.CommentCounter;
+import ru.clevertec.news.service.CommentPrefetcher;
+import ru.clevertec.news.service.CommentStreams;
+import ru.clevertec.news.service.NewsFeedService;
 import ru.clevertec.news.service.NewsService;
+import ru.clevertec.news.service.TitleSuggester;
+import ru.clevertec.news.util.FieldsProjection;
 import ru.clevertec.news.util.PaginationResponse;
 
+import java.net.URI;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequiredArgsConstructor
 public class NewsControllerImpl implements NewsController {
 
+    private static final String ARCHIVE_JOBS_PATH = "/api/news/archive-jobs/";
+
     private final NewsService service;
+    private final BulkFetcher bulkFetcher;
+    private final NewsFeedService feedService;
+    private final CursorPaginator paginator;
+    private final CommentPrefetcher commentPrefetcher;
+    private final CommentCounter commentCounter;
+    private final ArchiveJobService archiveJobService;
+    private final CommentStreams commentStreams;
+    private final TitleSuggester titleSuggester;
+
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> getById(Long id, int pageSizeComments, int numberPageComments,
+                                                      List<String> fields) {
+        FieldsProjection projection = FieldsProjection.of(fields);
+        return commentCounter.withCount(id, service.get(id, pageSizeComments, numberPageComments, projection),
+                projection);
+    }
+
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments,
+                                                             List<String> fields) {
+        return service.getFromArchive(id, pageSizeComments, numberPageComments, FieldsProjection.of(fields));
+    }
+
+    @Override
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage, String cursor,
+                                                                        List<String> fields) {
+        FieldsProjection projection = FieldsProjection.of(fields);
+        return paginator.page("news?fields=" + fields, PageCursor.of(cursor, pageSize, numberPage),
+                        page -> service.getAll(page.pageSize(), page.numberPage(), projection))
+                .map(commentCounter::withKnownCounts)
+                .doOnNext(response -> commentPrefetcher.prefetch(response.getBody()));
+    }
 
     @Override
-    public Mono<ResponseEntity<NewsResponse>> getById(Long id, int pageSizeComments, int numberPageComments) {
-        return service.get(id, pageSizeComments, numberPageComments);
+    public Mono<ResponseEntity<List<BulkItem<NewsResponse>>>> getByIds(List<Long> ids, List<String> fields) {
+        FieldsProjection projection = FieldsProjection.of(fields);
+        return bulkFetcher.fetch(ids, id -> service.get(id)
+                .map(response -> commentCounter.withKnownCount(response, projection)));
     }
 
     @Override
-    public Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments) {
-        return service.getFromArchive(id, pageSizeComments, numberPageComments);
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getFeed(int pageSize, int numberPage, int comments) {
+        return feedService.getFeed(pageSize, numberPage, comments);
     }
 
     @Override
-    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage) {
-        return service.getAll(pageSize, numberPage);
+    public Flux<ServerSentEvent<CommentResponse>> streamComments(Long id) {
+        // a stream polls for as long as it is viewed, so it is started only for a news item that exists
+        return service.get(id)
+                .thenMany(Flux.defer(() -> commentStreams.stream(id)));
     }
 
     @Override
-    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage) {
-        return service.getAllFromArchive(pageSize, numberPage);
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage,
+                                                                                   String cursor,
+                                                                                   List<String> fields) {
+        FieldsProjection projection = FieldsProjection.of(fields);
+        return paginator.page("news/archive?fields=" + fields, PageCursor.of(cursor, pageSize, numberPage),
+                page -> service.getAllFromArchive(page.pageSize(), page.numberPage(), projection));
     }
 
     @Override
-    public Mono<ResponseEntity<NewsResponse>> create(NewsRequest newsDto,HttpServletRequest request) {
-        return service.create(newsDto,request);
+    public Mono<ResponseEntity<NewsResponse>> create(NewsRequest newsDto, UUID userUuid, String userName) {
+        return service.create(newsDto, new UserContext(userUuid, userName));
     }
 
     @Override
-    public Mono<ResponseEntity<NewsResponse>> update(Long id, NewsRequest newsDto, HttpServletRequest request) {
-        return service.update(id, newsDto, request);
+    public Mono<ResponseEntity<NewsResponse>> update(Long id, NewsRequest newsDto, UUID userUuid, String userName) {
+        return service.update(id, newsDto, new UserContext(userUuid, userName));
     }
 
     @Override
-    public Mono<ResponseEntity<Void>> moveToArchive(Long id, HttpServletRequest request) {
-        return service.archive(id, request);
+    public Mono<ResponseEntity<Void>> moveToArchive(Long id, UUID userUuid, String userName) {
+        return service.archive(id, new UserContext(userUuid, userName));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ArchiveJobResponse>> createArchiveJob(ArchiveJobRequest request, UUID userUuid,
+                                                                     String userName) {
+        return Mono.fromCallable(() -> archiveJobService.submit(request.ids(), new UserContext(userUuid, userName)))
+                .map(job -> ResponseEntity.accepted()
+                        .location(URI.create(ARCHIVE_JOBS_PATH + job.id()))
+                        .body(job));
+    }
+
+    @Override
+    public Mono<ResponseEntity<ArchiveJobResponse>> getArchiveJob(UUID jobId) {
+        return Mono.justOrEmpty(archiveJobService.find(jobId))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @Override
     public Mono<ResponseEntity<List<NewsResponse>>> search(String searchValue, Integer offset, Integer limit) {
         return service.search(searchValue, offset, limit);
     }
+
+    @Override
+    public Mono<ResponseEntity<List<String>>> suggest(String prefix, int limit) {
+        return Mono.just(ResponseEntity.ok().body(titleSuggester.suggest(prefix, limit)));
+    }
 }
@@ -0,0 +1,76 @@
+package ru.clevertec.news.deadline;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which a client request has to be answered. It travels with the request in the Reactor context
+ * under this class as the key, or as a request attribute in the servlet runtime, and to the downstream services as the remaining budget in milliseconds,
+ * which keeps it independent of the clocks of the hosts.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public final class Deadline {
+
+    /**
+     * Header carrying the remaining budget in milliseconds, both from clients and to the downstream services.
+     */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    /**
+     * Request attribute holding the deadline of the request in the servlet runtime.
+     */
+    public static final String REQUEST_ATTRIBUTE = Deadline.class.getName();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    /**
+     * @param budget Time left for the request.
+     * @return Deadline expiring after the budget.
+     */
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Resolves the deadline of an incoming request.
+     *
+     * @param header        Value of the {@link #HEADER} header, may be null.
+     * @param defaultBudget Budget of requests without the header or with an unparsable one.
+     * @param maxBudget     Upper bound of the budget a client may ask for.
+     * @return The deadline of the request.
+     */
+    public static Deadline fromHeader(String header, Duration defaultBudget, Duration maxBudget) {
+        Duration budget = defaultBudget;
+        if (header != null) {
+            try {
+                budget = Duration.ofMillis(Math.max(0, Long.parseLong(header.trim())));
+            } catch (NumberFormatException e) {
+                budget = defaultBudget;
+            }
+        }
+        return after(budget.compareTo(maxBudget) > 0 ? maxBudget : budget);
+    }
+
+    /**
+     * @return Time left until the deadline, zero once it has passed.
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * @return Remaining budget in the format of the {@link #HEADER} header.
+     */
+    public String toHeader() {
+        return String.valueOf(remaining().toMillis());
+    }
+}
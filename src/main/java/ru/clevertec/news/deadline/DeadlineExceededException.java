@@ -0,0 +1,25 @@
+package ru.clevertec.news.deadline;
+
+import org.springframework.http.HttpStatus;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+
+/**
+ * Thrown when the deadline of a request passes before the gateway has an answer.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    /**
+     * @return Body of the 504 response.
+     */
+    public IncorrectData toIncorrectData() {
+        return new IncorrectData(getClass().getSimpleName(), getMessage(),
+                String.valueOf(HttpStatus.GATEWAY_TIMEOUT.value()));
+    }
+}
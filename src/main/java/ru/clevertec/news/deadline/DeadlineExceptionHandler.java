@@ -0,0 +1,26 @@
+package ru.clevertec.news.deadline;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+
+/**
+ * Answers with 504 when a downstream call of a request is cancelled by the deadline of the request.
+ * Ordered first, so the general handlers of the exception handling starter do not turn it into a 500.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DeadlineExceptionHandler {
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<IncorrectData> handleDeadlineExceeded(DeadlineExceededException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(e.toIncorrectData());
+    }
+}
@@ -0,0 +1,57 @@
+package ru.clevertec.news.deadline;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Propagates the deadline of the client request to a downstream call: the call carries the remaining budget
+ * in the {@link Deadline#HEADER} header, is not started once the deadline has passed and is cancelled when it
+ * passes while the call waits for the response. The deadline is taken from the Reactor context written by
+ * ReactiveDeadlineFilter, or in the servlet runtime from the request attribute set by DeadlineFilter when the call
+ * is made on the request thread.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            if (deadline == null) {
+                deadline = servletRequestDeadline();
+            }
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            Duration remaining = deadline.remaining();
+            if (remaining.isZero()) {
+                return Mono.error(exceeded(request));
+            }
+            ClientRequest withDeadline = ClientRequest.from(request)
+                    .headers(headers -> headers.set(Deadline.HEADER, String.valueOf(remaining.toMillis())))
+                    .build();
+            return next.exchange(withDeadline)
+                    .timeout(remaining, Mono.error(() -> exceeded(request)));
+        });
+    }
+
+    private static Deadline servletRequestDeadline() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null
+                : (Deadline) attributes.getAttribute(Deadline.REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    private DeadlineExceededException exceeded(ClientRequest request) {
+        return new DeadlineExceededException("Deadline exceeded before " + request.method() + " "
+                + request.url().getPath() + " answered");
+    }
+}
@@ -0,0 +1,36 @@
+package ru.clevertec.news.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Resolves the deadline of a request in the servlet runtime and keeps it as a request attribute, where
+ * DeadlineExchangeFilter finds it.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    public DeadlineFilter(Duration defaultBudget, Duration maxBudget) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        request.setAttribute(Deadline.REQUEST_ATTRIBUTE,
+                Deadline.fromHeader(request.getHeader(Deadline.HEADER), defaultBudget, maxBudget));
+        filterChain.doFilter(request, response);
+    }
+}
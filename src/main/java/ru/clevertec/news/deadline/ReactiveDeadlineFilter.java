@@ -0,0 +1,32 @@
+package ru.clevertec.news.deadline;
+
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Resolves the deadline of a request in the reactive runtime and writes it into the Reactor context.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class ReactiveDeadlineFilter implements WebFilter {
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+
+    public ReactiveDeadlineFilter(Duration defaultBudget, Duration maxBudget) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Deadline deadline = Deadline.fromHeader(exchange.getRequest().getHeaders().getFirst(Deadline.HEADER),
+                defaultBudget, maxBudget);
+        return chain.filter(exchange).contextWrite(context -> context.put(Deadline.class, deadline));
+    }
+}
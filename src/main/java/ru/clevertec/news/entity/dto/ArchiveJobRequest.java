@@ -0,0 +1,14 @@
+package ru.clevertec.news.entity.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ArchiveJobRequest(
+
+        @NotEmpty
+        @Size(max = 1000)
+        List<@NotNull Long> ids) {
+}
@@ -0,0 +1,32 @@
+package ru.clevertec.news.entity.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ArchiveJobResponse(
+
+        UUID id,
+
+        Status status,
+
+        int total,
+
+        int newsArchived,
+
+        int commentsArchived,
+
+        int failed,
+
+        long elapsedMillis,
+
+        double newsPerSecond,
+
+        List<BulkItem<Void>> errors) {
+
+    public enum Status {
+        QUEUED, RUNNING, DONE
+    }
+}
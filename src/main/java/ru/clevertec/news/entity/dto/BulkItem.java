@@ -0,0 +1,16 @@
+package ru.clevertec.news.entity.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkItem<T>(
+
+        Long id,
+
+        int status,
+
+        T value,
+
+        IncorrectData error) {
+}
@@ -1,20 +1,21 @@
 package ru.clevertec.news.entity.dto;
 
-import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.Builder;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
-@Getter
-@Setter
 @Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class CommentResponse {
-    private Long id;
-    private String time;
-    private String text;
-    private UserResponse user;
-    private Long newsId;
+@JsonFilter(CommentResponse.FIELDS_FILTER)
+public record CommentResponse(
+
+        Long id,
+
+        String time,
+
+        String text,
+
+        UserResponse user,
+
+        Long newsId) {
+
+    public static final String FIELDS_FILTER = "commentFields";
 }
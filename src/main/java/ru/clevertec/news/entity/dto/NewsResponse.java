@@ -1,20 +1,36 @@
 package ru.clevertec.news.entity.dto;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
-import lombok.Getter;
-import lombok.Setter;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.With;
+import ru.clevertec.news.codec.LocalDateTimeCodec;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.time.LocalDateTime;
 
-@Getter
-@Setter
-public class NewsResponse {
-    private Long id;
-    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
-    private LocalDateTime time;
-    private String title;
-    private String text;
-    private UserResponse user;
-    private PaginationResponse<CommentResponse> comments;
-}
\ No newline at end of file
+@With
+@JsonFilter(NewsResponse.FIELDS_FILTER)
+public record NewsResponse(
+
+        Long id,
+
+        @JsonSerialize(using = LocalDateTimeCodec.Serializer.class)
+        @JsonDeserialize(using = LocalDateTimeCodec.Deserializer.class)
+        LocalDateTime time,
+
+        String title,
+
+        String text,
+
+        UserResponse user,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        PaginationResponse<CommentResponse> comments,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        Long commentsCount) {
+
+    public static final String FIELDS_FILTER = "newsFields";
+}
@@ -0,0 +1,16 @@
+package ru.clevertec.news.entity.dto;
+
+import java.util.UUID;
+
+/**
+ * Identity of the caller, taken from the 'X-User-UUID' and 'X-User-Name' headers set by the gateway.
+ */
+public record UserContext(UUID uuid, String userName) {
+
+    public static final String X_USER_UUID = "X-User-UUID";
+    public static final String X_USER_NAME = "X-User-Name";
+
+    public UserRequest toUserRequest() {
+        return new UserRequest(uuid, userName);
+    }
+}
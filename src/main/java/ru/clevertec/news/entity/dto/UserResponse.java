@@ -1,4 +1,22 @@
 package ru.clevertec.news.entity.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import ru.clevertec.news.util.InternPool;
+
 public record UserResponse(String userName) {
+
+    private static final InternPool<String, UserResponse> POOL = new InternPool<>(1024);
+
+    /**
+     * Creator used by Jackson. A handful of users write most comments, so instances are shared
+     * through a bounded pool instead of decoding a new object and name for every comment.
+     *
+     * @param userName The user name.
+     * @return Pooled UserResponse for the given name.
+     */
+    @JsonCreator
+    public static UserResponse of(@JsonProperty("userName") String userName) {
+        return userName == null ? new UserResponse(null) : POOL.intern(userName, UserResponse::new);
+    }
 }
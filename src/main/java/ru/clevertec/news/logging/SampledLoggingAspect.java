@@ -0,0 +1,128 @@
+package ru.clevertec.news.logging;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Low-overhead logging of the methods of Loggable services, used instead of the synchronous logging of the
+ * logging starter. Failed calls and calls slower than the threshold are always logged; other calls are logged
+ * with the sampling rate of the method. Arguments and results are rendered only for the calls that are logged,
+ * and the events go to the 'service-calls' logger, which writes through an asynchronous appender.
+ * For Mono and Flux results the latency is measured from the subscription to the completion.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Aspect
+public class SampledLoggingAspect {
+
+    public static final String LOGGER_NAME = "service-calls";
+
+    private static final Logger log = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final double defaultRate;
+    private final Map<String, Double> methodRates;
+    private final long slowThresholdNanos;
+    private final int maxLength;
+
+    /**
+     * Constructor for SampledLoggingAspect.
+     *
+     * @param defaultRate   Share of successful calls logged, from 0 to 1.
+     * @param methodRates   Sampling rates overriding the default one, keyed by 'SimpleClassName.method'.
+     * @param slowThreshold Latency above which a call is always logged.
+     * @param maxLength     Maximum length of rendered arguments and results.
+     */
+    public SampledLoggingAspect(double defaultRate, Map<String, Double> methodRates,
+                                Duration slowThreshold, int maxLength) {
+        this.defaultRate = defaultRate;
+        this.methodRates = Map.copyOf(methodRates);
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.maxLength = maxLength;
+    }
+
+    @Around("@within(ru.clevertec.loggingstarter.annotation.Loggable) "
+            + "|| @annotation(ru.clevertec.loggingstarter.annotation.Loggable)")
+    public Object log(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        boolean sampled = isSampled(method);
+        Object[] args = joinPoint.getArgs();
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            logCompletion(method, args, sampled, start, null, e);
+            throw e;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                return mono
+                        .doOnSuccess(value -> logCompletion(method, args, sampled, subscribed, value, null))
+                        .doOnError(e -> logCompletion(method, args, sampled, subscribed, null, e));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                return flux
+                        .doOnComplete(() -> logCompletion(method, args, sampled, subscribed, "<stream>", null))
+                        .doOnError(e -> logCompletion(method, args, sampled, subscribed, null, e));
+            });
+        }
+        logCompletion(method, args, sampled, start, result, null);
+        return result;
+    }
+
+    private boolean isSampled(String method) {
+        double rate = methodRates.getOrDefault(method, defaultRate);
+        return rate >= 1.0 || rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    private void logCompletion(String method, Object[] args, boolean sampled, long start, Object result, Throwable error) {
+        long elapsedNanos = System.nanoTime() - start;
+        if (error != null) {
+            log.atWarn()
+                    .setMessage("{} args={} failed after {} ms")
+                    .addArgument(method)
+                    .addArgument(() -> render(args))
+                    .addArgument(() -> elapsedNanos / 1_000_000)
+                    .setCause(error)
+                    .log();
+        } else if (elapsedNanos > slowThresholdNanos) {
+            log.atWarn()
+                    .setMessage("{} args={} took {} ms, returned {}")
+                    .addArgument(method)
+                    .addArgument(() -> render(args))
+                    .addArgument(() -> elapsedNanos / 1_000_000)
+                    .addArgument(() -> render(result))
+                    .log();
+        } else if (sampled && log.isInfoEnabled()) {
+            log.atInfo()
+                    .setMessage("{} args={} took {} ms, returned {}")
+                    .addArgument(method)
+                    .addArgument(() -> render(args))
+                    .addArgument(() -> elapsedNanos / 1_000_000)
+                    .addArgument(() -> render(result))
+                    .log();
+        }
+    }
+
+    private String render(Object value) {
+        String rendered = value instanceof Object[] array ? Arrays.deepToString(array) : String.valueOf(value);
+        return rendered.length() > maxLength ? rendered.substring(0, maxLength) + "..." : rendered;
+    }
+}
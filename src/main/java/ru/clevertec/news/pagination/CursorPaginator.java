@@ -0,0 +1,151 @@
+package ru.clevertec.news.pagination;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.clevertec.news.admission.AdmissionController;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Cursor pagination of the list endpoints: every page that has a successor gets the cursor of the next page in
+ * the NEXT_CURSOR_HEADER. With 'pagination.prefetch.enabled' the next page is fetched speculatively while the client
+ * reads the current one, unless requests queue in admission control, as a prefetch is a downstream call no client
+ * may ever ask for. A prefetched page is kept for 'pagination.prefetch.ttl' and served to the requests of its cursor;
+ * at most 'pagination.prefetch.max-pages' pages are kept.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class CursorPaginator {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final boolean prefetch;
+    private final ObjectProvider<AdmissionController> admissionController;
+    private final long ttlNanos;
+    private final Map<String, Prefetched> prefetched;
+
+    /**
+     * Constructor for CursorPaginator.
+     *
+     * @param prefetch            Whether next pages are prefetched.
+     * @param admissionController Admission control of the requests, if enabled.
+     * @param ttl                 Time a prefetched page is served for.
+     * @param maxPages            Maximum number of prefetched pages kept.
+     */
+    public CursorPaginator(@Value("${pagination.prefetch.enabled:false}") boolean prefetch,
+                           ObjectProvider<AdmissionController> admissionController,
+                           @Value("${pagination.prefetch.ttl:10s}") Duration ttl,
+                           @Value("${pagination.prefetch.max-pages:500}") int maxPages) {
+        this.prefetch = prefetch;
+        this.admissionController = admissionController;
+        this.ttlNanos = ttl.toNanos();
+        this.prefetched = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Prefetched> eldest) {
+                return size() > maxPages;
+            }
+        };
+    }
+
+    /**
+     * Serves a page of a list, from the prefetched pages if possible.
+     *
+     * @param list   Key of the list including every parameter other than the page, e.g. 'news?fields=title'.
+     * @param cursor Requested page.
+     * @param fetch  Fetches a page of the list.
+     * @param <T>    Type of the items.
+     * @return Mono containing ResponseEntity with the page and the cursor of the next page.
+     */
+    public <T> Mono<ResponseEntity<PaginationResponse<T>>> page(
+            String list,
+            PageCursor cursor,
+            Function<PageCursor, Mono<ResponseEntity<PaginationResponse<T>>>> fetch) {
+        Mono<ResponseEntity<PaginationResponse<T>>> page = this.<T>takePrefetched(list, cursor);
+        return (page != null ? page : fetch.apply(cursor))
+                .map(response -> withNextCursor(list, cursor, response, fetch));
+    }
+
+    private <T> ResponseEntity<PaginationResponse<T>> withNextCursor(
+            String list,
+            PageCursor cursor,
+            ResponseEntity<PaginationResponse<T>> response,
+            Function<PageCursor, Mono<ResponseEntity<PaginationResponse<T>>>> fetch) {
+        PaginationResponse<T> body = response.getBody();
+        if (body == null || cursor.numberPage() >= body.countPage()) {
+            return response;
+        }
+        PageCursor next = cursor.next();
+        if (prefetch && !isForegroundQueueing()) {
+            prefetch(list, next, fetch);
+        }
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(NEXT_CURSOR_HEADER, next.encode())
+                .body(body);
+    }
+
+    private <T> void prefetch(String list,
+                              PageCursor next,
+                              Function<PageCursor, Mono<ResponseEntity<PaginationResponse<T>>>> fetch) {
+        String key = key(list, next);
+        Mono<ResponseEntity<PaginationResponse<T>>> page;
+        synchronized (prefetched) {
+            Prefetched existing = prefetched.get(key);
+            if (existing != null && !existing.isExpired(System.nanoTime(), ttlNanos)) {
+                return;
+            }
+            page = Mono.defer(() -> fetch.apply(next)).cache();
+            prefetched.put(key, new Prefetched(page, System.nanoTime()));
+        }
+        // a failed prefetch is dropped, the request of the page fetches it again
+        page.subscribe(response -> {
+        }, e -> remove(key));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<ResponseEntity<PaginationResponse<T>>> takePrefetched(String list, PageCursor cursor) {
+        String key = key(list, cursor);
+        synchronized (prefetched) {
+            Prefetched page = prefetched.get(key);
+            if (page == null) {
+                return null;
+            }
+            if (page.isExpired(System.nanoTime(), ttlNanos)) {
+                prefetched.remove(key);
+                return null;
+            }
+            return (Mono<ResponseEntity<PaginationResponse<T>>>) (Mono<?>) page.page();
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (prefetched) {
+            prefetched.remove(key);
+        }
+    }
+
+    private boolean isForegroundQueueing() {
+        AdmissionController controller = admissionController.getIfAvailable();
+        return controller != null && !controller.queueingDelay().isZero();
+    }
+
+    private static String key(String list, PageCursor cursor) {
+        return list + "#" + cursor.encode();
+    }
+
+    private record Prefetched(Mono<? extends ResponseEntity<? extends PaginationResponse<?>>> page, long fetchedAt) {
+
+        private boolean isExpired(long now, long ttlNanos) {
+            return now - fetchedAt > ttlNanos;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package ru.clevertec.news.pagination;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a page in a list, passed to clients as an opaque cursor. The cursor encodes the page size and
+ * the page number, the only pagination the downstream services support; clients just follow the cursors,
+ * so the encoding can move to keyset positions once the services accept them.
+ *
+ * @param pageSize   Number of items per page.
+ * @param numberPage Page number, starting with 1.
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public record PageCursor(int pageSize, int numberPage) {
+
+    private static final String VERSION = "p1";
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Resolves the requested page from the cursor, or from the page parameters when there is no cursor.
+     *
+     * @param cursor     Cursor sent by the client, may be null.
+     * @param pageSize   Page size parameter.
+     * @param numberPage Page number parameter.
+     * @return Requested page.
+     * @throws ResponseStatusException with 400 if the cursor is malformed.
+     */
+    public static PageCursor of(String cursor, int pageSize, int numberPage) {
+        return cursor == null || cursor.isBlank() ? new PageCursor(pageSize, numberPage) : decode(cursor);
+    }
+
+    /**
+     * @param cursor Cursor created by encode().
+     * @return The page position.
+     * @throws ResponseStatusException with 400 if the cursor is malformed.
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length == 3 && VERSION.equals(parts[0])) {
+                int pageSize = Integer.parseInt(parts[1]);
+                int numberPage = Integer.parseInt(parts[2]);
+                if (pageSize > 0 && numberPage > 0) {
+                    return new PageCursor(pageSize, numberPage);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // malformed Base64 or numbers, rejected below
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+    }
+
+    public String encode() {
+        String position = VERSION + SEPARATOR + pageSize + SEPARATOR + numberPage;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public PageCursor next() {
+        return new PageCursor(pageSize, numberPage + 1);
+    }
+}
@@ -0,0 +1,194 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.clevertec.news.entity.dto.ArchiveJobResponse;
+import ru.clevertec.news.entity.dto.BulkItem;
+import ru.clevertec.news.entity.dto.UserContext;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Archive jobs: news items are archived in the background and the caller gets a job to poll instead of waiting.
+ * The news ids of a job are archived in batches of 'archive.jobs.batch-size', at most 'archive.jobs.concurrency'
+ * calls at a time; the comments of a batch are archived only after its news items are archived, so the comments
+ * of a news item that could not be archived, e.g. of another author, stay untouched. Errors are reported per id.
+ * At most 'archive.jobs.max-running' jobs run at a time and the last 'archive.jobs.max-jobs' jobs can be polled.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Service
+public class ArchiveJobService implements DisposableBean {
+
+    private final NewsService newsService;
+    private final CommentService commentService;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxRunning;
+    private final Map<UUID, ArchiveJob> jobs;
+    private final AtomicInteger running = new AtomicInteger();
+    private final Disposable.Composite runningJobs = Disposables.composite();
+
+    /**
+     * Constructor for ArchiveJobService.
+     *
+     * @param newsService    Service archiving the news items.
+     * @param commentService Service archiving the comments of the news items.
+     * @param batchSize      Number of news items whose comments are archived after them.
+     * @param concurrency    Maximum number of concurrent downstream calls of a job.
+     * @param maxRunning     Maximum number of running jobs.
+     * @param maxJobs        Maximum number of jobs kept for polling.
+     */
+    public ArchiveJobService(NewsService newsService,
+                             CommentService commentService,
+                             @Value("${archive.jobs.batch-size:50}") int batchSize,
+                             @Value("${archive.jobs.concurrency:4}") int concurrency,
+                             @Value("${archive.jobs.max-running:4}") int maxRunning,
+                             @Value("${archive.jobs.max-jobs:1000}") int maxJobs) {
+        this.newsService = newsService;
+        this.commentService = commentService;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxRunning = maxRunning;
+        this.jobs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, ArchiveJob> eldest) {
+                return size() > maxJobs;
+            }
+        };
+    }
+
+    /**
+     * Starts a job archiving news items and their comments.
+     *
+     * @param ids  The IDs of the news items to archive; duplicates are archived once.
+     * @param user The caller, who has to be the author of the news items.
+     * @return Status of the started job.
+     * @throws ResponseStatusException with 429 if 'archive.jobs.max-running' jobs are running.
+     */
+    public ArchiveJobResponse submit(List<Long> ids, UserContext user) {
+        if (running.incrementAndGet() > maxRunning) {
+            running.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many running archive jobs");
+        }
+        ArchiveJob job = new ArchiveJob(UUID.randomUUID(), List.copyOf(new LinkedHashSet<>(ids)));
+        synchronized (jobs) {
+            jobs.put(job.id, job);
+        }
+        Disposable.Swap run = Disposables.swap();
+        runningJobs.add(run);
+        run.update(run(job, user)
+                .doFinally(signal -> {
+                    running.decrementAndGet();
+                    runningJobs.remove(run);
+                })
+                .subscribe());
+        return job.toResponse();
+    }
+
+    /**
+     * Returns the status of a job.
+     *
+     * @param id The ID of the job.
+     * @return Status of the job, or empty if it is unknown or no longer kept.
+     */
+    public Optional<ArchiveJobResponse> find(UUID id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id)).map(ArchiveJob::toResponse);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        runningJobs.dispose();
+    }
+
+    private Mono<Void> run(ArchiveJob job, UserContext user) {
+        return Flux.fromIterable(job.ids)
+                .buffer(batchSize)
+                .concatMap(batch -> archiveNews(job, batch, user)
+                        .flatMap(archived -> archiveComments(job, archived)))
+                .doOnSubscribe(subscription -> job.start())
+                .doFinally(signal -> job.finish())
+                .then();
+    }
+
+    private Mono<List<Long>> archiveNews(ArchiveJob job, List<Long> batch, UserContext user) {
+        return Flux.fromIterable(batch)
+                .flatMap(id -> newsService.archiveWithoutComments(id, user)
+                        .thenReturn(id)
+                        .doOnNext(archived -> job.newsArchived.incrementAndGet())
+                        .onErrorResume(e -> job.fail(id, e)), concurrency)
+                .collectList();
+    }
+
+    private Mono<Void> archiveComments(ArchiveJob job, List<Long> archived) {
+        return Flux.fromIterable(archived)
+                .flatMap(id -> commentService.archiveByNewsId(id)
+                        .doOnNext(response -> job.commentsArchived.incrementAndGet())
+                        .onErrorResume(e -> job.fail(id, e)), concurrency)
+                .then();
+    }
+
+    private static final class ArchiveJob {
+
+        private final UUID id;
+        private final List<Long> ids;
+        private final AtomicInteger newsArchived = new AtomicInteger();
+        private final AtomicInteger commentsArchived = new AtomicInteger();
+        private final Queue<BulkItem<Void>> errors = new ConcurrentLinkedQueue<>();
+        private volatile ArchiveJobResponse.Status status = ArchiveJobResponse.Status.QUEUED;
+        private volatile long startedAt;
+        private volatile long finishedAt;
+
+        private ArchiveJob(UUID id, List<Long> ids) {
+            this.id = id;
+            this.ids = ids;
+        }
+
+        private void start() {
+            startedAt = System.nanoTime();
+            status = ArchiveJobResponse.Status.RUNNING;
+        }
+
+        private void finish() {
+            finishedAt = System.nanoTime();
+            status = ArchiveJobResponse.Status.DONE;
+        }
+
+        private <T> Mono<T> fail(Long newsId, Throwable error) {
+            errors.add(BulkFetcher.failed(newsId, error));
+            return Mono.empty();
+        }
+
+        private ArchiveJobResponse toResponse() {
+            ArchiveJobResponse.Status current = status;
+            long elapsedNanos = switch (current) {
+                case QUEUED -> 0;
+                case RUNNING -> System.nanoTime() - startedAt;
+                case DONE -> finishedAt - startedAt;
+            };
+            int archived = newsArchived.get();
+            double newsPerSecond = elapsedNanos == 0 ? 0 : archived * 1_000_000_000.0 / elapsedNanos;
+            List<BulkItem<Void>> failed = List.copyOf(errors);
+            return new ArchiveJobResponse(id, current, ids.size(), archived, commentsArchived.get(), failed.size(),
+                    elapsedNanos / 1_000_000, newsPerSecond, failed);
+        }
+    }
+}
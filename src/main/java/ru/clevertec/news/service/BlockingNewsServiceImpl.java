@@ -0,0 +1,483 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import ru.clevertec.exceptionhandlerstarter.exception.AccessDeniedException;
+import ru.clevertec.loggingstarter.annotation.Loggable;
+import ru.clevertec.news.cache.CachePutById;
+import ru.clevertec.news.cache.CachedById;
+import ru.clevertec.news.cache.EvictById;
+import ru.clevertec.news.codec.JsonCodec;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.ModifyNewsRequest;
+import ru.clevertec.news.entity.dto.NewsRequest;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.entity.dto.UserRequest;
+import ru.clevertec.news.util.FieldsProjection;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Blocking alternative of {@link NewsServiceImpl}, enabled with 'news.service.mode: blocking'.
+ * Every call runs as plain sequential code on a thread of the 'newsServiceExecutor', which creates
+ * a virtual thread per task on Java 21 and later. Independent downstream calls are forked onto sibling
+ * tasks of the 'newsServiceForkExecutor' that never outlive the calling method: a failure of one cancels
+ * the other.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Service
+@Loggable
+@ConditionalOnProperty(name = "news.service.mode", havingValue = "blocking")
+public class BlockingNewsServiceImpl implements NewsService {
+
+    private static final String PAGE_SIZE_PARAM = "pageSize";
+    private static final String NUMBER_PAGE_PARAM = "numberPage";
+    private static final String SEARCH_PARAM = "search";
+    private static final String OFFSET_PARAM = "offset";
+    private static final String LIMIT_PARAM = "limit";
+    private static final String NEWS_URL = "/news";
+    private static final String NEWS_ARCHIVE_ID_URL = "/news/archive/{id}";
+    private static final String NEWS_ARCHIVE_URL = "/news/archive";
+    private static final String NEWS_ID_URL = "/news/{id}";
+    private static final String NEWS_SEARCH_URL = "/news/search";
+    private static final String COMMENTS_FIELD = "comments";
+
+    /**
+     * Blocking HTTP client of the 'news-service'.
+     */
+    private final RestClient restClient;
+
+    /**
+     * Service for managing comments related to news.
+     */
+    private final CommentService commentService;
+
+    /**
+     * Codec with prebuilt readers for the JSON received from downstream services.
+     */
+    private final JsonCodec jsonCodec;
+
+    /**
+     * Splits large page requests into concurrent downstream calls.
+     */
+    private final ChunkedPageFetcher chunkedPageFetcher;
+
+    /**
+     * Replaces comments pages that miss their budget.
+     */
+    private final CommentPageFallback commentPageFallback;
+
+    /**
+     * Executor running the subtasks forked by the calls.
+     */
+    private final AsyncTaskExecutor forkExecutor;
+
+    /**
+     * Scheduler running the blocking calls on the 'newsServiceExecutor', adapting them to the reactive
+     * NewsService contract.
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * Whether the 'fields' projection is forwarded to the 'news-service'.
+     */
+    private final boolean forwardFields;
+
+    /**
+     * Authors of the news items, checked before updates and archiving.
+     */
+    private final OwnershipCache ownershipCache;
+
+    /**
+     * Index answering searches locally once it is built.
+     */
+    private final NewsSearchIndex newsSearchIndex;
+
+    /**
+     * Titles suggested for the search box, kept current with the news items paged through and changed.
+     */
+    private final TitleSuggester titleSuggester;
+
+    public BlockingNewsServiceImpl(@Qualifier("restClientBuilderNewsUrl") RestClient.Builder restClientBuilder,
+                                   CommentService commentService,
+                                   JsonCodec jsonCodec,
+                                   ChunkedPageFetcher chunkedPageFetcher,
+                                   CommentPageFallback commentPageFallback,
+                                   @Qualifier("newsServiceExecutor") AsyncTaskExecutor executor,
+                                   @Qualifier("newsServiceForkExecutor") AsyncTaskExecutor forkExecutor,
+                                   @Value("${projection.forward-downstream:false}") boolean forwardFields,
+                                   OwnershipCache ownershipCache,
+                                   NewsSearchIndex newsSearchIndex,
+                                   TitleSuggester titleSuggester) {
+        this.restClient = restClientBuilder.build();
+        this.commentService = commentService;
+        this.jsonCodec = jsonCodec;
+        this.chunkedPageFetcher = chunkedPageFetcher;
+        this.commentPageFallback = commentPageFallback;
+        this.forkExecutor = forkExecutor;
+        this.scheduler = Schedulers.fromExecutor(executor);
+        this.forwardFields = forwardFields;
+        this.ownershipCache = ownershipCache;
+        this.newsSearchIndex = newsSearchIndex;
+        this.titleSuggester = titleSuggester;
+    }
+
+    /**
+     * Retrieves a specific news item without its comments.
+     *
+     * @param id The ID of the news item to retrieve.
+     * @return Mono containing ResponseEntity with the requested NewsResponse.
+     */
+    @CachedById
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> get(Long id) {
+        return call(() -> ResponseEntity.ok()
+                .body(jsonCodec.readNews(get(uriBuilder -> uriBuilder.path(NEWS_ID_URL).build(id)))));
+    }
+
+    /**
+     * Retrieves a specific news item, fetching its comments concurrently. The view counts towards the popularity
+     * of its title.
+     *
+     * @param id                 The ID of the news item to retrieve.
+     * @param pageSizeComments   Number of comments to retrieve per page.
+     * @param numberPageComments Page number of comments to retrieve.
+     * @param fields             Requested fields; comments are not fetched unless they are requested.
+     * @return Mono containing ResponseEntity with NewsResponse and associated comments.
+     */
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> get(Long id, int pageSizeComments, int numberPageComments,
+                                                  FieldsProjection fields) {
+        return call(() -> getWithComments(NEWS_ID_URL, id, fields, () -> commentPageFallback.reuseOrFetch(
+                new CommentPageFallback.PageKey(id, false, pageSizeComments, numberPageComments),
+                () -> commentService.getCommentsByIdNews(id, pageSizeComments, numberPageComments)).block()))
+                .doOnNext(response -> titleSuggester.view(response.getBody()));
+    }
+
+    /**
+     * Retrieves a specific archived news item, fetching its comments concurrently.
+     *
+     * @param id                 The ID of the news item to retrieve from the archive.
+     * @param pageSizeComments   Number of comments to retrieve per page.
+     * @param numberPageComments Page number of comments to retrieve.
+     * @param fields             Requested fields; comments are not fetched unless they are requested.
+     * @return Mono containing ResponseEntity with NewsResponse and associated comments from the archive.
+     */
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments,
+                                                             FieldsProjection fields) {
+        return call(() -> getWithComments(NEWS_ARCHIVE_ID_URL, id, fields, () -> commentPageFallback.reuseOrFetch(
+                new CommentPageFallback.PageKey(id, true, pageSizeComments, numberPageComments),
+                () -> commentService.getCommentsByNewsIdFromArchive(id, pageSizeComments, numberPageComments)).block()));
+    }
+
+    /**
+     * Retrieves a paginated list of all news items. Large pages are fetched as concurrent smaller pages.
+     *
+     * @param pageSize   Number of news items to retrieve per page.
+     * @param numberPage Page number of news items to retrieve.
+     * @param fields     Requested fields of each news item.
+     * @return Mono containing ResponseEntity with a paginated list of NewsResponse objects.
+     */
+    @Override
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage,
+                                                                        FieldsProjection fields) {
+        return chunkedPageFetcher.fetch(pageSize, numberPage,
+                        (size, number) -> call(() -> getPage(NEWS_URL, size, number, fields)))
+                .doOnNext(response -> titleSuggester.putAll(response.getBody()));
+    }
+
+    /**
+     * Retrieves a paginated list of all archived news items.
+     *
+     * @param pageSize   Number of archived news items to retrieve per page.
+     * @param numberPage Page number of archived news items to retrieve.
+     * @param fields     Requested fields of each news item.
+     * @return Mono containing ResponseEntity with a paginated list of NewsResponse objects from the archive.
+     */
+    @Override
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage,
+                                                                                   FieldsProjection fields) {
+        return call(() -> getPage(NEWS_ARCHIVE_URL, pageSize, numberPage, fields));
+    }
+
+    /**
+     * Creates a new news item.
+     *
+     * @param newsDto The NewsRequest object containing details of the news item to create.
+     * @param user    The caller.
+     * @return Mono containing ResponseEntity with the created NewsResponse.
+     */
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> create(NewsRequest newsDto, UserContext user) {
+        return call(() -> {
+            NewsResponse news = jsonCodec.readNews(restClient.post()
+                    .uri(NEWS_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(toModifyNewsRequest(newsDto, user))
+                    .exchange((request, response) -> readBody(response.getStatusCode(),
+                            response.getBody().readAllBytes())));
+            ownershipCache.remember(OwnershipCache.Kind.NEWS, news.id(), user.uuid());
+            newsSearchIndex.put(news);
+            titleSuggester.put(news);
+            return ResponseEntity.ok().body(news);
+        });
+    }
+
+    /**
+     * Updates an existing news item if it belongs to the caller.
+     *
+     * @param id      The ID of the news item to update.
+     * @param newsDto The NewsRequest object containing updated details of the news item.
+     * @param user    The caller.
+     * @return Mono containing ResponseEntity with the updated NewsResponse.
+     */
+    @CachePutById
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> update(Long id, NewsRequest newsDto, UserContext user) {
+        return call(() -> {
+            checkOwner(id, user);
+            try {
+                NewsResponse news = jsonCodec.readNews(restClient.put()
+                        .uri(NEWS_ID_URL, id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(toModifyNewsRequest(newsDto, user))
+                        .exchange((request, response) -> readBody(response.getStatusCode(),
+                                response.getBody().readAllBytes())));
+                newsSearchIndex.put(news);
+                titleSuggester.put(news);
+                return ResponseEntity.ok().body(news);
+            } catch (DownstreamResponseException e) {
+                ownershipCache.forget(OwnershipCache.Kind.NEWS, id);
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Archives a news item if it belongs to the caller, then archives associated comments once it is archived.
+     *
+     * @param id   The ID of the news item to archive.
+     * @param user The caller.
+     * @return Mono containing ResponseEntity with Void.
+     */
+    @EvictById
+    @Override
+    public Mono<ResponseEntity<Void>> archive(Long id, UserContext user) {
+        return call(() -> {
+            archiveNews(id, user);
+            commentService.archiveByNewsId(id).block();
+            return ResponseEntity.status(HttpStatus.OK).build();
+        });
+    }
+
+    /**
+     * Archives a news item by updating its status, leaving its comments to the caller.
+     *
+     * @param id   The ID of the news item to archive.
+     * @param user The caller, who has to be the author of the news item.
+     * @return Mono containing ResponseEntity with Void.
+     */
+    @EvictById
+    @Override
+    public Mono<ResponseEntity<Void>> archiveWithoutComments(Long id, UserContext user) {
+        return call(() -> {
+            archiveNews(id, user);
+            return ResponseEntity.status(HttpStatus.OK).build();
+        });
+    }
+
+    /**
+     * Searches for news items based on the provided search criteria, in the search index once it is built.
+     *
+     * @param searchValue The value to search for in news items.
+     * @param offset      The offset for paginated results.
+     * @param limit       The limit on the number of results to retrieve.
+     * @return Mono containing ResponseEntity with a list of NewsResponse objects.
+     */
+    @Override
+    public Mono<ResponseEntity<List<NewsResponse>>> search(String searchValue, Integer offset, Integer limit) {
+        List<NewsResponse> found = newsSearchIndex.search(searchValue, offset, limit);
+        if (found != null) {
+            return Mono.just(ResponseEntity.ok().body(found));
+        }
+        return call(() -> ResponseEntity.ok().body(jsonCodec.readNewsList(get(uriBuilder ->
+                uriBuilder.path(NEWS_SEARCH_URL)
+                        .queryParam(SEARCH_PARAM, searchValue)
+                        .queryParam(OFFSET_PARAM, offset)
+                        .queryParam(LIMIT_PARAM, limit)
+                        .build()))));
+    }
+
+    /**
+     * Fetches a news item and, if requested, its comments page on a forked subtask. The partial response marker
+     * of a replaced comments page is copied to the response.
+     *
+     * @param path     News URL template.
+     * @param id       The ID of the news item.
+     * @param fields   Requested fields.
+     * @param comments Blocking call fetching the comments page.
+     * @return ResponseEntity with NewsResponse and associated comments.
+     */
+    private ResponseEntity<NewsResponse> getWithComments(
+            String path,
+            Long id,
+            FieldsProjection fields,
+            Callable<ResponseEntity<PaginationResponse<CommentResponse>>> comments) {
+        if (!fields.includes(COMMENTS_FIELD)) {
+            return ResponseEntity.ok().body(jsonCodec.readNews(get(uriBuilder -> uriBuilder.path(path).build(id))));
+        }
+        Future<ResponseEntity<PaginationResponse<CommentResponse>>> commentsTask = forkExecutor.submit(comments);
+        try {
+            NewsResponse news = jsonCodec.readNews(get(uriBuilder -> uriBuilder.path(path).build(id)));
+            ResponseEntity<PaginationResponse<CommentResponse>> commentsResponse = join(commentsTask);
+            if (commentsResponse == null) {
+                return ResponseEntity.ok().body(news);
+            }
+            if (commentsResponse.getBody() != null) {
+                news = news.withComments(commentsResponse.getBody());
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            String partial = commentsResponse.getHeaders().getFirst(CommentPageFallback.PARTIAL_HEADER);
+            if (partial != null) {
+                response.header(CommentPageFallback.PARTIAL_HEADER, partial);
+            }
+            return response.body(news);
+        } finally {
+            commentsTask.cancel(true);
+        }
+    }
+
+    private ResponseEntity<PaginationResponse<NewsResponse>> getPage(String path, int pageSize, int numberPage,
+                                                                     FieldsProjection fields) {
+        return ResponseEntity.ok().body(jsonCodec.readNewsPage(get(uriBuilder ->
+                uriBuilder.path(path)
+                        .queryParam(PAGE_SIZE_PARAM, pageSize)
+                        .queryParam(NUMBER_PAGE_PARAM, numberPage)
+                        .queryParamIfPresent(FieldsProjection.FIELDS_PARAM, downstreamFields(fields))
+                        .build())));
+    }
+
+    private void archiveNews(Long id, UserContext user) {
+        checkOwner(id, user);
+        try {
+            restClient.patch()
+                    .uri(NEWS_ID_URL, id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .exchange((request, response) -> readBody(response.getStatusCode(),
+                            response.getBody().readAllBytes()));
+            newsSearchIndex.remove(id);
+            titleSuggester.remove(id);
+        } finally {
+            ownershipCache.forget(OwnershipCache.Kind.NEWS, id);
+        }
+    }
+
+    /**
+     * Throws AccessDeniedException unless the news item was created by the caller,
+     * reading the news item unless its author is cached.
+     */
+    private void checkOwner(Long id, UserContext user) {
+        UUID owner = ownershipCache.find(OwnershipCache.Kind.NEWS, id);
+        if (owner == null) {
+            ModifyNewsRequest news = restClient.get()
+                    .uri(NEWS_ID_URL, id)
+                    .retrieve()
+                    .body(ModifyNewsRequest.class);
+            if (news == null) {
+                throw new AccessDeniedException("No access rights");
+            }
+            owner = news.getUser().getUuid();
+            ownershipCache.remember(OwnershipCache.Kind.NEWS, id, owner);
+        }
+        if (!owner.equals(user.uuid())) {
+            throw new AccessDeniedException("No access rights");
+        }
+    }
+
+    private ModifyNewsRequest toModifyNewsRequest(NewsRequest newsDto, UserContext user) {
+        return ModifyNewsRequest.builder()
+                .title(newsDto.title())
+                .text(newsDto.text())
+                .user(new UserRequest(user.uuid(), user.userName()))
+                .build();
+    }
+
+    private byte[] get(Function<UriBuilder, URI> uriFunction) {
+        return restClient.get()
+                .uri(uriFunction)
+                .exchange((request, response) -> readBody(response.getStatusCode(), response.getBody().readAllBytes()));
+    }
+
+    /**
+     * Returns the body of a successful response, otherwise rethrows the downstream error.
+     *
+     * @param statusCode Status of the downstream response.
+     * @param body       Body of the downstream response.
+     * @return The body.
+     */
+    private byte[] readBody(HttpStatusCode statusCode, byte[] body) {
+        if (statusCode.is2xxSuccessful()) {
+            return body;
+        }
+        throw new DownstreamResponseException(jsonCodec.readIncorrectData(body), HttpStatus.resolve(statusCode.value()));
+    }
+
+    /**
+     * Resolves the 'fields' query parameter sent to the 'news-service'.
+     *
+     * @param fields Requested fields.
+     * @return Optional with the parameter value, empty if forwarding is disabled or every field is requested.
+     */
+    private Optional<String> downstreamFields(FieldsProjection fields) {
+        return forwardFields ? fields.asQueryParam() : Optional.empty();
+    }
+
+    /**
+     * Runs blocking code on the executor and exposes its result as Mono.
+     */
+    private <T> Mono<T> call(Callable<T> callable) {
+        return Mono.fromCallable(callable).subscribeOn(scheduler);
+    }
+
+    /**
+     * Waits for a forked subtask, rethrowing its failure as is.
+     */
+    private static <T> T join(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a subtask");
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.exceptionhandlerstarter.exception.AccessDeniedException;
+import ru.clevertec.news.deadline.DeadlineExceededException;
+import ru.clevertec.news.entity.dto.BulkItem;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Resolves a list of ids with single-item lookups, at most 'bulk.concurrency' at a time, so the lookups go through
+ * the caching decorators of the services where they are enabled (the 'prod' profile) and only the misses reach the
+ * downstream services; without them every id is one downstream call. Duplicate ids are looked up once.
+ * Every id gets an item in the order of the request: the value, or the error of its lookup, so one missing item
+ * does not fail the others.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class BulkFetcher {
+
+    private final int concurrency;
+
+    public BulkFetcher(@Value("${bulk.concurrency:8}") int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Looks up the items of the ids concurrently.
+     *
+     * @param ids    Requested ids.
+     * @param lookup Lookup of a single item.
+     * @param <T>    Type of the items.
+     * @return Mono containing ResponseEntity with an item per requested id, in the order of the ids.
+     */
+    public <T> Mono<ResponseEntity<List<BulkItem<T>>>> fetch(List<Long> ids,
+                                                             Function<Long, Mono<ResponseEntity<T>>> lookup) {
+        return Flux.fromIterable(new LinkedHashSet<>(ids))
+                .flatMap(id -> fetchOne(id, lookup), concurrency)
+                .collectMap(BulkItem::id)
+                .map(items -> ResponseEntity.ok().body(inRequestOrder(ids, items)));
+    }
+
+    private <T> Mono<BulkItem<T>> fetchOne(Long id, Function<Long, Mono<ResponseEntity<T>>> lookup) {
+        return Mono.defer(() -> lookup.apply(id))
+                .map(response -> new BulkItem<>(id, response.getStatusCode().value(), response.getBody(), null))
+                .defaultIfEmpty(failed(id, HttpStatus.NOT_FOUND, new IncorrectData("NotFoundException",
+                        "Item " + id + " not found", String.valueOf(HttpStatus.NOT_FOUND.value()))))
+                .onErrorResume(e -> Mono.just(failed(id, e)));
+    }
+
+    private static <T> List<BulkItem<T>> inRequestOrder(List<Long> ids, Map<Long, BulkItem<T>> items) {
+        return ids.stream()
+                .map(items::get)
+                .toList();
+    }
+
+    static <T> BulkItem<T> failed(Long id, Throwable error) {
+        if (error instanceof DownstreamResponseException downstream && downstream.getStatus() != null) {
+            return failed(id, downstream.getStatus(), downstream.getIncorrectData());
+        }
+        if (error instanceof AccessDeniedException) {
+            return failed(id, HttpStatus.FORBIDDEN, new IncorrectData(error.getClass().getSimpleName(),
+                    error.getMessage(), String.valueOf(HttpStatus.FORBIDDEN.value())));
+        }
+        if (error instanceof DeadlineExceededException deadlineExceeded) {
+            return failed(id, HttpStatus.GATEWAY_TIMEOUT, deadlineExceeded.toIncorrectData());
+        }
+        return failed(id, HttpStatus.BAD_GATEWAY, new IncorrectData(error.getClass().getSimpleName(),
+                error.getMessage(), String.valueOf(HttpStatus.BAD_GATEWAY.value())));
+    }
+
+    private static <T> BulkItem<T> failed(Long id, HttpStatus status, IncorrectData error) {
+        return new BulkItem<>(id, status.value(), null, error);
+    }
+}
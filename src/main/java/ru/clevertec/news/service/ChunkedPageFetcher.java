@@ -0,0 +1,141 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static ru.clevertec.news.codec.StreamingPageDecoder.limitExceeded;
+
+/**
+ * Splits a large page request into several smaller downstream page requests that are issued concurrently
+ * and reassembled in order into a single page.
+ * <p>
+ * The items of a page of size {@code P} with number {@code N} are read from the downstream pages of the
+ * configured chunk size that cover them, and the first and last chunk are sliced to the requested range.
+ * Fetching stops at the first short chunk, the end of the data. The number of pages is computed from the
+ * number of items, taken from the last downstream chunk, which is requested too if the page does not cover it.
+ * A page may hold at most 'page.streaming.max-items' items, the same limit as a page decoded in the streaming
+ * mode, and a larger page is rejected without any downstream request. The chunk size is kept above
+ * 'page.streaming.threshold', so every chunk is itself decoded in the streaming mode.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class ChunkedPageFetcher {
+
+    private final boolean enabled;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxItems;
+
+    public ChunkedPageFetcher(@Value("${page.chunking.enabled:true}") boolean enabled,
+                              @Value("${page.chunking.chunk-size:500}") int chunkSize,
+                              @Value("${page.chunking.parallelism:4}") int parallelism,
+                              @Value("${page.streaming.max-items:5000}") int maxItems) {
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxItems = maxItems;
+    }
+
+    /**
+     * Fetches the page either with a single call or as concurrently fetched chunks. The merged page keeps the
+     * status and headers of the first chunk.
+     *
+     * @param pageSize     Requested page size.
+     * @param numberPage   Requested page number, starting from 1.
+     * @param pageFunction Fetches one downstream page by size and number.
+     * @param <T>          Type of the page element.
+     * @return Mono with the reassembled page, or an error with the 413 status if the page holds more than
+     * 'page.streaming.max-items' items.
+     */
+    public <T> Mono<ResponseEntity<PaginationResponse<T>>> fetch(
+            int pageSize,
+            int numberPage,
+            BiFunction<Integer, Integer, Mono<ResponseEntity<PaginationResponse<T>>>> pageFunction) {
+        if (pageSize > maxItems) {
+            return Mono.error(limitExceeded("Page contains more than " + maxItems + " items"));
+        }
+        if (!enabled || pageSize <= chunkSize) {
+            return pageFunction.apply(pageSize, numberPage);
+        }
+        long from = (long) (numberPage - 1) * pageSize;
+        long firstChunk = from / chunkSize;
+        int chunks = (int) ((from + pageSize + chunkSize - 1) / chunkSize - firstChunk);
+        int offset = (int) (from - firstChunk * chunkSize);
+
+        return Flux.range(0, chunks)
+                .flatMapSequential(chunk -> pageFunction.apply(chunkSize, (int) (firstChunk + chunk + 1)), parallelism)
+                .takeUntil(this::isLastChunk)
+                .collectList()
+                .filter(responses -> !responses.isEmpty())
+                .flatMap(responses -> countItems(responses, firstChunk, pageFunction)
+                        .map(countItems -> merge(responses, pageSize, numberPage, offset, countItems)));
+    }
+
+    private <T> boolean isLastChunk(ResponseEntity<PaginationResponse<T>> response) {
+        return size(response) < chunkSize;
+    }
+
+    private static <T> int size(ResponseEntity<PaginationResponse<T>> response) {
+        PaginationResponse<T> page = response.getBody();
+        return page == null || page.content() == null ? 0 : page.content().size();
+    }
+
+    /**
+     * Counts the items of the downstream collection from the size of its last chunk. If the fetched chunks do not
+     * reach it, the last chunk is requested; should that fail, the smallest count possible is assumed, so no page
+     * that cannot exist is reported.
+     */
+    private <T> Mono<Long> countItems(
+            List<ResponseEntity<PaginationResponse<T>>> responses,
+            long firstChunk,
+            BiFunction<Integer, Integer, Mono<ResponseEntity<PaginationResponse<T>>>> pageFunction) {
+        long lastFetched = firstChunk + responses.size();
+        ResponseEntity<PaginationResponse<T>> last = responses.get(responses.size() - 1);
+        if (isLastChunk(last)) {
+            return Mono.just((lastFetched - 1) * chunkSize + size(last));
+        }
+        int countChunkPages = 0;
+        for (ResponseEntity<PaginationResponse<T>> response : responses) {
+            if (response.getBody() != null) {
+                countChunkPages = Math.max(countChunkPages, response.getBody().countPage());
+            }
+        }
+        if (lastFetched >= countChunkPages) {
+            return Mono.just(lastFetched * chunkSize);
+        }
+        long beforeLastChunk = (long) (countChunkPages - 1) * chunkSize;
+        return pageFunction.apply(chunkSize, countChunkPages)
+                .map(response -> beforeLastChunk + Math.max(1, size(response)))
+                .onErrorResume(e -> Mono.empty())
+                .defaultIfEmpty(beforeLastChunk + 1);
+    }
+
+    private <T> ResponseEntity<PaginationResponse<T>> merge(
+            List<ResponseEntity<PaginationResponse<T>>> responses, int pageSize, int numberPage, int offset,
+            long countItems) {
+        List<T> content = new ArrayList<>();
+        for (ResponseEntity<PaginationResponse<T>> response : responses) {
+            PaginationResponse<T> page = response.getBody();
+            if (page != null && page.content() != null) {
+                content.addAll(page.content());
+            }
+        }
+        List<T> sliced = content.subList(Math.min(offset, content.size()),
+                Math.min(offset + pageSize, content.size()));
+        int countPage = (int) ((countItems + pageSize - 1) / pageSize);
+        ResponseEntity<PaginationResponse<T>> first = responses.get(0);
+        return ResponseEntity.status(first.getStatusCode())
+                .headers(first.getHeaders())
+                .body(new PaginationResponse<>(numberPage, countPage, new ArrayList<>(sliced)));
+    }
+}
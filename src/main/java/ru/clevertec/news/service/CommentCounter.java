@@ -0,0 +1,287 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.FieldsProjection;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Number of active comments per news item, shown as NewsResponse.commentsCount.
+ * A count is seeded lazily by the first news view of the item, from a comments page of size one whose countPage
+ * is the number of comments, and adjusted in place by the comments created and archived through the gateway.
+ * Concurrent views of an item share one seed. Only a view asking for 'commentsCount' explicitly waits for the seed;
+ * a view of the default fields starts it in the background and shows the count from the next view on.
+ * Comments created or archived while a count is being seeded are added to the seeded count. List pages show the
+ * counts known, without a request per item. Counts are reseeded after 'comments.counter.ttl' to correct the changes
+ * made past the gateway. At most 'comments.counter.max-entries' items are counted: every insert drops the expired
+ * counts first and then, while the counter is full, the counts seeded earliest.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class CommentCounter {
+
+    public static final String COMMENTS_COUNT_FIELD = "commentsCount";
+
+    private static final int FIRST_PAGE = 1;
+    private static final FieldsProjection ID_ONLY = FieldsProjection.of(List.of("id"));
+
+    private final ObjectProvider<CommentService> commentService;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Duration seedTimeout;
+    private final ConcurrentMap<Long, Count> counts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Mono<Long>> seeds = new ConcurrentHashMap<>();
+    // counts in the order they were seeded, which is also the order they expire in; entries of replaced counts
+    // are skipped when they are polled
+    private final Queue<Seeded> seeded = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Constructor for CommentCounter.
+     *
+     * @param commentService Service seeding the counts, resolved lazily as it adjusts the counts itself.
+     * @param enabled        Whether comments are counted.
+     * @param maxEntries     Maximum number of counted news items.
+     * @param ttl            Time after which a count is seeded again.
+     * @param seedTimeout    Time a news view waits for the seed of a count before it is served without the count.
+     */
+    public CommentCounter(ObjectProvider<CommentService> commentService,
+                          @Value("${comments.counter.enabled:true}") boolean enabled,
+                          @Value("${comments.counter.max-entries:100000}") int maxEntries,
+                          @Value("${comments.counter.ttl:10m}") Duration ttl,
+                          @Value("${comments.counter.seed-timeout:300ms}") Duration seedTimeout) {
+        this.commentService = commentService;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.seedTimeout = seedTimeout;
+    }
+
+    /**
+     * Adds the comments count to a news view. An unknown count is seeded concurrently with the view, which waits
+     * for it only if 'commentsCount' is requested explicitly.
+     *
+     * @param id     The ID of the news item.
+     * @param news   News view.
+     * @param fields Requested fields; the count is not seeded unless it is requested.
+     * @return Mono containing ResponseEntity with the news item and its comments count, if known in time.
+     */
+    public Mono<ResponseEntity<NewsResponse>> withCount(Long id,
+                                                        Mono<ResponseEntity<NewsResponse>> news,
+                                                        FieldsProjection fields) {
+        if (!enabled || !fields.includes(COMMENTS_COUNT_FIELD)) {
+            return news;
+        }
+        return Mono.defer(() -> {
+            Long known = find(id);
+            if (known != null) {
+                return news.map(response -> withCount(response, known));
+            }
+            if (fields.isAll()) {
+                seed(id).subscribe();
+                return news;
+            }
+            return Mono.zip(news, seed(id).defaultIfEmpty(-1L), this::withCount);
+        });
+    }
+
+    /**
+     * Adds the comments count to a news view if it is requested and known, without seeding it.
+     *
+     * @param response News view.
+     * @param fields   Requested fields.
+     * @return ResponseEntity with the news item and its comments count, where known.
+     */
+    public ResponseEntity<NewsResponse> withKnownCount(ResponseEntity<NewsResponse> response,
+                                                       FieldsProjection fields) {
+        NewsResponse news = response.getBody();
+        if (!enabled || news == null || !fields.includes(COMMENTS_COUNT_FIELD)) {
+            return response;
+        }
+        Long count = find(news.id());
+        return count == null ? response : withCount(response, count);
+    }
+
+    private ResponseEntity<NewsResponse> withCount(ResponseEntity<NewsResponse> response, long count) {
+        return response.getBody() == null || count < 0
+                ? response
+                : ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(response.getBody().withCommentsCount(count));
+    }
+
+    /**
+     * Adds the known comments counts to the items of a news page.
+     *
+     * @param response News page.
+     * @return ResponseEntity with the news page whose items carry their comments counts, where known.
+     */
+    public ResponseEntity<PaginationResponse<NewsResponse>> withKnownCounts(
+            ResponseEntity<PaginationResponse<NewsResponse>> response) {
+        PaginationResponse<NewsResponse> page = response.getBody();
+        if (!enabled || page == null || page.content() == null || counts.isEmpty()) {
+            return response;
+        }
+        List<NewsResponse> content = page.content().stream()
+                .map(news -> {
+                    Long count = find(news.id());
+                    return count == null ? news : news.withCommentsCount(count);
+                })
+                .toList();
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .body(new PaginationResponse<>(page.pageNumber(), page.countPage(), content));
+    }
+
+    /**
+     * Returns the comments count of a news item, if it is known.
+     *
+     * @param id The ID of the news item.
+     * @return Comments count, or null if it is not known.
+     */
+    public Long find(Long id) {
+        if (id == null) {
+            return null;
+        }
+        Count count = counts.get(id);
+        if (count == null || count.seeding()) {
+            return null;
+        }
+        if (System.nanoTime() - count.seededAt() > ttlNanos) {
+            counts.remove(id, count);
+            return null;
+        }
+        return count.value();
+    }
+
+    /**
+     * Counts a comment created for a news item.
+     *
+     * @param id The ID of the news item.
+     */
+    public void increment(Long id) {
+        adjust(id, 1);
+    }
+
+    /**
+     * Uncounts an archived comment of a news item.
+     *
+     * @param id The ID of the news item.
+     */
+    public void decrement(Long id) {
+        adjust(id, -1);
+    }
+
+    /**
+     * Uncounts every comment of a news item, after its comments are archived.
+     *
+     * @param id The ID of the news item.
+     */
+    public void reset(Long id) {
+        if (id != null) {
+            insert(id, new Count(0, System.nanoTime(), false));
+        }
+    }
+
+    /**
+     * Adds the delta to a known count, or to the deltas collected while the count is seeded; a seeding count may
+     * go below zero until the seed is added.
+     */
+    private void adjust(Long id, long delta) {
+        if (id != null) {
+            counts.computeIfPresent(id, (key, count) -> count.seeding()
+                    ? new Count(count.value() + delta, count.seededAt(), true)
+                    : new Count(Math.max(0, count.value() + delta), count.seededAt(), false));
+        }
+    }
+
+    /**
+     * Returns the seed of a count in flight, starting it if there is none; it is dropped once it completes.
+     */
+    private Mono<Long> seed(Long id) {
+        return seeds.computeIfAbsent(id, key -> Mono.defer(() -> fetch(key))
+                .doFinally(signal -> seeds.remove(key))
+                .cache());
+    }
+
+    private Mono<Long> fetch(Long id) {
+        Count seeding = new Count(0, System.nanoTime(), true);
+        if (counts.putIfAbsent(id, seeding) == null) {
+            seeded.add(new Seeded(id, seeding.seededAt()));
+            evict();
+        }
+        return commentService.getObject().getCommentsByIdNews(id, 1, FIRST_PAGE, ID_ONLY)
+                .timeout(seedTimeout)
+                .mapNotNull(ResponseEntity::getBody)
+                .map(page -> complete(id, page.countPage()))
+                // a failed seed leaves the count out, the next view seeds it again
+                .doOnError(e -> abandon(id))
+                .doOnCancel(() -> abandon(id))
+                .onErrorResume(e -> Mono.empty());
+    }
+
+    private void abandon(Long id) {
+        counts.computeIfPresent(id, (key, count) -> count.seeding() ? null : count);
+    }
+
+    /**
+     * Adds the seeded value to the deltas collected meanwhile. A count completed by a concurrent seed or reset
+     * is kept, as it already holds those deltas.
+     */
+    private long complete(Long id, long value) {
+        long now = System.nanoTime();
+        Count completed = counts.compute(id, (key, count) -> count == null || count.seeding()
+                ? new Count(Math.max(0, value + (count == null ? 0 : count.value())), now, false)
+                : count);
+        if (completed.seededAt() == now) {
+            seeded.add(new Seeded(id, now));
+            evict();
+        }
+        return completed.value();
+    }
+
+    private void insert(Long id, Count count) {
+        counts.put(id, count);
+        seeded.add(new Seeded(id, count.seededAt()));
+        evict();
+    }
+
+    /**
+     * Drops the expired counts, then the earliest seeded ones while there are more than the maximum.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        Seeded oldest;
+        while ((oldest = seeded.peek()) != null
+                && (now - oldest.seededAt() > ttlNanos || counts.size() > maxEntries)) {
+            Seeded polled = seeded.poll();
+            if (polled != null) {
+                // a count seeded again or reset since has a later entry of its own
+                counts.computeIfPresent(polled.id(), (key, count) ->
+                        count.seededAt() == polled.seededAt() ? null : count);
+            }
+        }
+    }
+
+    /**
+     * Count of a news item; while it is seeding, the value holds the deltas collected until the seed completes.
+     */
+    private record Count(long value, long seededAt, boolean seeding) {
+    }
+
+    private record Seeded(Long id, long seededAt) {
+    }
+}
@@ -0,0 +1,185 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Degraded mode of news views: a comments page that does not arrive within the budget is replaced by the last page
+ * served for the same news item, page size and page number, or left out if there is none, so a news view is never
+ * slower than the 'news-service' plus the budget. The replacement carries the PARTIAL_HEADER marker, which the news
+ * services copy to their response. A zero budget disables the degraded mode. Pages served recently can also be
+ * reused as they are: by news views within 'news.comments.reuse-max-age', which is zero unless comments are
+ * prefetched, see {@link CommentPrefetcher}.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class CommentPageFallback {
+
+    public static final String PARTIAL_HEADER = "X-Partial-Response";
+    public static final String COMMENTS_MISSING = "comments-missing";
+    public static final String COMMENTS_STALE = "comments-stale";
+
+    private final Duration budget;
+    private final Duration reuseMaxAge;
+    private final Map<PageKey, StoredPage> stalePages;
+
+    /**
+     * Constructor for CommentPageFallback.
+     *
+     * @param budget        Longest wait for a comments page, zero to wait as long as the page takes.
+     * @param maxStalePages Number of last served pages kept as replacements, zero to leave late pages out.
+     * @param reuseMaxAge   Age under which news views reuse a served page instead of fetching it.
+     */
+    public CommentPageFallback(@Value("${news.comments.budget:0ms}") Duration budget,
+                               @Value("${news.comments.stale-pages:1000}") int maxStalePages,
+                               @Value("${news.comments.reuse-max-age:0s}") Duration reuseMaxAge) {
+        this.budget = budget;
+        this.reuseMaxAge = reuseMaxAge;
+        this.stalePages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PageKey, StoredPage> eldest) {
+                return size() > maxStalePages;
+            }
+        };
+    }
+
+    /**
+     * @return Whether late comments pages are replaced.
+     */
+    public boolean isEnabled() {
+        return !budget.isZero() && !budget.isNegative();
+    }
+
+    public Duration getBudget() {
+        return budget;
+    }
+
+    public Duration getReuseMaxAge() {
+        return reuseMaxAge;
+    }
+
+    /**
+     * @param key    Page requested.
+     * @param maxAge Maximum age of the page.
+     * @return Whether the page was served within the maximum age.
+     */
+    public boolean isRecent(PageKey key, Duration maxAge) {
+        return recent(key, maxAge) != null;
+    }
+
+    /**
+     * Comments page of a news view: the page served within the reuse age, otherwise the page fetched within
+     * the budget.
+     *
+     * @param key   Page requested.
+     * @param fetch Supplier of the Mono fetching the page.
+     * @return The recent page or the fetched one.
+     */
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> reuseOrFetch(
+            PageKey key,
+            Supplier<Mono<ResponseEntity<PaginationResponse<CommentResponse>>>> fetch) {
+        return recentOrFetch(key, reuseMaxAge, fetch);
+    }
+
+    /**
+     * Limits the wait for a comments page to the budget, remembering the pages that arrive in time.
+     *
+     * @param key      Page requested.
+     * @param comments Mono of the comments page.
+     * @return The page, or the replacement if the page misses the budget.
+     */
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> withinBudget(
+            PageKey key,
+            Mono<ResponseEntity<PaginationResponse<CommentResponse>>> comments) {
+        Mono<ResponseEntity<PaginationResponse<CommentResponse>>> remembered =
+                comments.doOnNext(response -> remember(key, response));
+        if (!isEnabled()) {
+            return remembered;
+        }
+        return remembered.timeout(budget, Mono.fromSupplier(() -> replacement(key)));
+    }
+
+    /**
+     * Reuses the page served for the key within the maximum age, otherwise fetches it within the budget.
+     *
+     * @param key    Page requested.
+     * @param maxAge Maximum age of a reused page.
+     * @param fetch  Supplier of the Mono fetching the page.
+     * @return The recent page or the fetched one.
+     */
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> recentOrFetch(
+            PageKey key,
+            Duration maxAge,
+            Supplier<Mono<ResponseEntity<PaginationResponse<CommentResponse>>>> fetch) {
+        PaginationResponse<CommentResponse> recent = recent(key, maxAge);
+        if (recent != null) {
+            return Mono.just(ResponseEntity.ok().body(recent));
+        }
+        return withinBudget(key, fetch.get());
+    }
+
+    /**
+     * Remembers a served comments page as the replacement of a later late one.
+     *
+     * @param key      Page requested.
+     * @param response Comments page.
+     */
+    public void remember(PageKey key, ResponseEntity<PaginationResponse<CommentResponse>> response) {
+        if (response.getBody() != null) {
+            synchronized (stalePages) {
+                stalePages.put(key, new StoredPage(response.getBody(), System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * @param key Page requested.
+     * @return The last page served for the key marked as stale, or an empty response marked as missing comments.
+     */
+    public ResponseEntity<PaginationResponse<CommentResponse>> replacement(PageKey key) {
+        StoredPage stale;
+        synchronized (stalePages) {
+            stale = stalePages.get(key);
+        }
+        if (stale == null) {
+            return ResponseEntity.ok().header(PARTIAL_HEADER, COMMENTS_MISSING).build();
+        }
+        return ResponseEntity.ok().header(PARTIAL_HEADER, COMMENTS_STALE).body(stale.page());
+    }
+
+    private PaginationResponse<CommentResponse> recent(PageKey key, Duration maxAge) {
+        if (maxAge.isZero() || maxAge.isNegative()) {
+            return null;
+        }
+        StoredPage stored;
+        synchronized (stalePages) {
+            stored = stalePages.get(key);
+        }
+        return stored != null && System.nanoTime() - stored.storedAt() <= maxAge.toNanos() ? stored.page() : null;
+    }
+
+    /**
+     * Comments page of a news item.
+     *
+     * @param newsId     The ID of the news item.
+     * @param archived   Whether the page comes from the archive.
+     * @param pageSize   Number of comments per page.
+     * @param numberPage Page number.
+     */
+    public record PageKey(long newsId, boolean archived, int pageSize, int numberPage) {
+    }
+
+    private record StoredPage(PaginationResponse<CommentResponse> page, long storedAt) {
+    }
+}
@@ -0,0 +1,152 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import ru.clevertec.news.admission.AdmissionController;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Speculative prefetch of the first comments page of the news items of a served news page, the page a news view
+ * requests next, into the pages of CommentPageFallback, where news views reuse them within
+ * 'news.comments.reuse-max-age'. Prefetching is background work that gives way to requests:
+ * it starts at most 'comments.prefetch.rate' fetches per second with at most 'comments.prefetch.max-in-flight'
+ * of them running, skips pages fetched recently, and while requests queue in admission control it starts nothing
+ * and cancels the running fetches. Nothing is prefetched while the reuse age is zero.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class CommentPrefetcher implements DisposableBean {
+
+    private static final int FIRST_PAGE = 1;
+
+    private final CommentService commentService;
+    private final CommentPageFallback commentPageFallback;
+    private final ObjectProvider<AdmissionController> admissionController;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int maxInFlight;
+    private final long intervalNanos;
+    private final Duration timeout;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private Disposable.Composite running = Disposables.composite();
+    private long nextStartAt;
+
+    /**
+     * Constructor for CommentPrefetcher.
+     *
+     * @param commentService      Service fetching the comments pages.
+     * @param commentPageFallback Pages served recently, where the prefetched pages go.
+     * @param admissionController Admission control of the requests, if enabled.
+     * @param enabled             Whether comments are prefetched.
+     * @param pageSize            Size of the prefetched pages, the default page size of the news views.
+     * @param rate                Maximum number of fetches started per second.
+     * @param maxInFlight         Maximum number of running fetches.
+     * @param timeout             Time after which a fetch is cancelled.
+     */
+    public CommentPrefetcher(CommentService commentService,
+                             CommentPageFallback commentPageFallback,
+                             ObjectProvider<AdmissionController> admissionController,
+                             @Value("${comments.prefetch.enabled:false}") boolean enabled,
+                             @Value("${comments.prefetch.page-size:15}") int pageSize,
+                             @Value("${comments.prefetch.rate:20}") double rate,
+                             @Value("${comments.prefetch.max-in-flight:2}") int maxInFlight,
+                             @Value("${comments.prefetch.timeout:2s}") Duration timeout) {
+        this.commentService = commentService;
+        this.commentPageFallback = commentPageFallback;
+        this.admissionController = admissionController;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.maxInFlight = maxInFlight;
+        this.intervalNanos = (long) (1_000_000_000 / rate);
+        this.timeout = timeout;
+        this.nextStartAt = System.nanoTime();
+    }
+
+    /**
+     * Starts the prefetch of the first comments pages of the items of a served news page, as far as the limits allow.
+     *
+     * @param page Served news page.
+     */
+    public void prefetch(PaginationResponse<NewsResponse> page) {
+        if (!enabled || commentPageFallback.getReuseMaxAge().isZero() || page == null || page.content() == null) {
+            return;
+        }
+        for (NewsResponse news : page.content()) {
+            if (isForegroundQueueing()) {
+                cancel();
+                return;
+            }
+            CommentPageFallback.PageKey key = new CommentPageFallback.PageKey(news.id(), false, pageSize, FIRST_PAGE);
+            if (commentPageFallback.isRecent(key, commentPageFallback.getReuseMaxAge())) {
+                continue;
+            }
+            if (!tryStart()) {
+                return;
+            }
+            start(key);
+        }
+    }
+
+    /**
+     * Cancels the running fetches.
+     */
+    public void cancel() {
+        Disposable.Composite cancelled;
+        synchronized (this) {
+            cancelled = running;
+            running = Disposables.composite();
+        }
+        cancelled.dispose();
+    }
+
+    @Override
+    public void destroy() {
+        cancel();
+    }
+
+    private void start(CommentPageFallback.PageKey key) {
+        Disposable.Swap fetch = Disposables.swap();
+        Disposable.Composite group;
+        synchronized (this) {
+            group = running;
+            group.add(fetch);
+        }
+        fetch.update(commentService.getCommentsByIdNews(key.newsId(), key.pageSize(), key.numberPage())
+                .timeout(timeout)
+                .doFinally(signal -> {
+                    inFlight.decrementAndGet();
+                    group.remove(fetch);
+                })
+                .subscribe(response -> commentPageFallback.remember(key, response), e -> {
+                    // a failed prefetch is dropped, the news view fetches the page itself
+                }));
+    }
+
+    /**
+     * Takes a slot of the rate and in-flight limits.
+     */
+    private synchronized boolean tryStart() {
+        long now = System.nanoTime();
+        if (now - nextStartAt < 0 || inFlight.get() >= maxInFlight) {
+            return false;
+        }
+        nextStartAt = now + intervalNanos;
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    private boolean isForegroundQueueing() {
+        AdmissionController controller = admissionController.getIfAvailable();
+        return controller != null && !controller.queueingDelay().isZero();
+    }
+}
@@ -1,7 +1,6 @@
 package ru.clevertec.news.service;
 
 
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
@@ -9,6 +8,8 @@ import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Mono;
 import ru.clevertec.news.entity.dto.CommentRequest;
 import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.util.FieldsProjection;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.util.List;
@@ -20,23 +21,46 @@ public interface CommentService {
 
     Mono<ResponseEntity<CommentResponse>> getCommentByNewsId(Long commentId, Long newsId);
 
-    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByNewsIdFromArchive(Long idNews, int pageSize, int numberPage);
+    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByNewsIdFromArchive(Long idNews, int pageSize,
+                                                                                             int numberPage,
+                                                                                             FieldsProjection fields);
+
+    default Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByNewsIdFromArchive(Long idNews,
+                                                                                                     int pageSize,
+                                                                                                     int numberPage) {
+        return getCommentsByNewsIdFromArchive(idNews, pageSize, numberPage, FieldsProjection.all());
+    }
 
 
     Mono<ResponseEntity<CommentResponse>> getFromArchive(Long id);
 
-    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(int pageSize, int numberPage);
+    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(int pageSize, int numberPage, FieldsProjection fields);
+
+    default Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(int pageSize, int numberPage) {
+        return getAll(pageSize, numberPage, FieldsProjection.all());
+    }
+
+    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(int pageSize, int numberPage,
+                                                                                FieldsProjection fields);
+
+    default Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(int pageSize, int numberPage) {
+        return getAllFromArchive(pageSize, numberPage, FieldsProjection.all());
+    }
 
-    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(int pageSize, int numberPage);
 
+    Mono<ResponseEntity<CommentResponse>> create(CommentRequest commentDto, UserContext user);
 
-    Mono<ResponseEntity<CommentResponse>> create(CommentRequest commentDto, HttpServletRequest request);
+    Mono<ResponseEntity<CommentResponse>> update(Long id, CommentRequest commentDto, UserContext user);
 
-    Mono<ResponseEntity<CommentResponse>> update(Long id, CommentRequest commentDto, HttpServletRequest request);
+    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByIdNews(Long idNews, int pageSize, int numberPage,
+                                                                                  FieldsProjection fields);
 
-    Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByIdNews(Long idNews, int pageSize, int numberPage);
+    default Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByIdNews(Long idNews, int pageSize,
+                                                                                          int numberPage) {
+        return getCommentsByIdNews(idNews, pageSize, numberPage, FieldsProjection.all());
+    }
 
-    Mono<ResponseEntity<Void>> archive(Long id, HttpServletRequest request);
+    Mono<ResponseEntity<Void>> archive(Long id, UserContext user);
 
     Mono<ResponseEntity<Void>> archiveByNewsId(Long newsId);
 
@@ -1,10 +1,8 @@
 package ru.clevertec.news.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
@@ -15,16 +13,22 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
 import ru.clevertec.exceptionhandlerstarter.exception.AccessDeniedException;
-import ru.clevertec.exceptionhandlerstarter.exception.MicroserviceResponseException;
-import ru.clevertec.exceptionhandlerstarter.exception.ParsJsonException;
 import ru.clevertec.loggingstarter.annotation.Loggable;
+import ru.clevertec.news.cache.CachePutById;
+import ru.clevertec.news.cache.CachedById;
+import ru.clevertec.news.cache.EvictById;
+import ru.clevertec.news.codec.JsonCodec;
+import ru.clevertec.news.codec.StreamingPageDecoder;
 import ru.clevertec.news.entity.dto.CommentRequest;
 import ru.clevertec.news.entity.dto.CommentResponse;
 import ru.clevertec.news.entity.dto.ModifyCommentRequest;
+import ru.clevertec.news.entity.dto.UserContext;
 import ru.clevertec.news.entity.dto.UserRequest;
+import ru.clevertec.news.util.FieldsProjection;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -58,14 +62,56 @@ public class CommentServiceImpl implements CommentService {
     private final WebClient.Builder webClientBuilder;
 
     /**
-     * ObjectMapper for handling JSON serialization and deserialization.
+     * Codec with prebuilt readers for the JSON received from downstream services.
      */
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
+
+    /**
+     * Decoder for pages above the streaming threshold.
+     */
+    private final StreamingPageDecoder streamingPageDecoder;
+
+    /**
+     * Splits large page requests into concurrent downstream calls.
+     */
+    private final ChunkedPageFetcher chunkedPageFetcher;
+
+    /**
+     * Whether the 'fields' projection is forwarded to the 'comment-service'.
+     */
+    private final boolean forwardFields;
+
+    /**
+     * Comments counts of the news items, adjusted by the comments created and archived here.
+     */
+    private final CommentCounter commentCounter;
+
+    /**
+     * Authors of the comments, checked before updates and archiving.
+     */
+    private final OwnershipCache ownershipCache;
+
+    /**
+     * Live comment streams, which get the comments created here.
+     */
+    private final CommentStreams commentStreams;
 
     public CommentServiceImpl(@Qualifier("webClientBuilderCommentsUrl") WebClient.Builder webClientBuilder,
-                              ObjectMapper objectMapper) {
+                              JsonCodec jsonCodec,
+                              StreamingPageDecoder streamingPageDecoder,
+                              ChunkedPageFetcher chunkedPageFetcher,
+                              @Value("${projection.forward-downstream:false}") boolean forwardFields,
+                              CommentCounter commentCounter,
+                              OwnershipCache ownershipCache,
+                              CommentStreams commentStreams) {
         this.webClientBuilder = webClientBuilder;
-        this.objectMapper = objectMapper;
+        this.jsonCodec = jsonCodec;
+        this.streamingPageDecoder = streamingPageDecoder;
+        this.chunkedPageFetcher = chunkedPageFetcher;
+        this.forwardFields = forwardFields;
+        this.commentCounter = commentCounter;
+        this.ownershipCache = ownershipCache;
+        this.commentStreams = commentStreams;
     }
 
     /**
@@ -74,6 +120,7 @@ public class CommentServiceImpl implements CommentService {
      * @param id The ID of the comment to retrieve.
      * @return Mono containing ResponseEntity with the requested CommentResponse.
      */
+    @CachedById
     @Override
     public Mono<ResponseEntity<CommentResponse>> get(Long id) {
         return webClientBuilder.build().get()
@@ -107,20 +154,23 @@ public class CommentServiceImpl implements CommentService {
      * @param idNews     The ID of the news item.
      * @param pageSize   Number of comments to retrieve per page.
      * @param numberPage Page number of comments to retrieve.
+     * @param fields     Requested fields of each comment.
      * @return Mono containing ResponseEntity with PaginationResponse of CommentResponse.
      */
     @Override
     public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByNewsIdFromArchive(Long idNews,
                                                                                                     int pageSize,
-                                                                                                    int numberPage) {
+                                                                                                    int numberPage,
+                                                                                                    FieldsProjection fields) {
         return webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(COMMENTS_ARCHIVE_NEWS_ID_URL)
                                 .queryParam(PAGE_SIZE_PARAM, pageSize)
                                 .queryParam(NUMBER_PAGE_PARAM, numberPage)
+                                .queryParamIfPresent(FieldsProjection.FIELDS_PARAM, downstreamFields(fields))
                                 .build(idNews)
                 )
-                .exchangeToMono(this::getResponseEntityMono);
+                .exchangeToMono(response -> getResponseEntityMono(response, pageSize));
     }
 
     /**
@@ -143,18 +193,21 @@ public class CommentServiceImpl implements CommentService {
      *
      * @param pageSize   Number of comments to retrieve per page.
      * @param numberPage Page number of comments to retrieve.
+     * @param fields     Requested fields of each comment.
      * @return Mono containing ResponseEntity with PaginationResponse of CommentResponse.
      */
     @Override
-    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(int pageSize, int numberPage) {
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAll(int pageSize, int numberPage,
+                                                                           FieldsProjection fields) {
         return webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(COMMENTS_URL)
                                 .queryParam(PAGE_SIZE_PARAM, pageSize)
                                 .queryParam(NUMBER_PAGE_PARAM, numberPage)
+                                .queryParamIfPresent(FieldsProjection.FIELDS_PARAM, downstreamFields(fields))
                                 .build()
                 )
-                .exchangeToMono(this::getResponseEntityMono);
+                .exchangeToMono(response -> getResponseEntityMono(response, pageSize));
     }
 
     /**
@@ -162,18 +215,21 @@ public class CommentServiceImpl implements CommentService {
      *
      * @param pageSize   Number of comments to retrieve per page.
      * @param numberPage Page number of comments to retrieve.
+     * @param fields     Requested fields of each comment.
      * @return Mono containing ResponseEntity with PaginationResponse of CommentResponse from the archive.
      */
     @Override
-    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(int pageSize, int numberPage) {
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getAllFromArchive(int pageSize, int numberPage,
+                                                                                      FieldsProjection fields) {
         return webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(COMMENTS_ARCHIVE_URL)
                                 .queryParam(PAGE_SIZE_PARAM, pageSize)
                                 .queryParam(NUMBER_PAGE_PARAM, numberPage)
+                                .queryParamIfPresent(FieldsProjection.FIELDS_PARAM, downstreamFields(fields))
                                 .build()
                 )
-                .exchangeToMono(this::getResponseEntityMono);
+                .exchangeToMono(response -> getResponseEntityMono(response, pageSize));
     }
 
     /**
@@ -183,9 +239,9 @@ public class CommentServiceImpl implements CommentService {
      * @return Mono containing ResponseEntity with the created CommentResponse.
      */
     @Override
-    public Mono<ResponseEntity<CommentResponse>> create(CommentRequest commentDto, HttpServletRequest request) {
-        UUID userUuid = UUID.fromString(request.getHeader("X-User-UUID"));
-        String userName = request.getHeader("X-User-Name");
+    public Mono<ResponseEntity<CommentResponse>> create(CommentRequest commentDto, UserContext user) {
+        UUID userUuid = user.uuid();
+        String userName = user.userName();
         ModifyCommentRequest modifyCommentRequest = ModifyCommentRequest.builder()
                 .text(commentDto.text())
                 .newsId(commentDto.newsId())
@@ -199,7 +255,14 @@ public class CommentServiceImpl implements CommentService {
                 )
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(modifyCommentRequest)
-                .exchangeToMono(getClientResponseMonoFunction());
+                .exchangeToMono(getClientResponseMonoFunction())
+                .doOnNext(response -> {
+                    commentCounter.increment(commentDto.newsId());
+                    if (response.getBody() != null) {
+                        ownershipCache.remember(OwnershipCache.Kind.COMMENT, response.getBody().id(), userUuid);
+                        commentStreams.publish(response.getBody());
+                    }
+                });
     }
 
     /**
@@ -209,34 +272,24 @@ public class CommentServiceImpl implements CommentService {
      * @param commentDto The CommentRequest object containing updated details of the comment.
      * @return Mono containing ResponseEntity with the updated CommentResponse.
      */
+    @CachePutById
     @Override
-    public Mono<ResponseEntity<CommentResponse>> update(Long id, CommentRequest commentDto, HttpServletRequest request) {
-        return webClientBuilder.build().get()
-                .uri(uriBuilder -> uriBuilder.path(COMMENTS_ID_URL)
-                        .build(id))
-                .retrieve()
-                .bodyToMono(ModifyCommentRequest.class)
-                .flatMap(commentRequest -> {
-                    UUID userUuid = UUID.fromString(request.getHeader("X-User-UUID"));
-                    String userName = request.getHeader("X-User-Name");
-
-                    if (!commentRequest.getUser().getUuid().equals(userUuid)) {
-                        return Mono.error(new AccessDeniedException("No access rights"));
-                    }
+    public Mono<ResponseEntity<CommentResponse>> update(Long id, CommentRequest commentDto, UserContext user) {
+        ModifyCommentRequest modifyCommentRequest = ModifyCommentRequest.builder()
+                .text(commentDto.text())
+                .newsId(commentDto.newsId())
+                .user(new UserRequest(user.uuid(), user.userName()))
+                .build();
 
-                    ModifyCommentRequest modifyCommentRequest = ModifyCommentRequest.builder()
-                            .text(commentDto.text())
-                            .newsId(commentDto.newsId())
-                            .user(new UserRequest(userUuid, userName))
-                            .build();
-
-                    return webClientBuilder.build().put()
-                            .uri(uriBuilder -> uriBuilder.path(COMMENTS_ID_URL)
-                                    .build(id))
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue(modifyCommentRequest)
-                            .exchangeToMono(getClientResponseMonoFunction());
-                });
+        return checkOwner(id, user)
+                .flatMap(owner -> webClientBuilder.build().put()
+                        .uri(uriBuilder -> uriBuilder.path(COMMENTS_ID_URL)
+                                .build(id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(modifyCommentRequest)
+                        .exchangeToMono(getClientResponseMonoFunction()))
+                .doOnError(DownstreamResponseException.class,
+                        e -> ownershipCache.forget(OwnershipCache.Kind.COMMENT, id));
     }
 
     /**
@@ -245,39 +298,33 @@ public class CommentServiceImpl implements CommentService {
      * @param id The ID of the comment to archive.
      * @return Mono containing ResponseEntity with Void.
      */
+    @EvictById
     @Override
-    public Mono<ResponseEntity<Void>> archive(Long id, HttpServletRequest request) {
-
-        return webClientBuilder.build().get()
-                .uri(uriBuilder -> uriBuilder.path(COMMENTS_ID_URL)
-                        .build(id))
-                .retrieve()
-                .bodyToMono(ModifyCommentRequest.class)
-                .flatMap(commentRequest -> {
-                    UUID userUuid = UUID.fromString(request.getHeader("X-User-UUID"));
-                    if (!commentRequest.getUser().getUuid().equals(userUuid)) {
-                        return Mono.error(new AccessDeniedException("No access rights"));
-                    }
-                    return webClientBuilder.build().patch()
-                            .uri(uriBuilder ->
-                                    uriBuilder.path(COMMENTS_ID_URL)
-                                            .build(id)
-                            )
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .exchangeToMono(response -> {
-                                if (response.statusCode().is2xxSuccessful()) {
-                                    return response.bodyToMono(CommentResponse.class)
-                                            .then(Mono.fromCallable(() -> ResponseEntity.status(HttpStatus.OK).build()));
-                                } else {
-                                    return response.createException().handle((body, sink) -> {
-                                        IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
-                                        HttpStatusCode statusCode = body.getStatusCode();
-                                        sink.error(new MicroserviceResponseException(incorrectData,
-                                                HttpStatus.resolve(statusCode.value())));
-                                    });
-                                }
-                            });
-                });
+    public Mono<ResponseEntity<Void>> archive(Long id, UserContext user) {
+        return checkOwner(id, user)
+                .flatMap(owner -> webClientBuilder.build().patch()
+                        .uri(uriBuilder ->
+                                uriBuilder.path(COMMENTS_ID_URL)
+                                        .build(id)
+                        )
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .<ResponseEntity<Void>>exchangeToMono(response -> {
+                            if (response.statusCode().is2xxSuccessful()) {
+                                return response.bodyToMono(CommentResponse.class)
+                                        .doOnNext(comment -> commentCounter.decrement(comment.newsId()))
+                                        .then(Mono.fromCallable(() -> ResponseEntity.status(HttpStatus.OK).build()));
+                            } else {
+                                return response.createException().handle((body, sink) -> {
+                                    IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
+                                    HttpStatusCode statusCode = body.getStatusCode();
+                                    sink.error(new DownstreamResponseException(incorrectData,
+                                            HttpStatus.resolve(statusCode.value())));
+                                });
+                            }
+                        }))
+                .doOnNext(response -> ownershipCache.forget(OwnershipCache.Kind.COMMENT, id))
+                .doOnError(DownstreamResponseException.class,
+                        e -> ownershipCache.forget(OwnershipCache.Kind.COMMENT, id));
     }
 
     /**
@@ -295,7 +342,7 @@ public class CommentServiceImpl implements CommentService {
                                 .build(newsId)
                 )
                 .contentType(MediaType.APPLICATION_JSON)
-                .exchangeToMono(response -> {
+                .<ResponseEntity<Void>>exchangeToMono(response -> {
                     if (response.statusCode().is2xxSuccessful()) {
                         return response.bodyToMono(CommentResponse.class)
                                 .then(Mono.fromCallable(() -> ResponseEntity.status(HttpStatus.OK).build()));
@@ -303,31 +350,37 @@ public class CommentServiceImpl implements CommentService {
                         return response.createException().handle((body, sink) -> {
                             IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
                             HttpStatusCode statusCode = body.getStatusCode();
-                            sink.error(new MicroserviceResponseException(incorrectData,
+                            sink.error(new DownstreamResponseException(incorrectData,
                                     HttpStatus.resolve(statusCode.value())));
                         });
                     }
-                });
+                })
+                .doOnNext(response -> commentCounter.reset(newsId));
     }
 
     /**
      * Retrieves paginated comments associated with a news item.
+     * Large pages are fetched as concurrent smaller pages.
      *
      * @param idNews     The ID of the news item.
      * @param pageSize   Number of comments to retrieve per page.
      * @param numberPage Page number of comments to retrieve.
+     * @param fields     Requested fields of each comment.
      * @return Mono containing ResponseEntity with PaginationResponse of CommentResponse.
      */
     @Override
-    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByIdNews(Long idNews, int pageSize, int numberPage) {
-        return webClientBuilder.build().get()
+    public Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getCommentsByIdNews(Long idNews, int pageSize,
+                                                                                        int numberPage,
+                                                                                        FieldsProjection fields) {
+        return chunkedPageFetcher.fetch(pageSize, numberPage, (size, number) -> webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(COMMENTS_NEWS_ID_URL)
-                                .queryParam(PAGE_SIZE_PARAM, pageSize)
-                                .queryParam(NUMBER_PAGE_PARAM, numberPage)
+                                .queryParam(PAGE_SIZE_PARAM, size)
+                                .queryParam(NUMBER_PAGE_PARAM, number)
+                                .queryParamIfPresent(FieldsProjection.FIELDS_PARAM, downstreamFields(fields))
                                 .build(idNews)
                 )
-                .exchangeToMono(this::getResponseEntityMono);
+                .exchangeToMono(response -> getResponseEntityMono(response, size)));
     }
 
     /**
@@ -350,63 +403,77 @@ public class CommentServiceImpl implements CommentService {
                 )
                 .exchangeToMono(response -> {
                     if (response.statusCode().is2xxSuccessful()) {
-                        return response.bodyToMono(Object.class)
-                                .handle((body, sink) -> {
-                                    List<CommentResponse> responseList = null;
-                                    try {
-                                        String json = objectMapper.writeValueAsString(body);
-                                        responseList = objectMapper.readValue(json,
-                                                new TypeReference<List<CommentResponse>>() {
-                                                });
-                                    } catch (JsonProcessingException e) {
-                                        sink.error(new ParsJsonException("Json comment is invalid"));
-                                        return;
-                                    }
-                                    sink.next(ResponseEntity.ok().body(responseList));
-                                });
+                        return response.bodyToMono(byte[].class)
+                                .map(body -> ResponseEntity.ok().body(jsonCodec.readCommentList(body)));
                     } else {
                         return response.createException().handle((body, sink) -> {
                             IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
                             HttpStatusCode statusCode = body.getStatusCode();
-                            sink.error(new MicroserviceResponseException(incorrectData,
+                            sink.error(new DownstreamResponseException(incorrectData,
                                     HttpStatus.resolve(statusCode.value())));
                         });
                     }
                 });
     }
 
+    /**
+     * Resolves the 'fields' query parameter sent to the 'comment-service'.
+     *
+     * @param fields Requested fields.
+     * @return Optional with the parameter value, empty if forwarding is disabled or every field is requested.
+     */
+    private Optional<String> downstreamFields(FieldsProjection fields) {
+        return forwardFields ? fields.asQueryParam() : Optional.empty();
+    }
+
     /**
      * Handles the conversion of ClientResponse to Mono of ResponseEntity containing PaginationResponse of CommentResponse.
+     * Pages larger than the streaming threshold are decoded incrementally without aggregating the body.
      *
      * @param response The ClientResponse to be processed.
+     * @param pageSize The requested page size.
      * @return Mono of ResponseEntity containing PaginationResponse of CommentResponse.
      */
-    private Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getResponseEntityMono(ClientResponse response) {
+    private Mono<ResponseEntity<PaginationResponse<CommentResponse>>> getResponseEntityMono(ClientResponse response,
+                                                                                        int pageSize) {
         if (response.statusCode().is2xxSuccessful()) {
-            return response.bodyToMono(Object.class)
-                    .handle((body, sink) -> {
-                        PaginationResponse<CommentResponse> paginationResponse = null;
-                        try {
-                            String json = objectMapper.writeValueAsString(body);
-                            paginationResponse = objectMapper.readValue(json,
-                                    new TypeReference<PaginationResponse<CommentResponse>>() {
-                                    });
-                        } catch (JsonProcessingException e) {
-                            sink.error(new ParsJsonException("Json comment is invalid"));
-                            return;
-                        }
-                        sink.next(ResponseEntity.ok().body(paginationResponse));
-                    });
+            Mono<PaginationResponse<CommentResponse>> page = streamingPageDecoder.isLargePage(pageSize)
+                    ? streamingPageDecoder.decodeCommentPage(response.bodyToFlux(DataBuffer.class))
+                    : response.bodyToMono(byte[].class).map(jsonCodec::readCommentPage);
+            return page.map(body -> ResponseEntity.ok().body(body));
         } else {
             return response.createException().handle((body, sink) -> {
                 IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
                 HttpStatusCode statusCode = body.getStatusCode();
-                sink.error(new MicroserviceResponseException(incorrectData,
+                sink.error(new DownstreamResponseException(incorrectData,
                         HttpStatus.resolve(statusCode.value())));
             });
         }
     }
 
+    /**
+     * Emits the author of a comment if it is the caller, reading the comment unless its author is cached.
+     *
+     * @param id   The ID of the comment.
+     * @param user The caller.
+     * @return Mono containing the UUID of the author, or AccessDeniedException if it is not the caller.
+     */
+    private Mono<UUID> checkOwner(Long id, UserContext user) {
+        UUID cached = ownershipCache.find(OwnershipCache.Kind.COMMENT, id);
+        Mono<UUID> owner = cached != null
+                ? Mono.just(cached)
+                : webClientBuilder.build().get()
+                .uri(uriBuilder -> uriBuilder.path(COMMENTS_ID_URL)
+                        .build(id))
+                .retrieve()
+                .bodyToMono(ModifyCommentRequest.class)
+                .map(comment -> comment.getUser().getUuid())
+                .doOnNext(uuid -> ownershipCache.remember(OwnershipCache.Kind.COMMENT, id, uuid));
+        return owner.flatMap(uuid -> uuid.equals(user.uuid())
+                ? Mono.just(uuid)
+                : Mono.error(new AccessDeniedException("No access rights")));
+    }
+
     /**
      * Handles the conversion of ClientResponse to Mono of ResponseEntity containing CommentResponse.
      *
@@ -415,13 +482,13 @@ public class CommentServiceImpl implements CommentService {
     private Function<ClientResponse, Mono<ResponseEntity<CommentResponse>>> getClientResponseMonoFunction() {
         return response -> {
             if (response.statusCode().is2xxSuccessful()) {
-                return response.bodyToMono(CommentResponse.class)
-                        .map(body -> ResponseEntity.ok().body(body));
+                return response.bodyToMono(byte[].class)
+                        .map(body -> ResponseEntity.ok().body(jsonCodec.readComment(body)));
             } else {
                 return response.createException().handle((body, sink) -> {
                     IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
                     HttpStatusCode statusCode = body.getStatusCode();
-                    sink.error(new MicroserviceResponseException(incorrectData, HttpStatus.resolve(statusCode.value())));
+                    sink.error(new DownstreamResponseException(incorrectData, HttpStatus.resolve(statusCode.value())));
                 });
             }
         };
@@ -0,0 +1,197 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Live comments of the news items. All viewers of a news item share one hot stream, fed by the comments created
+ * through this gateway and by a single poll of the comment-service every 'comments.stream.poll-interval', which
+ * picks up the comments created elsewhere. The poll follows the last page of the comments, where comment-service
+ * lists the newest ones; its first result is taken as the baseline and not streamed. The stream and its poll stop
+ * when the last viewer leaves. Every viewer also gets a keep-alive right away, so the response is committed before
+ * the first comment, and then every 'comments.stream.heartbeat'. At most 'comments.stream.max-streams' news items
+ * are streamed at a time, as every one of them polls; viewers of another news item are rejected with 429 meanwhile.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class CommentStreams {
+
+    private static final int SEEN_IDS = 1024;
+    private static final String KEEP_ALIVE = "keep-alive";
+
+    private final ObjectProvider<CommentService> commentService;
+    private final Duration pollInterval;
+    private final int pageSize;
+    private final Duration heartbeat;
+    private final int maxStreams;
+    private final ConcurrentMap<Long, Stream> streams = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor for CommentStreams.
+     *
+     * @param commentService Service polling the comments, resolved lazily as it publishes the created comments.
+     * @param pollInterval   Interval of the poll of a streamed news item.
+     * @param pageSize       Size of the polled comment pages.
+     * @param heartbeat      Interval of the keep-alive events.
+     * @param maxStreams     Maximum number of news items streamed at a time.
+     */
+    public CommentStreams(ObjectProvider<CommentService> commentService,
+                          @Value("${comments.stream.poll-interval:10s}") Duration pollInterval,
+                          @Value("${comments.stream.page-size:50}") int pageSize,
+                          @Value("${comments.stream.heartbeat:15s}") Duration heartbeat,
+                          @Value("${comments.stream.max-streams:1000}") int maxStreams) {
+        this.commentService = commentService;
+        this.pollInterval = pollInterval;
+        this.pageSize = pageSize;
+        this.heartbeat = heartbeat;
+        this.maxStreams = maxStreams;
+    }
+
+    /**
+     * Streams the comments of a news item created from now on.
+     *
+     * @param newsId The ID of the news item.
+     * @return Flux of server-sent events with the new comments and keep-alives, or an error with the 429 status
+     * if the news item is not streamed yet and the maximum number of streams is reached.
+     */
+    public Flux<ServerSentEvent<CommentResponse>> stream(Long newsId) {
+        // checked before the stream is added, so concurrent viewers may exceed the maximum by a few streams
+        if (streams.size() >= maxStreams && !streams.containsKey(newsId)) {
+            return Flux.error(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many streamed news"));
+        }
+        Flux<ServerSentEvent<CommentResponse>> comments = streams.computeIfAbsent(newsId, Stream::new).comments
+                .map(comment -> ServerSentEvent.builder(comment)
+                        .id(String.valueOf(comment.id()))
+                        .build());
+        Flux<ServerSentEvent<CommentResponse>> keepAlive = Flux.interval(Duration.ZERO, heartbeat)
+                .map(tick -> ServerSentEvent.<CommentResponse>builder()
+                        .comment(KEEP_ALIVE)
+                        .build());
+        return Flux.merge(comments, keepAlive);
+    }
+
+    /**
+     * Publishes a comment created through this gateway to the viewers of its news item.
+     *
+     * @param comment The created comment.
+     */
+    public void publish(CommentResponse comment) {
+        if (comment == null || comment.id() == null || comment.newsId() == null) {
+            return;
+        }
+        Stream stream = streams.get(comment.newsId());
+        if (stream != null) {
+            stream.publish(comment);
+        }
+    }
+
+    /**
+     * Returns the number of news items being streamed.
+     *
+     * @return Number of news items with viewers.
+     */
+    public int activeStreams() {
+        return streams.size();
+    }
+
+    private final class Stream {
+
+        private final Long newsId;
+        private final Sinks.Many<CommentResponse> created = Sinks.many().multicast().directBestEffort();
+        private final Flux<CommentResponse> comments;
+        private final Map<Long, Boolean> seen = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > SEEN_IDS;
+            }
+        };
+        private boolean primed;
+        private long baseline;
+        private volatile int lastPage = 1;
+
+        private Stream(Long newsId) {
+            this.newsId = newsId;
+            this.comments = Flux.merge(created.asFlux(), poll())
+                    .doFinally(signal -> streams.remove(newsId, this))
+                    .share();
+        }
+
+        private synchronized void publish(CommentResponse comment) {
+            if (seen.put(comment.id(), Boolean.TRUE) == null) {
+                created.tryEmitNext(comment);
+            }
+        }
+
+        private Flux<CommentResponse> poll() {
+            return Flux.interval(Duration.ZERO, pollInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> pollOnce()
+                            // a failed poll is retried at the next tick
+                            .onErrorResume(e -> Flux.empty()), 1);
+        }
+
+        private Flux<CommentResponse> pollOnce() {
+            int page = lastPage;
+            return fetch(page)
+                    .flatMapMany(body -> {
+                        int countPage = Math.max(1, body.countPage());
+                        lastPage = countPage;
+                        List<CommentResponse> unseen = unseen(body.content());
+                        if (countPage == page) {
+                            return Flux.fromIterable(unseen);
+                        }
+                        return Flux.fromIterable(unseen)
+                                .concatWith(fetch(countPage).flatMapIterable(last -> unseen(last.content())));
+                    })
+                    .doOnComplete(this::prime);
+        }
+
+        private Mono<PaginationResponse<CommentResponse>> fetch(int page) {
+            return commentService.getObject().getCommentsByIdNews(newsId, pageSize, page)
+                    .mapNotNull(ResponseEntity::getBody);
+        }
+
+        private synchronized List<CommentResponse> unseen(List<CommentResponse> content) {
+            List<CommentResponse> unseen = new ArrayList<>();
+            if (content == null) {
+                return unseen;
+            }
+            for (CommentResponse comment : content) {
+                if (comment.id() == null) {
+                    continue;
+                }
+                if (!primed) {
+                    baseline = Math.max(baseline, comment.id());
+                } else if (comment.id() > baseline && seen.put(comment.id(), Boolean.TRUE) == null) {
+                    unseen.add(comment);
+                }
+            }
+            return unseen;
+        }
+
+        private synchronized void prime() {
+            primed = true;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ru.clevertec.news.service;
+
+import org.springframework.http.HttpStatus;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.exceptionhandlerstarter.exception.MicroserviceResponseException;
+
+/**
+ * MicroserviceResponseException of an error response of a downstream service that keeps the error body and status,
+ * so callers that report errors per item, like the bulk endpoints, can pass them on.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public class DownstreamResponseException extends MicroserviceResponseException {
+
+    private final transient IncorrectData incorrectData;
+    private final HttpStatus status;
+
+    public DownstreamResponseException(IncorrectData incorrectData, HttpStatus status) {
+        super(incorrectData, status);
+        this.incorrectData = incorrectData;
+        this.status = status;
+    }
+
+    public IncorrectData getIncorrectData() {
+        return incorrectData;
+    }
+
+    /**
+     * @return Status of the downstream response, null if it is not a standard one.
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,99 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.clevertec.loggingstarter.annotation.Loggable;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * News feed: a page of news with the first comments of every item, so clients render a feed with one request
+ * instead of a request per item. The comments of the items are fetched concurrently, at most 'feed.concurrency'
+ * at a time; first comment pages served within 'feed.comments-max-age' are reused. Comments pages that miss
+ * the budget of CommentPageFallback are replaced the same way as in news views, and the feed is marked with
+ * its PARTIAL_HEADER.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Service
+@Loggable
+public class NewsFeedService {
+
+    private static final int FIRST_PAGE = 1;
+
+    private final NewsService newsService;
+    private final CommentService commentService;
+    private final CommentPageFallback commentPageFallback;
+    private final int concurrency;
+    private final Duration commentsMaxAge;
+
+    public NewsFeedService(NewsService newsService,
+                           CommentService commentService,
+                           CommentPageFallback commentPageFallback,
+                           @Value("${feed.concurrency:8}") int concurrency,
+                           @Value("${feed.comments-max-age:30s}") Duration commentsMaxAge) {
+        this.newsService = newsService;
+        this.commentService = commentService;
+        this.commentPageFallback = commentPageFallback;
+        this.concurrency = concurrency;
+        this.commentsMaxAge = commentsMaxAge;
+    }
+
+    /**
+     * Retrieves a page of news with the first comments of every news item.
+     *
+     * @param pageSize        Number of news per page.
+     * @param numberPage      Page number.
+     * @param commentsPerItem Number of comments attached to every news item.
+     * @return Mono containing ResponseEntity with the page of news and their first comments.
+     */
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getFeed(int pageSize, int numberPage,
+                                                                         int commentsPerItem) {
+        return newsService.getAll(pageSize, numberPage)
+                .flatMap(response -> {
+                    PaginationResponse<NewsResponse> page = response.getBody();
+                    if (page == null || page.content() == null || commentsPerItem <= 0) {
+                        return Mono.just(response);
+                    }
+                    return Flux.fromIterable(page.content())
+                            .flatMapSequential(news -> withComments(news, commentsPerItem), concurrency)
+                            .collectList()
+                            .map(items -> toFeed(page, items));
+                });
+    }
+
+    private Mono<FeedItem> withComments(NewsResponse news, int commentsPerItem) {
+        CommentPageFallback.PageKey key =
+                new CommentPageFallback.PageKey(news.id(), false, commentsPerItem, FIRST_PAGE);
+        return commentPageFallback.recentOrFetch(key, commentsMaxAge,
+                        () -> commentService.getCommentsByIdNews(news.id(), commentsPerItem, FIRST_PAGE))
+                .map(comments -> new FeedItem(
+                        comments.getBody() == null ? news : news.withComments(comments.getBody()),
+                        comments.getHeaders().getFirst(CommentPageFallback.PARTIAL_HEADER)));
+    }
+
+    private static ResponseEntity<PaginationResponse<NewsResponse>> toFeed(PaginationResponse<NewsResponse> page,
+                                                                          List<FeedItem> items) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        items.stream()
+                .map(FeedItem::partial)
+                .filter(Objects::nonNull)
+                .findFirst()
+                .ifPresent(partial -> response.header(CommentPageFallback.PARTIAL_HEADER, partial));
+        List<NewsResponse> content = items.stream()
+                .map(FeedItem::news)
+                .toList();
+        return response.body(new PaginationResponse<>(page.pageNumber(), page.countPage(), content));
+    }
+
+    private record FeedItem(NewsResponse news, String partial) {
+    }
+}
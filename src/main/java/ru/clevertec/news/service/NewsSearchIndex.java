@@ -0,0 +1,642 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over the titles and texts of the news items, answering searches without calling the
+ * 'news-service'. The index is built by paging through all news items when the application starts, rebuilt in the
+ * background once it is older than 'news.search.index.max-age' and kept current with the news items created,
+ * updated and archived through this gateway. Every word of a search has to occur in a news item, the last one
+ * as a prefix while it is being typed (at most 'news.search.index.max-prefix-terms' completions); news items are
+ * ranked by the rarity of the words and how often they occur, title words counting three times, and then
+ * the news item indexed last first. Found news items are returned as the 'news-service' returns them, with their
+ * text, and the heap they take counts towards 'news.search.index.max-bytes' together with the words.
+ * Searches fall back to the 'news-service' while the index is not built, e.g. before the first build completes
+ * or when there are more than 'news.search.index.max-documents' news items or their index would take more than
+ * 'news.search.index.max-bytes' of heap. A failed build is retried after 'news.search.index.retry-backoff', doubled
+ * with every failure up to the maximum age; a corpus found too large, from the number of pages before it is paged
+ * through where possible, is checked again only after the maximum age.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class NewsSearchIndex implements DisposableBean {
+
+    private static final int FIRST_PAGE = 1;
+    private static final int TITLE_WEIGHT = 3;
+    private static final float SATURATION = 1.2f;
+    private static final int INITIAL_DOCUMENTS = 1024;
+    // estimated heap taken by a news item besides its title and text, an entry of a posting list, and a word with
+    // its posting list
+    private static final int DOCUMENT_BYTES = 96;
+    private static final int POSTING_BYTES = 8;
+    private static final int WORD_BYTES = 96;
+
+    private final ObjectProvider<NewsService> newsService;
+    private final boolean enabled;
+    private final int pageSize;
+    private final int maxDocuments;
+    private final long maxBytes;
+    private final int maxPrefixTerms;
+    private final long maxAgeNanos;
+    private final long retryBackoffNanos;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Disposable.Swap bootstrap = Disposables.swap();
+    private volatile Index index;
+    private volatile Index pending;
+    private volatile long builtAt;
+    private volatile long retryAt;
+    private int failures;
+
+    /**
+     * Constructor for NewsSearchIndex.
+     *
+     * @param newsService    Service paging through the news items, resolved lazily as it keeps the index current.
+     * @param enabled        Whether searches are answered from the index.
+     * @param pageSize       Size of the pages the index is built from.
+     * @param maxDocuments   Maximum number of indexed news items.
+     * @param maxBytes       Maximum estimated heap taken by the index.
+     * @param maxPrefixTerms Maximum number of words the last word of a search is completed to.
+     * @param maxAge         Age after which the index is rebuilt.
+     * @param retryBackoff   Delay before the first retry of a failed build.
+     */
+    public NewsSearchIndex(ObjectProvider<NewsService> newsService,
+                           @Value("${news.search.index.enabled:false}") boolean enabled,
+                           @Value("${news.search.index.page-size:500}") int pageSize,
+                           @Value("${news.search.index.max-documents:1000000}") int maxDocuments,
+                           @Value("${news.search.index.max-bytes:268435456}") long maxBytes,
+                           @Value("${news.search.index.max-prefix-terms:50}") int maxPrefixTerms,
+                           @Value("${news.search.index.max-age:30m}") Duration maxAge,
+                           @Value("${news.search.index.retry-backoff:10s}") Duration retryBackoff) {
+        this.newsService = newsService;
+        this.enabled = enabled;
+        this.pageSize = pageSize;
+        this.maxDocuments = maxDocuments;
+        this.maxBytes = maxBytes;
+        this.maxPrefixTerms = maxPrefixTerms;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.retryBackoffNanos = retryBackoff.toNanos();
+        this.retryAt = System.nanoTime();
+    }
+
+    /**
+     * Starts building the index from all news items in the background, unless it is being built already or
+     * a failed build is not due for a retry yet. A failed build leaves the previous index in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        if (!enabled || System.nanoTime() - retryAt < 0 || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        bootstrap.update(build(allNews()).subscribe(count -> failures = 0, this::backOff));
+    }
+
+    /**
+     * Rebuilds the index from the given news items, replacing the index once all of them are indexed.
+     *
+     * @param news News items to index.
+     * @return Mono containing the number of indexed news items, or IllegalStateException if the index is being built
+     * or there are too many news items.
+     */
+    public Mono<Integer> rebuild(Flux<NewsResponse> news) {
+        return Mono.defer(() -> rebuilding.compareAndSet(false, true)
+                ? build(news)
+                : Mono.error(new IllegalStateException("The search index is being built")));
+    }
+
+    /**
+     * Searches the index.
+     *
+     * @param searchValue The value to search for in news items.
+     * @param offset      The offset for paginated results.
+     * @param limit       The limit on the number of results to retrieve.
+     * @return List of the best ranked news items, or null if the search has to be answered by the 'news-service'.
+     */
+    public List<NewsResponse> search(String searchValue, Integer offset, Integer limit) {
+        if (!enabled) {
+            return null;
+        }
+        Index current = index;
+        if (current == null || System.nanoTime() - builtAt > maxAgeNanos) {
+            bootstrap();
+        }
+        if (current == null || searchValue == null || offset == null || limit == null || offset < 0 || limit < 0) {
+            return null;
+        }
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(words(searchValue)));
+        if (words.isEmpty()) {
+            return null;
+        }
+        boolean typing = Character.isLetterOrDigit(searchValue.charAt(searchValue.length() - 1));
+        return current.search(words, typing, offset, limit);
+    }
+
+    /**
+     * Indexes a created or updated news item, replacing its previous version.
+     *
+     * @param news The news item.
+     */
+    public void put(NewsResponse news) {
+        if (!enabled || news == null || news.id() == null) {
+            return;
+        }
+        Map<String, Integer> weights = weights(news);
+        Index current = index;
+        if (current != null && !current.put(news, weights, true)) {
+            // more news items than the index may hold: searches go to the 'news-service'
+            index = null;
+            retryAt = System.nanoTime() + maxAgeNanos;
+        }
+        Index building = pending;
+        if (building != null) {
+            building.put(news, weights, true);
+        }
+    }
+
+    /**
+     * Removes an archived news item from the index.
+     *
+     * @param id The ID of the news item.
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        Index current = index;
+        if (current != null) {
+            current.remove(id, true);
+        }
+        Index building = pending;
+        if (building != null) {
+            building.remove(id, true);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        bootstrap.dispose();
+    }
+
+    private Mono<Integer> build(Flux<NewsResponse> news) {
+        Index fresh = new Index();
+        pending = fresh;
+        return news
+                .<NewsResponse>handle((item, sink) -> {
+                    if (item.id() == null || fresh.put(item, weights(item), false)) {
+                        sink.next(item);
+                    } else {
+                        sink.error(tooLarge());
+                    }
+                })
+                .then(Mono.fromCallable(() -> {
+                    fresh.pinned = null;
+                    index = fresh;
+                    builtAt = System.nanoTime();
+                    return fresh.size();
+                }))
+                .doFinally(signal -> {
+                    pending = null;
+                    rebuilding.set(false);
+                });
+    }
+
+    /**
+     * Schedules the retry of a failed build: a corpus too large is checked again after the maximum age, other
+     * failures are retried after a backoff doubling with every failure.
+     */
+    private void backOff(Throwable e) {
+        long delay = maxAgeNanos;
+        if (!(e instanceof CorpusTooLargeException)) {
+            int doublings = Math.min(failures++, 30);
+            delay = Math.min(maxAgeNanos, retryBackoffNanos << doublings);
+        }
+        retryAt = System.nanoTime() + delay;
+    }
+
+    private Flux<NewsResponse> allNews() {
+        return page(FIRST_PAGE)
+                .flatMapMany(first -> {
+                    // the pages before the last one are full, so their number tells a corpus too large up front
+                    if ((long) (first.countPage() - FIRST_PAGE) * pageSize >= maxDocuments) {
+                        return Flux.error(tooLarge());
+                    }
+                    return Flux.range(FIRST_PAGE + 1, Math.max(0, first.countPage() - FIRST_PAGE))
+                            .concatMap(this::page)
+                            .startWith(first);
+                })
+                .flatMapIterable(page -> page.content() == null ? List.of() : page.content());
+    }
+
+    private CorpusTooLargeException tooLarge() {
+        return new CorpusTooLargeException("More than " + maxDocuments + " news items or " + maxBytes
+                + " bytes to index");
+    }
+
+    private Mono<PaginationResponse<NewsResponse>> page(int numberPage) {
+        return newsService.getObject().getAll(pageSize, numberPage)
+                .mapNotNull(ResponseEntity::getBody);
+    }
+
+    private static Map<String, Integer> weights(NewsResponse news) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String word : words(news.title())) {
+            weights.merge(word, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String word : words(news.text())) {
+            weights.merge(word, 1, Integer::sum);
+        }
+        return weights;
+    }
+
+    private static List<String> words(String value) {
+        List<String> words = new ArrayList<>();
+        if (value == null) {
+            return words;
+        }
+        int start = -1;
+        for (int i = 0; i <= value.length(); i++) {
+            boolean letter = i < value.length() && Character.isLetterOrDigit(value.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                words.add(value.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Snapshot of the index: the news items by ordinal, a removed one leaving a gap until the next compaction,
+     * and per word the ordinals of the news items containing it in ascending order with the weight of the word.
+     */
+    private final class Index {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final TreeMap<String, Postings> postings = new TreeMap<>();
+        private NewsResponse[] documents = new NewsResponse[INITIAL_DOCUMENTS];
+        private int[] costs = new int[INITIAL_DOCUMENTS];
+        private int size;
+        private int live;
+        private long bytes;
+
+        /**
+         * IDs of the news items changed while the index is being built, which the build must not overwrite.
+         */
+        private volatile Set<Long> pinned = ConcurrentHashMap.newKeySet();
+
+        private boolean put(NewsResponse news, Map<String, Integer> weights, boolean change) {
+            lock.writeLock().lock();
+            try {
+                Set<Long> changed = pinned;
+                if (changed != null) {
+                    if (!change && changed.contains(news.id())) {
+                        return true;
+                    }
+                    if (change) {
+                        changed.add(news.id());
+                    }
+                }
+                Integer previous = ordinals.get(news.id());
+                int cost = cost(news, weights);
+                long freed = previous == null ? 0 : costs[previous];
+                if (previous == null && live >= maxDocuments || bytes - freed + cost > maxBytes) {
+                    return false;
+                }
+                if (previous != null) {
+                    removeOrdinal(previous);
+                }
+                if (size == documents.length) {
+                    documents = Arrays.copyOf(documents, size * 2);
+                    costs = Arrays.copyOf(costs, size * 2);
+                }
+                int ordinal = size++;
+                documents[ordinal] = news.withComments(null).withCommentsCount(null);
+                costs[ordinal] = cost;
+                ordinals.put(news.id(), ordinal);
+                live++;
+                bytes += cost;
+                weights.forEach((word, weight) -> postings.computeIfAbsent(word, key -> new Postings())
+                        .add(ordinal, weight));
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(Long id, boolean change) {
+            lock.writeLock().lock();
+            try {
+                Set<Long> changed = pinned;
+                if (change && changed != null) {
+                    changed.add(id);
+                }
+                Integer ordinal = ordinals.remove(id);
+                if (ordinal != null) {
+                    removeOrdinal(ordinal);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private int size() {
+            lock.readLock().lock();
+            try {
+                return live;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Estimates the heap taken by a news item: its title, text and posting entries, and the words it adds.
+         */
+        private int cost(NewsResponse news, Map<String, Integer> weights) {
+            long cost = DOCUMENT_BYTES + 2L * (length(news.title()) + length(news.text()))
+                    + (long) POSTING_BYTES * weights.size();
+            for (String word : weights.keySet()) {
+                if (!postings.containsKey(word)) {
+                    cost += WORD_BYTES + 2L * word.length();
+                }
+            }
+            return (int) Math.min(Integer.MAX_VALUE, cost);
+        }
+
+        private void removeOrdinal(int ordinal) {
+            documents[ordinal] = null;
+            bytes -= costs[ordinal];
+            live--;
+            if (size - live > Math.max(INITIAL_DOCUMENTS, live)) {
+                compact();
+            }
+        }
+
+        /**
+         * Drops the gaps of the removed news items, keeping the ordinals in the same order.
+         */
+        private void compact() {
+            int[] moved = new int[size];
+            NewsResponse[] kept = new NewsResponse[Math.max(INITIAL_DOCUMENTS, live * 2)];
+            int[] keptCosts = new int[kept.length];
+            int next = 0;
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                NewsResponse news = documents[ordinal];
+                if (news == null) {
+                    moved[ordinal] = -1;
+                } else {
+                    moved[ordinal] = next;
+                    kept[next] = news;
+                    keptCosts[next] = costs[ordinal];
+                    ordinals.put(news.id(), next++);
+                }
+            }
+            Iterator<Postings> iterator = postings.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().move(moved) == 0) {
+                    iterator.remove();
+                }
+            }
+            documents = kept;
+            costs = keptCosts;
+            size = next;
+        }
+
+        private List<NewsResponse> search(List<String> words, boolean typing, int offset, int limit) {
+            lock.readLock().lock();
+            try {
+                Match[] matches = new Match[words.size()];
+                for (int i = 0; i < matches.length; i++) {
+                    String word = words.get(i);
+                    matches[i] = typing && i == matches.length - 1 ? prefixMatch(word) : exactMatch(word);
+                    if (matches[i] == null) {
+                        return List.of();
+                    }
+                }
+                int wanted = (int) Math.min((long) offset + limit, live);
+                if (wanted <= offset) {
+                    return List.of();
+                }
+                Arrays.sort(matches, (left, right) -> Integer.compare(left.size, right.size));
+                PriorityQueue<Hit> top = top(matches, wanted);
+                Hit[] hits = top.toArray(new Hit[0]);
+                Arrays.sort(hits, (left, right) -> compare(right, left.score, left.ordinal));
+                List<NewsResponse> result = new ArrayList<>(hits.length - Math.min(offset, hits.length));
+                for (int i = offset; i < hits.length; i++) {
+                    result.add(documents[hits[i].ordinal]);
+                }
+                return result;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Intersects the matches, walking the shortest one and seeking the others, and keeps the best hits.
+         */
+        private PriorityQueue<Hit> top(Match[] matches, int wanted) {
+            PriorityQueue<Hit> top = new PriorityQueue<>(wanted + 1, (left, right) -> compare(left, right.score,
+                    right.ordinal));
+            int[] positions = new int[matches.length];
+            Match lead = matches[0];
+            candidates:
+            for (int j = 0; j < lead.size; j++) {
+                int ordinal = lead.ordinals[j];
+                if (documents[ordinal] == null) {
+                    continue;
+                }
+                float score = lead.score(j);
+                for (int k = 1; k < matches.length; k++) {
+                    Match match = matches[k];
+                    int position = match.seek(positions[k], ordinal);
+                    positions[k] = position;
+                    if (position == match.size) {
+                        break candidates;
+                    }
+                    if (match.ordinals[position] != ordinal) {
+                        continue candidates;
+                    }
+                    score += match.score(position);
+                }
+                if (top.size() < wanted) {
+                    top.add(new Hit(score, ordinal));
+                } else if (compare(top.peek(), score, ordinal) < 0) {
+                    top.poll();
+                    top.add(new Hit(score, ordinal));
+                }
+            }
+            return top;
+        }
+
+        private Match exactMatch(String word) {
+            Postings match = postings.get(word);
+            return match == null ? null : new Match(match.ordinals, match.size, match.weights, idf(match.size), null);
+        }
+
+        /**
+         * Merges the postings of the words starting with the prefix into one match, summing the scores per news item.
+         */
+        private Match prefixMatch(String prefix) {
+            SortedMap<String, Postings> completions = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+            List<Postings> merged = new ArrayList<>();
+            int total = 0;
+            for (Postings completion : completions.values()) {
+                if (merged.size() == maxPrefixTerms) {
+                    break;
+                }
+                merged.add(completion);
+                total += completion.size;
+            }
+            if (merged.isEmpty()) {
+                return null;
+            }
+            if (merged.size() == 1) {
+                Postings match = merged.get(0);
+                return new Match(match.ordinals, match.size, match.weights, idf(match.size), null);
+            }
+            long[] packed = new long[total];
+            int n = 0;
+            for (Postings completion : merged) {
+                float idf = idf(completion.size);
+                for (int j = 0; j < completion.size; j++) {
+                    float score = idf * saturate(completion.weights[j]);
+                    packed[n++] = (long) completion.ordinals[j] << 32 | Float.floatToRawIntBits(score) & 0xFFFFFFFFL;
+                }
+            }
+            Arrays.sort(packed);
+            int[] ordinals = new int[total];
+            float[] scores = new float[total];
+            int size = 0;
+            for (long entry : packed) {
+                int ordinal = (int) (entry >>> 32);
+                float score = Float.intBitsToFloat((int) entry);
+                if (size > 0 && ordinals[size - 1] == ordinal) {
+                    scores[size - 1] += score;
+                } else {
+                    ordinals[size] = ordinal;
+                    scores[size++] = score;
+                }
+            }
+            return new Match(ordinals, size, null, 0, scores);
+        }
+
+        private float idf(int frequency) {
+            return (float) Math.log(1 + (Math.max(live, frequency) - frequency + 0.5) / (frequency + 0.5));
+        }
+    }
+
+    private static long length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private static float saturate(int weight) {
+        return weight / (weight + SATURATION);
+    }
+
+    /**
+     * Orders a hit against a score and ordinal: by score, then the news item indexed last first.
+     */
+    private static int compare(Hit hit, float score, int ordinal) {
+        int byScore = Float.compare(hit.score, score);
+        return byScore != 0 ? byScore : Integer.compare(hit.ordinal, ordinal);
+    }
+
+    private record Hit(float score, int ordinal) {
+    }
+
+    private static final class CorpusTooLargeException extends IllegalStateException {
+
+        private CorpusTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Ordinals of the news items containing a word, in ascending order, with the weight of the word in each.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[2];
+        private int[] weights = new int[2];
+        private int size;
+
+        private void add(int ordinal, int weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size++] = weight;
+        }
+
+        private int move(int[] moved) {
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                int ordinal = moved[ordinals[j]];
+                if (ordinal >= 0) {
+                    ordinals[kept] = ordinal;
+                    weights[kept++] = weights[j];
+                }
+            }
+            size = kept;
+            return size;
+        }
+    }
+
+    /**
+     * News items matching a word of a search with their scores, either computed from the weights or precomputed.
+     */
+    private record Match(int[] ordinals, int size, int[] weights, float idf, float[] scores) {
+
+        private float score(int position) {
+            return scores != null ? scores[position] : idf * saturate(weights[position]);
+        }
+
+        /**
+         * Returns the first position at or after 'from' whose ordinal is not below the given one, galloping ahead.
+         */
+        private int seek(int from, int ordinal) {
+            if (from >= size || ordinals[from] >= ordinal) {
+                return from;
+            }
+            int bound = 1;
+            while (from + bound < size && ordinals[from + bound] < ordinal) {
+                bound <<= 1;
+            }
+            int position = Arrays.binarySearch(ordinals, from + (bound >> 1), Math.min(from + bound + 1, size),
+                    ordinal);
+            return position >= 0 ? position : -position - 1;
+        }
+    }
+}
@@ -1,29 +1,54 @@
 package ru.clevertec.news.service;
 
 
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import reactor.core.publisher.Mono;
 import ru.clevertec.news.entity.dto.NewsRequest;
 import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.util.FieldsProjection;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.util.List;
 
 public interface NewsService {
 
-    Mono<ResponseEntity<NewsResponse>> get(Long id, int pageSizeComments, int numberPageComments);
+    Mono<ResponseEntity<NewsResponse>> get(Long id);
 
-    Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments);
+    Mono<ResponseEntity<NewsResponse>> get(Long id, int pageSizeComments, int numberPageComments,
+                                           FieldsProjection fields);
 
-    Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage);
+    default Mono<ResponseEntity<NewsResponse>> get(Long id, int pageSizeComments, int numberPageComments) {
+        return get(id, pageSizeComments, numberPageComments, FieldsProjection.all());
+    }
 
-    Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage);
+    Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments,
+                                                      FieldsProjection fields);
 
-    Mono<ResponseEntity<NewsResponse>> create(NewsRequest newsDto, HttpServletRequest request);
+    default Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments) {
+        return getFromArchive(id, pageSizeComments, numberPageComments, FieldsProjection.all());
+    }
 
-    Mono<ResponseEntity<NewsResponse>> update(Long id, NewsRequest newsDto, HttpServletRequest request);
+    Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage, FieldsProjection fields);
+
+    default Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage) {
+        return getAll(pageSize, numberPage, FieldsProjection.all());
+    }
+
+    Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage,
+                                                                             FieldsProjection fields);
+
+    default Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage) {
+        return getAllFromArchive(pageSize, numberPage, FieldsProjection.all());
+    }
+
+    Mono<ResponseEntity<NewsResponse>> create(NewsRequest newsDto, UserContext user);
+
+    Mono<ResponseEntity<NewsResponse>> update(Long id, NewsRequest newsDto, UserContext user);
+
+    Mono<ResponseEntity<Void>> archive(Long id, UserContext user);
+
+    Mono<ResponseEntity<Void>> archiveWithoutComments(Long id, UserContext user);
 
-    Mono<ResponseEntity<Void>> archive(Long id, HttpServletRequest request);
     Mono<ResponseEntity<List<NewsResponse>>> search(String searchValue, Integer offset, Integer limit);
 }
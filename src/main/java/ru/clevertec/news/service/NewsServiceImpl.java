@@ -1,10 +1,9 @@
 package ru.clevertec.news.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
@@ -15,18 +14,23 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
 import ru.clevertec.exceptionhandlerstarter.exception.AccessDeniedException;
-import ru.clevertec.exceptionhandlerstarter.exception.MicroserviceResponseException;
-import ru.clevertec.exceptionhandlerstarter.exception.ParsJsonException;
 import ru.clevertec.loggingstarter.annotation.Loggable;
+import ru.clevertec.news.cache.CachePutById;
+import ru.clevertec.news.cache.CachedById;
+import ru.clevertec.news.cache.EvictById;
+import ru.clevertec.news.codec.JsonCodec;
+import ru.clevertec.news.codec.StreamingPageDecoder;
 import ru.clevertec.news.entity.dto.CommentResponse;
-import ru.clevertec.news.entity.dto.ModifyCommentRequest;
 import ru.clevertec.news.entity.dto.ModifyNewsRequest;
 import ru.clevertec.news.entity.dto.NewsRequest;
 import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
 import ru.clevertec.news.entity.dto.UserRequest;
+import ru.clevertec.news.util.FieldsProjection;
 import ru.clevertec.news.util.PaginationResponse;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -40,6 +44,7 @@ import java.util.function.Function;
  */
 @Service
 @Loggable
+@ConditionalOnProperty(name = "news.service.mode", havingValue = "reactive", matchIfMissing = true)
 public class NewsServiceImpl implements NewsService {
 
     private static final String PAGE_SIZE_PARAM = "pageSize";
@@ -52,8 +57,7 @@ public class NewsServiceImpl implements NewsService {
     private static final String NEWS_ARCHIVE_URL = "/news/archive";
     private static final String NEWS_ID_URL = "/news/{id}";
     private static final String NEWS_SEARCH_URL = "/news/search";
-    private static final String X_USER_UUID = "X-User-UUID";
-    private static final String X_USER_NAME = "X-User-Name";
+    private static final String COMMENTS_FIELD = "comments";
 
     /**
      * WebClient builder for making HTTP requests.
@@ -66,36 +70,110 @@ public class NewsServiceImpl implements NewsService {
     private final CommentService commentService;
 
     /**
-     * ObjectMapper for handling JSON serialization and deserialization.
+     * Codec with prebuilt readers for the JSON received from downstream services.
      */
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
+
+    /**
+     * Decoder for pages above the streaming threshold.
+     */
+    private final StreamingPageDecoder streamingPageDecoder;
+
+    /**
+     * Splits large page requests into concurrent downstream calls.
+     */
+    private final ChunkedPageFetcher chunkedPageFetcher;
+
+    /**
+     * Replaces comments pages that miss their budget.
+     */
+    private final CommentPageFallback commentPageFallback;
+
+    /**
+     * Whether the 'fields' projection is forwarded to the 'news-service'.
+     */
+    private final boolean forwardFields;
+
+    /**
+     * Authors of the news items, checked before updates and archiving.
+     */
+    private final OwnershipCache ownershipCache;
+
+    /**
+     * Index answering searches locally once it is built.
+     */
+    private final NewsSearchIndex newsSearchIndex;
+
+    /**
+     * Titles suggested for the search box, kept current with the news items paged through and changed.
+     */
+    private final TitleSuggester titleSuggester;
 
     public NewsServiceImpl(@Qualifier("webClientBuilderNewsUrl")WebClient.Builder webClientBuilder,
                            CommentService commentService,
-                           ObjectMapper objectMapper) {
+                           JsonCodec jsonCodec,
+                           StreamingPageDecoder streamingPageDecoder,
+                           ChunkedPageFetcher chunkedPageFetcher,
+                           CommentPageFallback commentPageFallback,
+                           @Value("${projection.forward-downstream:false}") boolean forwardFields,
+                           OwnershipCache ownershipCache,
+                           NewsSearchIndex newsSearchIndex,
+                           TitleSuggester titleSuggester) {
         this.webClientBuilder = webClientBuilder;
         this.commentService = commentService;
-        this.objectMapper = objectMapper;
+        this.jsonCodec = jsonCodec;
+        this.streamingPageDecoder = streamingPageDecoder;
+        this.chunkedPageFetcher = chunkedPageFetcher;
+        this.commentPageFallback = commentPageFallback;
+        this.forwardFields = forwardFields;
+        this.ownershipCache = ownershipCache;
+        this.newsSearchIndex = newsSearchIndex;
+        this.titleSuggester = titleSuggester;
     }
 
     /**
-     * Retrieves a specific news item along with its associated comments.
+     * Retrieves a specific news item without its comments.
+     *
+     * @param id The ID of the news item to retrieve.
+     * @return Mono containing ResponseEntity with the requested NewsResponse.
+     */
+    @CachedById
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> get(Long id) {
+        return webClientBuilder.build().get()
+                .uri(uriBuilder ->
+                        uriBuilder.path(NEWS_ID_URL)
+                                .build(id))
+                .exchangeToMono(getClientResponseMonoFunction());
+    }
+
+    /**
+     * Retrieves a specific news item along with its associated comments. The view counts towards the popularity
+     * of its title.
      *
      * @param id                 The ID of the news item to retrieve.
      * @param pageSizeComments   Number of comments to retrieve per page.
      * @param numberPageComments Page number of comments to retrieve.
+     * @param fields             Requested fields; comments are not fetched unless they are requested.
      * @return Mono containing ResponseEntity with NewsResponse and associated comments.
      */
-    public Mono<ResponseEntity<NewsResponse>> get(Long id, int pageSizeComments, int numberPageComments) {
+    @Override
+    public Mono<ResponseEntity<NewsResponse>> get(Long id, int pageSizeComments, int numberPageComments,
+                                                  FieldsProjection fields) {
 
         Mono<ResponseEntity<NewsResponse>> monoNews = webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(NEWS_ID_URL)
                                 .build(id))
-                .exchangeToMono(getClientResponseMonoFunction());
+                .exchangeToMono(getClientResponseMonoFunction())
+                .doOnNext(response -> titleSuggester.view(response.getBody()));
+        if (!fields.includes(COMMENTS_FIELD)) {
+            return monoNews;
+        }
 
-        Mono<ResponseEntity<PaginationResponse<CommentResponse>>> monoComments = commentService
-                .getCommentsByIdNews(id, pageSizeComments, numberPageComments);
+        Mono<ResponseEntity<PaginationResponse<CommentResponse>>> monoComments = commentPageFallback.reuseOrFetch(
+                new CommentPageFallback.PageKey(id, false, pageSizeComments, numberPageComments),
+                () -> commentService.getCommentsByIdNews(id, pageSizeComments, numberPageComments));
 
         return getZip(monoNews, monoComments);
     }
@@ -106,38 +184,48 @@ public class NewsServiceImpl implements NewsService {
      * @param id                 The ID of the news item to retrieve from the archive.
      * @param pageSizeComments   Number of comments to retrieve per page.
      * @param numberPageComments Page number of comments to retrieve.
+     * @param fields             Requested fields; comments are not fetched unless they are requested.
      * @return Mono containing ResponseEntity with NewsResponse and associated comments from the archive.
      */
     @Override
-    public Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments) {
+    public Mono<ResponseEntity<NewsResponse>> getFromArchive(Long id, int pageSizeComments, int numberPageComments,
+                                                             FieldsProjection fields) {
 
         Mono<ResponseEntity<NewsResponse>> monoNewsFromArchive = webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(NEWS_ARCHIVE_ID_URL)
                                 .build(id))
                 .exchangeToMono(getClientResponseMonoFunction());
-        Mono<ResponseEntity<PaginationResponse<CommentResponse>>> monoComments = commentService
-                .getCommentsByNewsIdFromArchive(id, pageSizeComments, numberPageComments);
+        if (!fields.includes(COMMENTS_FIELD)) {
+            return monoNewsFromArchive;
+        }
+        Mono<ResponseEntity<PaginationResponse<CommentResponse>>> monoComments = commentPageFallback.reuseOrFetch(
+                new CommentPageFallback.PageKey(id, true, pageSizeComments, numberPageComments),
+                () -> commentService.getCommentsByNewsIdFromArchive(id, pageSizeComments, numberPageComments));
 
         return getZip(monoNewsFromArchive, monoComments);
     }
 
     /**
-     * Retrieves a paginated list of all news items.
+     * Retrieves a paginated list of all news items. Large pages are fetched as concurrent smaller pages.
      *
      * @param pageSize   Number of news items to retrieve per page.
      * @param numberPage Page number of news items to retrieve.
+     * @param fields     Requested fields of each news item.
      * @return Mono containing ResponseEntity with a paginated list of NewsResponse objects.
      */
     @Override
-    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage) {
-        return webClientBuilder.build().get()
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAll(int pageSize, int numberPage,
+                                                                        FieldsProjection fields) {
+        return chunkedPageFetcher.fetch(pageSize, numberPage, (size, number) -> webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(NEWS_URL)
-                                .queryParam(PAGE_SIZE_PARAM, pageSize)
-                                .queryParam(NUMBER_PAGE_PARAM, numberPage)
+                                .queryParam(PAGE_SIZE_PARAM, size)
+                                .queryParam(NUMBER_PAGE_PARAM, number)
+                                .queryParamIfPresent(FieldsProjection.FIELDS_PARAM, downstreamFields(fields))
                                 .build())
-                .exchangeToMono(this::getResponseEntityMono);
+                .exchangeToMono(response -> getResponseEntityMono(response, size)))
+                .doOnNext(response -> titleSuggester.putAll(response.getBody()));
     }
 
     /**
@@ -145,17 +233,20 @@ public class NewsServiceImpl implements NewsService {
      *
      * @param pageSize   Number of archived news items to retrieve per page.
      * @param numberPage Page number of archived news items to retrieve.
+     * @param fields     Requested fields of each news item.
      * @return Mono containing ResponseEntity with a paginated list of NewsResponse objects from the archive.
      */
     @Override
-    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage) {
+    public Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getAllFromArchive(int pageSize, int numberPage,
+                                                                                   FieldsProjection fields) {
         return webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(NEWS_ARCHIVE_URL)
                                 .queryParam(PAGE_SIZE_PARAM, pageSize)
                                 .queryParam(NUMBER_PAGE_PARAM, numberPage)
+                                .queryParamIfPresent(FieldsProjection.FIELDS_PARAM, downstreamFields(fields))
                                 .build())
-                .exchangeToMono(this::getResponseEntityMono);
+                .exchangeToMono(response -> getResponseEntityMono(response, pageSize));
     }
 
     /**
@@ -165,9 +256,9 @@ public class NewsServiceImpl implements NewsService {
      * @return Mono containing ResponseEntity with the created NewsResponse.
      */
     @Override
-    public Mono<ResponseEntity<NewsResponse>> create(NewsRequest newsDto, HttpServletRequest request) {
-        UUID userUuid = UUID.fromString(request.getHeader(X_USER_UUID));
-        String userName = request.getHeader(X_USER_NAME);
+    public Mono<ResponseEntity<NewsResponse>> create(NewsRequest newsDto, UserContext user) {
+        UUID userUuid = user.uuid();
+        String userName = user.userName();
         ModifyNewsRequest modifyNewsRequest = ModifyNewsRequest.builder().
                 title(newsDto.title())
                 .text(newsDto.text())
@@ -181,7 +272,14 @@ public class NewsServiceImpl implements NewsService {
                 )
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(modifyNewsRequest)
-                .exchangeToMono(getClientResponseMonoFunction());
+                .exchangeToMono(getClientResponseMonoFunction())
+                .doOnNext(response -> {
+                    if (response.getBody() != null) {
+                        ownershipCache.remember(OwnershipCache.Kind.NEWS, response.getBody().id(), userUuid);
+                        newsSearchIndex.put(response.getBody());
+                        titleSuggester.put(response.getBody());
+                    }
+                });
     }
 
     /**
@@ -191,86 +289,110 @@ public class NewsServiceImpl implements NewsService {
      * @param newsDto The NewsRequest object containing updated details of the news item.
      * @return Mono containing ResponseEntity with the updated NewsResponse.
      */
+    @CachePutById
     @Override
-    public Mono<ResponseEntity<NewsResponse>> update(Long id, NewsRequest newsDto, HttpServletRequest request) {
+    public Mono<ResponseEntity<NewsResponse>> update(Long id, NewsRequest newsDto, UserContext user) {
+        ModifyNewsRequest modifyNewsRequest = ModifyNewsRequest.builder().
+                title(newsDto.title())
+                .text(newsDto.text())
+                .user(new UserRequest(user.uuid(), user.userName()))
+                .build();
 
-        return webClientBuilder.build().get()
-                .uri(uriBuilder -> uriBuilder.path(NEWS_ID_URL)
-                        .build(id))
-                .retrieve()
-                .bodyToMono(ModifyNewsRequest.class)
-                .flatMap(newsRequest -> {
-                    UUID userUuid = UUID.fromString(request.getHeader(X_USER_UUID));
-                    String userName = request.getHeader(X_USER_NAME);
-                    ModifyNewsRequest modifyNewsRequest = ModifyNewsRequest.builder().
-                            title(newsDto.title())
-                            .text(newsDto.text())
-                            .user(new UserRequest(userUuid, userName))
-                            .build();
-
-                    if (!newsRequest.getUser().getUuid().equals(userUuid)) {
-                        return Mono.error(new AccessDeniedException("No access rights"));
-                    }
-                    return webClientBuilder.build().put()
-                            .uri(uriBuilder ->
-                                    uriBuilder.path(NEWS_ID_URL)
-                                            .build(id)
-                            )
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue(modifyNewsRequest)
-                            .exchangeToMono(getClientResponseMonoFunction());
-                });
+        return checkOwner(id, user)
+                .flatMap(owner -> webClientBuilder.build().put()
+                        .uri(uriBuilder ->
+                                uriBuilder.path(NEWS_ID_URL)
+                                        .build(id)
+                        )
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(modifyNewsRequest)
+                        .exchangeToMono(getClientResponseMonoFunction()))
+                .doOnNext(response -> {
+                    newsSearchIndex.put(response.getBody());
+                    titleSuggester.put(response.getBody());
+                })
+                .doOnError(DownstreamResponseException.class,
+                        e -> ownershipCache.forget(OwnershipCache.Kind.NEWS, id));
     }
 
     /**
-     * Archives a news item by updating its status and archives associated comments.
+     * Archives a news item by updating its status, then archives associated comments once the news item is archived.
      *
      * @param id The ID of the news item to archive.
      * @return Mono containing ResponseEntity with Void.
      */
+    @EvictById
     @Override
-    public Mono<ResponseEntity<Void>> archive(Long id, HttpServletRequest request) {
+    public Mono<ResponseEntity<Void>> archive(Long id, UserContext user) {
+        return archiveWithoutComments(id, user)
+                .flatMap(news -> commentService.archiveByNewsId(id).thenReturn(news));
+    }
 
-        Mono<ResponseEntity<Void>> responseEntityMonoNews = webClientBuilder.build().get()
+    /**
+     * Archives a news item by updating its status, leaving its comments to the caller.
+     *
+     * @param id   The ID of the news item to archive.
+     * @param user The caller, who has to be the author of the news item.
+     * @return Mono containing ResponseEntity with Void.
+     */
+    @EvictById
+    @Override
+    public Mono<ResponseEntity<Void>> archiveWithoutComments(Long id, UserContext user) {
+        return checkOwner(id, user)
+                .flatMap(owner -> webClientBuilder.build().patch()
+                        .uri(uriBuilder ->
+                                uriBuilder
+                                        .path(NEWS_ID_URL)
+                                        .build(id)
+                        )
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .<ResponseEntity<Void>>exchangeToMono(response -> {
+                            if (response.statusCode().is2xxSuccessful()) {
+                                return response.bodyToMono(Void.class)
+                                        .then(Mono.fromCallable(() -> ResponseEntity.status(HttpStatus.OK).build()));
+                            } else {
+                                return response.createException().handle((body, sink) -> {
+                                    IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
+                                    HttpStatusCode statusCode = body.getStatusCode();
+                                    sink.error(new DownstreamResponseException(incorrectData,
+                                            HttpStatus.resolve(statusCode.value())));
+                                });
+                            }
+                        }))
+                .doOnNext(response -> {
+                    ownershipCache.forget(OwnershipCache.Kind.NEWS, id);
+                    newsSearchIndex.remove(id);
+                    titleSuggester.remove(id);
+                })
+                .doOnError(DownstreamResponseException.class,
+                        e -> ownershipCache.forget(OwnershipCache.Kind.NEWS, id));
+    }
+
+    /**
+     * Emits the author of a news item if it is the caller, reading the news item unless its author is cached.
+     *
+     * @param id   The ID of the news item.
+     * @param user The caller.
+     * @return Mono containing the UUID of the author, or AccessDeniedException if it is not the caller.
+     */
+    private Mono<UUID> checkOwner(Long id, UserContext user) {
+        UUID cached = ownershipCache.find(OwnershipCache.Kind.NEWS, id);
+        Mono<UUID> owner = cached != null
+                ? Mono.just(cached)
+                : webClientBuilder.build().get()
                 .uri(uriBuilder -> uriBuilder.path(NEWS_ID_URL)
                         .build(id))
                 .retrieve()
-                .bodyToMono(ModifyCommentRequest.class)
-                .flatMap(commentRequest -> {
-                    UUID userUuid = UUID.fromString(request.getHeader(X_USER_UUID));
-                    if (!commentRequest.getUser().getUuid().equals(userUuid)) {
-                        return Mono.error(new AccessDeniedException("No access rights"));
-                    }
-                    return webClientBuilder.build().patch()
-                            .uri(uriBuilder ->
-                                    uriBuilder
-                                            .path(NEWS_ID_URL)
-                                            .build(id)
-                            )
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .exchangeToMono(response -> {
-                                if (response.statusCode().is2xxSuccessful()) {
-                                    return response.bodyToMono(Void.class)
-                                            .then(Mono.fromCallable(() -> ResponseEntity.status(HttpStatus.OK).build()));
-                                } else {
-                                    return response.createException().handle((body, sink) -> {
-                                        IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
-                                        HttpStatusCode statusCode = body.getStatusCode();
-                                        sink.error(new MicroserviceResponseException(incorrectData,
-                                                HttpStatus.resolve(statusCode.value())));
-                                    });
-                                }
-                            });
-                });
-
-        Mono<ResponseEntity<Void>> responseEntityMonoComment = commentService.archiveByNewsId(id);
-
-        return Mono.zip(responseEntityMonoNews, responseEntityMonoComment)
-                .flatMap(chain -> Mono.just(chain.getT1()));
+                .bodyToMono(ModifyNewsRequest.class)
+                .map(news -> news.getUser().getUuid())
+                .doOnNext(uuid -> ownershipCache.remember(OwnershipCache.Kind.NEWS, id, uuid));
+        return owner.flatMap(uuid -> uuid.equals(user.uuid())
+                ? Mono.just(uuid)
+                : Mono.error(new AccessDeniedException("No access rights")));
     }
 
     /**
-     * Searches for news items based on the provided search criteria.
+     * Searches for news items based on the provided search criteria, in the search index once it is built.
      *
      * @param searchValue The value to search for in news items.
      * @param offset      The offset for paginated results.
@@ -279,6 +401,10 @@ public class NewsServiceImpl implements NewsService {
      */
     @Override
     public Mono<ResponseEntity<List<NewsResponse>>> search(String searchValue, Integer offset, Integer limit) {
+        List<NewsResponse> found = newsSearchIndex.search(searchValue, offset, limit);
+        if (found != null) {
+            return Mono.just(ResponseEntity.ok().body(found));
+        }
         return webClientBuilder.build().get()
                 .uri(uriBuilder ->
                         uriBuilder.path(NEWS_SEARCH_URL)
@@ -289,58 +415,49 @@ public class NewsServiceImpl implements NewsService {
                 )
                 .exchangeToMono(response -> {
                     if (response.statusCode().is2xxSuccessful()) {
-                        return response.bodyToMono(Object.class)
-                                .handle((body, sink) -> {
-                                    List<NewsResponse> responseList;
-                                    try {
-                                        String json = objectMapper.writeValueAsString(body);
-                                        responseList = objectMapper.readValue(json,
-                                                new TypeReference<List<NewsResponse>>() {
-                                                });
-                                    } catch (JsonProcessingException e) {
-                                        sink.error(new ParsJsonException("Json news is invalid"));
-                                        return;
-                                    }
-                                    sink.next(ResponseEntity.ok().body(responseList));
-                                });
+                        return response.bodyToMono(byte[].class)
+                                .map(body -> ResponseEntity.ok().body(jsonCodec.readNewsList(body)));
                     } else {
                         return response.createException().handle((body, sink) -> {
                             IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
                             HttpStatusCode statusCode = body.getStatusCode();
-                            sink.error(new MicroserviceResponseException(incorrectData,
+                            sink.error(new DownstreamResponseException(incorrectData,
                                     HttpStatus.resolve(statusCode.value())));
                         });
                     }
                 });
     }
 
+    /**
+     * Resolves the 'fields' query parameter sent to the 'news-service'.
+     *
+     * @param fields Requested fields.
+     * @return Optional with the parameter value, empty if forwarding is disabled or every field is requested.
+     */
+    private Optional<String> downstreamFields(FieldsProjection fields) {
+        return forwardFields ? fields.asQueryParam() : Optional.empty();
+    }
+
     /**
      * Handles the conversion of ClientResponse to Mono of ResponseEntity containing PaginationResponse of NewsResponse.
+     * Pages larger than the streaming threshold are decoded incrementally without aggregating the body.
      *
      * @param response The ClientResponse to be processed.
+     * @param pageSize The requested page size.
      * @return Mono of ResponseEntity containing PaginationResponse of NewsResponse.
      */
-    private Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getResponseEntityMono(ClientResponse response) {
+    private Mono<ResponseEntity<PaginationResponse<NewsResponse>>> getResponseEntityMono(ClientResponse response,
+                                                                                        int pageSize) {
         if (response.statusCode().is2xxSuccessful()) {
-            return response.bodyToMono(Object.class)
-                    .handle((body, sink) -> {
-                        PaginationResponse<NewsResponse> paginationResponse;
-                        try {
-                            String json = objectMapper.writeValueAsString(body);
-                            paginationResponse = objectMapper.readValue(json,
-                                    new TypeReference<PaginationResponse<NewsResponse>>() {
-                                    });
-                        } catch (JsonProcessingException e) {
-                            sink.error(new ParsJsonException("Json news is invalid"));
-                            return;
-                        }
-                        sink.next(ResponseEntity.ok().body(paginationResponse));
-                    });
+            Mono<PaginationResponse<NewsResponse>> page = streamingPageDecoder.isLargePage(pageSize)
+                    ? streamingPageDecoder.decodeNewsPage(response.bodyToFlux(DataBuffer.class))
+                    : response.bodyToMono(byte[].class).map(jsonCodec::readNewsPage);
+            return page.map(body -> ResponseEntity.ok().body(body));
         } else {
             return response.createException().handle((body, sink) -> {
                 IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
                 HttpStatusCode statusCode = body.getStatusCode();
-                sink.error(new MicroserviceResponseException(incorrectData,
+                sink.error(new DownstreamResponseException(incorrectData,
                         HttpStatus.resolve(statusCode.value())));
             });
         }
@@ -354,13 +471,13 @@ public class NewsServiceImpl implements NewsService {
     private Function<ClientResponse, Mono<ResponseEntity<NewsResponse>>> getClientResponseMonoFunction() {
         return response -> {
             if (response.statusCode().is2xxSuccessful()) {
-                return response.bodyToMono(NewsResponse.class)
-                        .map(body -> ResponseEntity.ok().body(body));
+                return response.bodyToMono(byte[].class)
+                        .map(body -> ResponseEntity.ok().body(jsonCodec.readNews(body)));
             } else {
                 return response.createException().handle((body, sink) -> {
                     IncorrectData incorrectData = body.getResponseBodyAs(IncorrectData.class);
                     HttpStatusCode statusCode = body.getStatusCode();
-                    sink.error(new MicroserviceResponseException(incorrectData,
+                    sink.error(new DownstreamResponseException(incorrectData,
                             HttpStatus.resolve(statusCode.value())));
                 });
             }
@@ -369,7 +486,8 @@ public class NewsServiceImpl implements NewsService {
 
     /**
      * Combines Mono of ResponseEntity of NewsResponse and Mono of ResponseEntity of PaginationResponse of CommentResponse
-     * into a single Mono of ResponseEntity of NewsResponse with associated comments.
+     * into a single Mono of ResponseEntity of NewsResponse with associated comments. The partial response marker of
+     * a replaced comments page is copied to the combined response.
      *
      * @param monoNews     Mono of ResponseEntity of NewsResponse.
      * @param monoComments Mono of ResponseEntity of PaginationResponse of CommentResponse.
@@ -380,10 +498,16 @@ public class NewsServiceImpl implements NewsService {
             Mono<ResponseEntity<PaginationResponse<CommentResponse>>> monoComments) {
         return Mono.zip(monoNews, monoComments, (news, comments) -> {
             PaginationResponse<CommentResponse> commentsBody = comments.getBody();
-            if (commentsBody != null && news.getBody() != null) {
-                news.getBody().setComments(commentsBody);
+            String partial = comments.getHeaders().getFirst(CommentPageFallback.PARTIAL_HEADER);
+            if (news.getBody() == null || commentsBody == null && partial == null) {
+                return news;
+            }
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(news.getStatusCode())
+                    .headers(news.getHeaders());
+            if (partial != null) {
+                response.header(CommentPageFallback.PARTIAL_HEADER, partial);
             }
-            return news;
+            return response.body(commentsBody == null ? news.getBody() : news.getBody().withComments(commentsBody));
         });
     }
 }
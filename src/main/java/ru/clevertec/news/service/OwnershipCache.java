@@ -0,0 +1,127 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Authors of the news items and comments, so updates and archiving check the caller without reading the entity
+ * first. The authors are learned from the entities the gateway creates and from the reads of the ownership checks.
+ * The table is direct-mapped: 'ownership.cache.capacity' slots of three longs (id, UUID halves), a new entry
+ * replacing the entry in its slot, so the cache never allocates after start. A miss falls back to the read,
+ * and an entry is dropped when the downstream service rejects a write or the entity is archived.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class OwnershipCache {
+
+    /**
+     * Kind of the cached entity, so news items and comments with the same id use different slots.
+     */
+    public enum Kind {
+        NEWS, COMMENT
+    }
+
+    private static final int STRIPES = 64;
+
+    private final boolean enabled;
+    private final int mask;
+    private final long[] keys;
+    private final long[] mostSignificantBits;
+    private final long[] leastSignificantBits;
+    private final Object[] locks = new Object[STRIPES];
+
+    /**
+     * Constructor for OwnershipCache.
+     *
+     * @param enabled  Whether authors are cached.
+     * @param capacity Number of slots, rounded up to a power of two.
+     */
+    public OwnershipCache(@Value("${ownership.cache.enabled:true}") boolean enabled,
+                          @Value("${ownership.cache.capacity:65536}") int capacity) {
+        int slots = Integer.highestOneBit(Math.max(STRIPES, capacity - 1) << 1);
+        this.enabled = enabled;
+        this.mask = slots - 1;
+        this.keys = new long[slots];
+        this.mostSignificantBits = new long[slots];
+        this.leastSignificantBits = new long[slots];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Returns the author of an entity, if it is cached.
+     *
+     * @param kind Kind of the entity.
+     * @param id   The ID of the entity.
+     * @return UUID of the author, or null if it is not cached.
+     */
+    public UUID find(Kind kind, Long id) {
+        if (!enabled || id == null) {
+            return null;
+        }
+        long key = key(kind, id);
+        int slot = slot(key);
+        synchronized (locks[slot & (STRIPES - 1)]) {
+            long msb = mostSignificantBits[slot];
+            long lsb = leastSignificantBits[slot];
+            if (keys[slot] != key || msb == 0 && lsb == 0) {
+                return null;
+            }
+            return new UUID(msb, lsb);
+        }
+    }
+
+    /**
+     * Caches the author of an entity.
+     *
+     * @param kind  Kind of the entity.
+     * @param id    The ID of the entity.
+     * @param owner UUID of the author.
+     */
+    public void remember(Kind kind, Long id, UUID owner) {
+        if (!enabled || id == null || owner == null) {
+            return;
+        }
+        long key = key(kind, id);
+        int slot = slot(key);
+        synchronized (locks[slot & (STRIPES - 1)]) {
+            keys[slot] = key;
+            mostSignificantBits[slot] = owner.getMostSignificantBits();
+            leastSignificantBits[slot] = owner.getLeastSignificantBits();
+        }
+    }
+
+    /**
+     * Drops the author of an entity.
+     *
+     * @param kind Kind of the entity.
+     * @param id   The ID of the entity.
+     */
+    public void forget(Kind kind, Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        long key = key(kind, id);
+        int slot = slot(key);
+        synchronized (locks[slot & (STRIPES - 1)]) {
+            if (keys[slot] == key) {
+                mostSignificantBits[slot] = 0;
+                leastSignificantBits[slot] = 0;
+            }
+        }
+    }
+
+    private static long key(Kind kind, long id) {
+        return id << 1 | kind.ordinal();
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ hash >>> 32) & mask;
+    }
+}
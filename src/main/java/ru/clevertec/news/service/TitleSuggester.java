@@ -0,0 +1,537 @@
+package ru.clevertec.news.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Title suggestions for the search box: a compressed trie of the titles of the news items the gateway pages through,
+ * creates and updates, the archived ones removed. A title is ranked by its popularity, the number of news items with
+ * the title plus the number of times they were viewed, and every node keeps the best popularity below it, so the best
+ * titles under a prefix are found without visiting the rest. Titles are compared in lower case and cut to
+ * 'news.suggest.max-title-length' characters. The heap taken by the trie is accounted per node, array and string,
+ * and no new title is added once it would exceed 'news.suggest.max-bytes'. A view of a known title only increments a
+ * counter of its news item without locking; the counted views are folded into the trie under the write lock in one
+ * batch before the next suggestion or change of the titles.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+@Component
+public class TitleSuggester {
+
+    /**
+     * Estimated heap taken per news item besides its title: the map entry, the boxed ID and the entry object.
+     */
+    private static final int ENTRY_BYTES = 80;
+    private static final int NODE_BYTES = 48;
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+    private static final char[] NO_LABEL = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final int maxTitleLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node(NO_LABEL);
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> viewed = new ConcurrentLinkedQueue<>();
+    private long bytes = bytes(root);
+
+    /**
+     * Constructor for TitleSuggester.
+     *
+     * @param enabled        Whether titles are collected and suggested.
+     * @param maxBytes       Maximum estimated heap taken by the titles.
+     * @param maxTitleLength Number of characters of a title that are kept.
+     */
+    public TitleSuggester(@Value("${news.suggest.enabled:true}") boolean enabled,
+                          @Value("${news.suggest.max-bytes:16777216}") long maxBytes,
+                          @Value("${news.suggest.max-title-length:100}") int maxTitleLength) {
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxTitleLength = maxTitleLength;
+    }
+
+    /**
+     * Returns the most popular titles starting with a prefix, ignoring case.
+     *
+     * @param prefix The typed prefix.
+     * @param limit  Maximum number of titles.
+     * @return List of titles, the most popular first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> titles = new ArrayList<>();
+        if (!enabled || prefix == null || limit <= 0) {
+            return titles;
+        }
+        String key = prefix.stripLeading().toLowerCase(Locale.ROOT);
+        if (!viewed.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                foldViews();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            Node node = find(key);
+            if (node == null) {
+                return titles;
+            }
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+            candidates.add(new Candidate(node, false, node.best));
+            while (!candidates.isEmpty() && titles.size() < limit) {
+                Candidate candidate = candidates.poll();
+                Node next = candidate.node;
+                if (candidate.title) {
+                    titles.add(next.title);
+                    continue;
+                }
+                if (next.title != null) {
+                    candidates.add(new Candidate(next, true, next.weight));
+                }
+                for (Node child : next.children) {
+                    candidates.add(new Candidate(child, false, child.best));
+                }
+            }
+            return titles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the titles of a page of news items the gateway paged through.
+     *
+     * @param page The page.
+     */
+    public void putAll(PaginationResponse<NewsResponse> page) {
+        if (!enabled || page == null || page.content() == null) {
+            return;
+        }
+        for (NewsResponse news : page.content()) {
+            put(news);
+        }
+    }
+
+    /**
+     * Adds the title of a created or updated news item, replacing its previous title.
+     * A news item without a title, e.g. a projection without it, is ignored.
+     *
+     * @param news The news item.
+     */
+    public void put(NewsResponse news) {
+        if (!enabled || news == null || news.id() == null || news.title() == null) {
+            return;
+        }
+        String title = cut(news.title().strip());
+        if (title.isEmpty()) {
+            return;
+        }
+        String key = title.toLowerCase(Locale.ROOT);
+        Entry known = entries.get(news.id());
+        if (known != null && known.key.equals(key)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            foldViews();
+            Entry entry = entries.get(news.id());
+            if (entry != null) {
+                if (entry.key.equals(key)) {
+                    return;
+                }
+                remove(entry.key, 1 + entry.views);
+                entries.remove(news.id());
+                bytes -= ENTRY_BYTES;
+            }
+            long views = entry == null ? 0 : entry.views;
+            if (bytes + ENTRY_BYTES + worstCaseBytes(title) > maxBytes) {
+                return;
+            }
+            Node terminal = insert(key, title, 1 + views);
+            entries.put(news.id(), new Entry(news.id(), terminal.title, views));
+            bytes += ENTRY_BYTES;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a view of a news item towards the popularity of its title, adding the title if it is new or changed.
+     * The view of a known title is counted without locking and reaches the suggestions with the next batch.
+     *
+     * @param news The viewed news item.
+     */
+    public void view(NewsResponse news) {
+        if (!enabled || news == null || news.id() == null) {
+            return;
+        }
+        put(news);
+        Entry entry = entries.get(news.id());
+        if (entry != null && entry.pendingViews.getAndIncrement() == 0) {
+            viewed.add(entry);
+        }
+    }
+
+    /**
+     * Removes the title of an archived news item.
+     *
+     * @param id The ID of the news item.
+     */
+    public void remove(Long id) {
+        if (!enabled || id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Entry entry = entries.remove(id);
+            if (entry != null) {
+                remove(entry.key, 1 + entry.views);
+                bytes -= ENTRY_BYTES;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of news items whose titles are suggested.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return Estimated heap taken by the titles, in bytes.
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the views counted since the last batch to the popularity of their titles; the views of a title replaced
+     * or removed meanwhile are dropped. Must be called under the write lock.
+     */
+    private void foldViews() {
+        Entry entry;
+        while ((entry = viewed.poll()) != null) {
+            long views = entry.pendingViews.getAndSet(0);
+            if (views == 0 || entries.get(entry.id) != entry) {
+                continue;
+            }
+            entry.views += views;
+            List<Node> path = path(entry.key);
+            Node terminal = path.get(path.size() - 1);
+            terminal.weight += views;
+            for (Node node : path) {
+                node.best = Math.max(node.best, terminal.weight);
+            }
+        }
+    }
+
+    private String cut(String title) {
+        return title.length() > maxTitleLength ? title.substring(0, maxTitleLength) : title;
+    }
+
+    /**
+     * Returns the node whose subtree holds the titles starting with the key, or null if there are none.
+     */
+    private Node find(String key) {
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = child(node, key.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = common(child.label, key, i);
+            if (common < child.label.length && i + common < key.length()) {
+                return null;
+            }
+            i += common;
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the nodes from the root to the node of a title.
+     */
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i += node.label.length) {
+            node = child(node, key.charAt(i));
+            path.add(node);
+        }
+        return path;
+    }
+
+    private Node insert(String key, String title, long weight) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node parent = node;
+            int position = position(parent, key.charAt(i));
+            if (position < 0) {
+                Node leaf = new Node(key.substring(i).toCharArray());
+                bytes += bytes(leaf);
+                change(parent, () -> addChild(parent, leaf, -position - 1));
+                node = leaf;
+                path.add(node);
+                break;
+            }
+            Node child = parent.children[position];
+            int common = common(child.label, key, i);
+            if (common < child.label.length) {
+                Node middle = new Node(Arrays.copyOf(child.label, common));
+                middle.children = new Node[]{child};
+                middle.best = child.best;
+                change(child, () -> child.label = Arrays.copyOfRange(child.label, common, child.label.length));
+                bytes += bytes(middle);
+                parent.children[position] = middle;
+                node = middle;
+            } else {
+                node = child;
+            }
+            path.add(node);
+            i += common;
+        }
+        Node terminal = node;
+        if (terminal.title == null) {
+            change(terminal, () -> terminal.title = title);
+        }
+        terminal.weight += weight;
+        for (Node step : path) {
+            step.best = Math.max(step.best, terminal.weight);
+        }
+        return terminal;
+    }
+
+    private void remove(String key, long weight) {
+        List<Node> path = path(key);
+        Node terminal = path.get(path.size() - 1);
+        terminal.weight -= weight;
+        if (terminal.weight <= 0) {
+            change(terminal, () -> terminal.title = null);
+            terminal.weight = 0;
+            prune(path);
+        }
+        for (int i = path.size() - 1; i >= 0; i--) {
+            Node node = path.get(i);
+            if (node.label == null) {
+                // merged into its parent or dropped
+                continue;
+            }
+            long best = node.title != null ? node.weight : 0;
+            for (Node child : node.children) {
+                best = Math.max(best, child.best);
+            }
+            node.best = best;
+        }
+    }
+
+    /**
+     * Drops the node of a removed title if it has no children and merges the nodes left with a single child and
+     * no title into that child, so every inner node but the root branches or ends a title.
+     */
+    private void prune(List<Node> path) {
+        int last = path.size() - 1;
+        Node terminal = path.get(last);
+        if (last == 0) {
+            return;
+        }
+        Node parent = path.get(last - 1);
+        if (terminal.children.length == 0) {
+            bytes -= bytes(terminal);
+            terminal.label = null;
+            change(parent, () -> removeChild(parent, terminal));
+            if (last - 1 > 0 && parent.title == null && parent.children.length == 1) {
+                merge(path.get(last - 2), parent);
+            }
+        } else if (terminal.children.length == 1) {
+            merge(parent, terminal);
+        }
+    }
+
+    /**
+     * Replaces a node with a single child and no title by that child, joining their labels.
+     */
+    private void merge(Node parent, Node node) {
+        Node child = node.children[0];
+        int position = position(parent, node.label[0]);
+        change(child, () -> {
+            char[] label = Arrays.copyOf(node.label, node.label.length + child.label.length);
+            System.arraycopy(child.label, 0, label, node.label.length, child.label.length);
+            child.label = label;
+        });
+        bytes -= bytes(node);
+        node.label = null;
+        parent.children[position] = child;
+    }
+
+    private void change(Node node, Runnable change) {
+        bytes -= bytes(node);
+        change.run();
+        bytes += bytes(node);
+    }
+
+    private static Node child(Node node, char first) {
+        int position = position(node, first);
+        return position < 0 ? null : node.children[position];
+    }
+
+    /**
+     * Returns the position of the child whose label starts with the character, or -(insertion point) - 1.
+     */
+    private static int position(Node node, char first) {
+        int low = 0;
+        int high = node.children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char label = node.children[middle].label[0];
+            if (label < first) {
+                low = middle + 1;
+            } else if (label > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static void addChild(Node node, Node child, int position) {
+        Node[] children = new Node[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, position);
+        children[position] = child;
+        System.arraycopy(node.children, position, children, position + 1, node.children.length - position);
+        node.children = children;
+    }
+
+    private static void removeChild(Node node, Node child) {
+        if (node.children.length == 1) {
+            node.children = NO_CHILDREN;
+            return;
+        }
+        Node[] children = new Node[node.children.length - 1];
+        int position = 0;
+        for (Node other : node.children) {
+            if (other != child) {
+                children[position++] = other;
+            }
+        }
+        node.children = children;
+    }
+
+    private static int common(char[] label, String key, int from) {
+        int common = 0;
+        while (common < label.length && from + common < key.length() && label[common] == key.charAt(from + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * Upper bound of the heap a new title adds: a leaf, a split node, their labels, a longer children array and
+     * the title.
+     */
+    private static long worstCaseBytes(String title) {
+        return 2 * (NODE_BYTES + array(2L * title.length())) + REFERENCE_BYTES * 2 + string(title);
+    }
+
+    private static long bytes(Node node) {
+        long bytes = NODE_BYTES;
+        if (node.label.length > 0) {
+            bytes += array(2L * node.label.length);
+        }
+        if (node.children.length > 0) {
+            bytes += array((long) REFERENCE_BYTES * node.children.length);
+        }
+        if (node.title != null) {
+            bytes += string(node.title);
+        }
+        return bytes;
+    }
+
+    private static long string(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c <= 0xFF);
+        return STRING_BYTES + array(latin1 ? value.length() : 2L * value.length());
+    }
+
+    private static long array(long bytes) {
+        return ARRAY_BYTES + bytes + 7 & ~7L;
+    }
+
+    /**
+     * Node of the trie: the label of the edge leading to it, its children ordered by the first character of their
+     * labels, the title ending at it with its popularity and the best popularity of the titles below it.
+     */
+    private static final class Node {
+
+        private char[] label;
+        private Node[] children = NO_CHILDREN;
+        private String title;
+        private long weight;
+        private long best;
+
+        private Node(char[] label) {
+            this.label = label;
+        }
+    }
+
+    /**
+     * Title of a news item, the number of its views added to the trie and the number of views counted since.
+     */
+    private static final class Entry {
+
+        private final Long id;
+        private final String key;
+        private final AtomicLong pendingViews = new AtomicLong();
+        private long views;
+
+        private Entry(Long id, String title, long views) {
+            this.id = id;
+            this.key = title.toLowerCase(Locale.ROOT);
+            this.views = views;
+        }
+    }
+
+    /**
+     * Node to expand or title to emit, ordered by popularity; a title goes before a node of the same popularity.
+     */
+    private record Candidate(Node node, boolean title, long popularity) implements Comparable<Candidate> {
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byPopularity = Long.compare(other.popularity, popularity);
+            return byPopularity != 0 ? byPopularity : Boolean.compare(other.title, title);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package ru.clevertec.news.util;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable set of response field names requested by a client through the {@code fields} parameter.
+ * An empty projection means that every field is requested.
+ *
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public final class FieldsProjection {
+
+    public static final String FIELDS_PARAM = "fields";
+
+    private static final FieldsProjection ALL = new FieldsProjection(Collections.emptySet());
+
+    private final Set<String> fields;
+
+    private FieldsProjection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * Returns the projection that keeps every field.
+     *
+     * @return FieldsProjection without restrictions.
+     */
+    public static FieldsProjection all() {
+        return ALL;
+    }
+
+    /**
+     * Creates a projection from raw parameter values. Each value may hold several comma-separated names.
+     *
+     * @param values Raw values of the {@code fields} parameter, may be null.
+     * @return FieldsProjection containing the requested names, or {@link #all()} if none were given.
+     */
+    public static FieldsProjection of(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return ALL;
+        }
+        Set<String> names = values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        return names.isEmpty() ? ALL : new FieldsProjection(Collections.unmodifiableSet(names));
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Checks whether the given field has to be present in the response.
+     *
+     * @param field The field name.
+     * @return true if the field is requested.
+     */
+    public boolean includes(String field) {
+        return isAll() || fields.contains(field);
+    }
+
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Renders the projection as a value of the {@code fields} query parameter for downstream services.
+     *
+     * @return Comma-separated field names, or empty if every field is requested.
+     */
+    public Optional<String> asQueryParam() {
+        return isAll() ? Optional.empty() : Optional.of(String.join(",", fields));
+    }
+
+    /**
+     * Builds a Jackson filter provider that keeps only the requested properties of the filtered DTO.
+     *
+     * @param filterId Id of the filter declared on the DTO with JsonFilter.
+     * @return FilterProvider applying the projection.
+     */
+    public FilterProvider toFilterProvider(String filterId) {
+        return new SimpleFilterProvider()
+                .setFailOnUnknownId(false)
+                .addFilter(filterId, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+}
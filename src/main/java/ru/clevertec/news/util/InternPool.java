@@ -0,0 +1,69 @@
+package ru.clevertec.news.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Bounded pool of canonical immutable values. The pool is a direct-mapped array: every key has one slot chosen by
+ * its hash, and a new key overwrites the value of another key in its slot, so the pool keeps following the keys in
+ * use instead of the first ones seen and never holds more than its capacity.
+ *
+ * @param <K> Type of the key.
+ * @param <V> Type of the pooled value.
+ * @author Sergey Leshkevich
+ * @version 1.0
+ */
+public final class InternPool<K, V> {
+
+    private final AtomicReferenceArray<Slot<K, V>> slots;
+    private final int mask;
+
+    /**
+     * Constructor for InternPool.
+     *
+     * @param capacity Number of slots, rounded up to a power of two.
+     */
+    public InternPool(int capacity) {
+        this.slots = new AtomicReferenceArray<>(capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = slots.length() - 1;
+    }
+
+    /**
+     * Returns the canonical value for the key, creating it and taking over its slot if it is not pooled.
+     *
+     * @param key     The key.
+     * @param factory Creates the value if it is not pooled yet.
+     * @return Canonical value of the key.
+     */
+    public V intern(K key, Function<K, V> factory) {
+        int index = index(key);
+        Slot<K, V> slot = slots.get(index);
+        if (slot != null && slot.key().equals(key)) {
+            return slot.value();
+        }
+        V value = factory.apply(key);
+        slots.set(index, new Slot<>(key, value));
+        return value;
+    }
+
+    /**
+     * @return Number of pooled values.
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    private int index(K key) {
+        int hash = key.hashCode();
+        return (hash ^ hash >>> 16) & mask;
+    }
+
+    private record Slot<K, V>(K key, V value) {
+    }
+}
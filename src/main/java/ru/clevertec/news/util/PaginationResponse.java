@@ -1,18 +1,12 @@
 package ru.clevertec.news.util;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.EqualsAndHashCode;
-import lombok.NoArgsConstructor;
-
 import java.util.List;
 
-@Data
-@AllArgsConstructor
-@NoArgsConstructor
-public class PaginationResponse<T> {
+public record PaginationResponse<T>(
+
+        int pageNumber,
+
+        int countPage,
 
-    private int pageNumber;
-    private int countPage;
-    private List<T> content;
+        List<T> content) {
 }
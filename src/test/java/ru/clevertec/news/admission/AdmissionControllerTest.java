@@ -0,0 +1,113 @@
+package ru.clevertec.news.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControllerTest {
+
+    @Test
+    void shouldClassifyRequests() {
+        assertThat(RequestClass.of(HttpMethod.GET, "/api/comments/1")).isEqualTo(RequestClass.UNCACHED_READ);
+        assertThat(RequestClass.of(HttpMethod.GET, "/api/news/1")).isEqualTo(RequestClass.UNCACHED_READ);
+        assertThat(RequestClass.of(HttpMethod.GET, "/api/news/search")).isEqualTo(RequestClass.SEARCH);
+        assertThat(RequestClass.of(HttpMethod.GET, "/api/news/suggest")).isEqualTo(RequestClass.CACHED_READ);
+        assertThat(RequestClass.of(HttpMethod.PATCH, "/api/comments/1")).isEqualTo(RequestClass.WRITE);
+        assertThat(RequestClass.of(HttpMethod.GET, "/swagger-ui/index.html")).isNull();
+        assertThat(RequestClass.of(HttpMethod.GET, "/api/news/1/comments/stream")).isNull();
+    }
+
+    @Test
+    void shouldHandPermitOverToQueuedRequestWhenPermitIsReleased() throws Exception {
+        AdmissionController controller = controller(1, 1, Duration.ofSeconds(1), Duration.ofSeconds(5));
+
+        AdmissionController.Permit first = controller.admit(RequestClass.WRITE).get();
+        CompletableFuture<AdmissionController.Permit> second = controller.admit(RequestClass.WRITE);
+        assertThat(second).isNotDone();
+        assertThat(controller.queued(RequestClass.WRITE)).isEqualTo(1);
+
+        first.release();
+
+        assertThat(second.get(1, TimeUnit.SECONDS)).isNotNull();
+        assertThat(controller.inFlight(RequestClass.WRITE)).isEqualTo(1);
+        assertThat(controller.queued(RequestClass.WRITE)).isZero();
+    }
+
+    @Test
+    void shouldRejectRequestWhenQueueOfClassIsFull() throws Exception {
+        AdmissionController controller = controller(1, 1, Duration.ofSeconds(1), Duration.ofSeconds(5));
+        controller.admit(RequestClass.WRITE).get();
+        controller.admit(RequestClass.WRITE);
+
+        assertRejected(controller.admit(RequestClass.WRITE));
+        assertThat(controller.admit(RequestClass.CACHED_READ)).isCompleted();
+    }
+
+    @Test
+    void shouldShedClassesByQueueingDelayOfTheirOwnQueue() throws Exception {
+        AdmissionController controller = controller(1, 10, Duration.ofMillis(20), Duration.ofSeconds(5));
+        for (RequestClass requestClass : RequestClass.values()) {
+            controller.admit(requestClass).get();
+            controller.admit(requestClass);
+        }
+
+        Thread.sleep(50);
+
+        assertRejected(controller.admit(RequestClass.SEARCH));
+        assertRejected(controller.admit(RequestClass.WRITE));
+        assertThat(controller.admit(RequestClass.UNCACHED_READ)).isNotDone();
+        assertThat(controller.admit(RequestClass.CACHED_READ)).isNotDone();
+        assertThat(controller.queued(RequestClass.CACHED_READ)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotShedClassWhenOnlyAnotherClassIsBackedUp() throws Exception {
+        AdmissionController controller = controller(1, 10, Duration.ofMillis(20), Duration.ofSeconds(5));
+        controller.admit(RequestClass.WRITE).get();
+        controller.admit(RequestClass.WRITE);
+
+        Thread.sleep(50);
+
+        assertRejected(controller.admit(RequestClass.WRITE));
+        assertThat(controller.admit(RequestClass.SEARCH)).isCompleted();
+        assertThat(controller.queueingDelay()).isPositive();
+    }
+
+    @Test
+    void shouldRejectQueuedRequestWhenMaxWaitExpires() throws Exception {
+        AdmissionController controller = controller(1, 1, Duration.ofSeconds(1), Duration.ofMillis(50));
+        controller.admit(RequestClass.UNCACHED_READ).get();
+
+        CompletableFuture<AdmissionController.Permit> queued = controller.admit(RequestClass.UNCACHED_READ);
+
+        assertThatThrownBy(() -> queued.get(1, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(AdmissionRejectedException.class);
+        assertThat(controller.queued(RequestClass.UNCACHED_READ)).isZero();
+    }
+
+    private AdmissionController controller(int concurrency, int queue, Duration targetDelay, Duration maxWait) {
+        Map<RequestClass, AdmissionController.Limits> limits = new EnumMap<>(RequestClass.class);
+        for (RequestClass requestClass : RequestClass.values()) {
+            limits.put(requestClass, new AdmissionController.Limits(concurrency, queue));
+        }
+        return new AdmissionController(limits, targetDelay, maxWait, Duration.ofSeconds(2));
+    }
+
+    private void assertRejected(CompletableFuture<AdmissionController.Permit> admission) {
+        assertThat(admission).isCompletedExceptionally();
+        assertThatThrownBy(admission::get)
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(AdmissionRejectedException.class)
+                .satisfies(e -> assertThat(((AdmissionRejectedException) e).retryAfterHeader()).isEqualTo("2"));
+    }
+}
@@ -1,24 +1,40 @@
 package ru.clevertec.news.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
+import ru.clevertec.news.deadline.DeadlineExchangeFilter;
 
 @TestConfiguration
 public class Config {
 
     @Bean
-    public WebClient.Builder webClientBuilderCommentsUrl() {
-        return WebClient.builder()
+    public WebClient.Builder webClientBuilderCommentsUrl(ObjectProvider<DeadlineExchangeFilter> deadlineFilter) {
+        WebClient.Builder builder = WebClient.builder()
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .baseUrl("http://localhost:9998");
+        deadlineFilter.ifAvailable(builder::filter);
+        return builder;
     }
 
     @Bean
-    public WebClient.Builder webClientBuilderNewsUrl() {
-        return WebClient.builder()
+    public WebClient.Builder webClientBuilderNewsUrl(ObjectProvider<DeadlineExchangeFilter> deadlineFilter) {
+        WebClient.Builder builder = WebClient.builder()
+                .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .baseUrl("http://localhost:9998");
+        deadlineFilter.ifAvailable(builder::filter);
+        return builder;
+    }
+
+    @Bean
+    public RestClient.Builder restClientBuilderNewsUrl() {
+        return RestClient.builder()
+                .requestFactory(new JdkClientHttpRequestFactory())
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .baseUrl("http://localhost:9998");
     }
@@ -0,0 +1,98 @@
+package ru.clevertec.news.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class DownstreamClientResourcesTest {
+
+    private HttpServer server;
+    private DownstreamClientResources slowDownstream;
+    private DownstreamClientResources fastDownstream;
+    private final List<Disposable> requests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 64);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/slow", exchange -> respond(exchange, 2000));
+        server.createContext("/fast", exchange -> respond(exchange, 0));
+        server.start();
+
+        slowDownstream = new DownstreamClientResources("slow-service",
+                new DownstreamClientResources.Settings(1, 2, 2, Duration.ofSeconds(5), Duration.ofSeconds(30)));
+        fastDownstream = new DownstreamClientResources("fast-service",
+                new DownstreamClientResources.Settings(1, 2, 2, Duration.ofSeconds(5), Duration.ofSeconds(30)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        requests.forEach(Disposable::dispose);
+        slowDownstream.destroy();
+        fastDownstream.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    void shouldServeOtherDownstreamWhenPoolOfSlowDownstreamIsExhausted() {
+        WebClient slowClient = client(slowDownstream);
+        WebClient fastClient = client(fastDownstream);
+        for (int i = 0; i < 4; i++) {
+            requests.add(get(slowClient, "/slow").subscribe(body -> { }, e -> { }));
+        }
+        await().atMost(Duration.ofSeconds(1)).until(() -> slowDownstream.snapshot().pending() == 2);
+
+        StepVerifier.create(get(slowClient, "/slow"))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .hasMessageContaining("Pending acquire queue has reached its maximum size"))
+                .verify(Duration.ofSeconds(1));
+        StepVerifier.create(get(fastClient, "/fast"))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertThat(slowDownstream.snapshot().acquired()).isEqualTo(2);
+        assertThat(fastDownstream.snapshot().pending()).isZero();
+    }
+
+    private WebClient client(DownstreamClientResources resources) {
+        return WebClient.builder()
+                .clientConnector(resources.connector())
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .build();
+    }
+
+    private Mono<String> get(WebClient client, String path) {
+        return client.get().uri(path).retrieve().bodyToMono(String.class);
+    }
+
+    private void respond(HttpExchange exchange, long delayMs) throws IOException {
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
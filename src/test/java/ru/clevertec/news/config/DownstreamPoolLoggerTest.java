@@ -0,0 +1,63 @@
+package ru.clevertec.news.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class DownstreamPoolLoggerTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(DownstreamPoolLogger.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private DownstreamClientResources downstream;
+    private DownstreamPoolLogger poolLogger;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+        downstream = new DownstreamClientResources("comment-service",
+                new DownstreamClientResources.Settings(1, 2, 2, Duration.ofSeconds(5), Duration.ofSeconds(30)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (poolLogger != null) {
+            poolLogger.destroy();
+        }
+        downstream.destroy();
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void shouldLogPoolOfEveryDownstreamEveryInterval() {
+        poolLogger = new DownstreamPoolLogger(List.of(downstream), Duration.ofMillis(50));
+        poolLogger.afterPropertiesSet();
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> appender.list.size() >= 2);
+
+        assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.INFO);
+        assertThat(appender.list.get(0).getFormattedMessage())
+                .isEqualTo("Downstream comment-service pool: instances=0, acquired=0, idle=0, pending=0");
+    }
+
+    @Test
+    void shouldNotLogWhenIntervalIsZero() throws InterruptedException {
+        poolLogger = new DownstreamPoolLogger(List.of(downstream), Duration.ZERO);
+        poolLogger.afterPropertiesSet();
+
+        Thread.sleep(100);
+
+        assertThat(appender.list).isEmpty();
+    }
+}
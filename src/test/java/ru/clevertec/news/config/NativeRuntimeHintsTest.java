@@ -0,0 +1,29 @@
+package ru.clevertec.news.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import ru.clevertec.news.codec.LocalDateTimeCodec;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserResponse;
+import ru.clevertec.news.util.PaginationResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeRuntimeHintsTest {
+
+    @Test
+    void shouldRegisterReflectionHintsForJsonTypesAndSerializers() throws NoSuchMethodException {
+        RuntimeHints hints = new RuntimeHints();
+
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(NewsResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PaginationResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(UserResponse.class.getMethod("of", String.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(LocalDateTimeCodec.Serializer.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+    }
+}
@@ -0,0 +1,94 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "admission.enabled=true",
+        "admission.target-delay=10s",
+        "admission.max-wait=8s",
+        "admission.classes.uncached-read.concurrency=1",
+        "admission.classes.uncached-read.queue=3",
+        "server.tomcat.threads.max=2",
+        "server.tomcat.threads.min-spare=1"})
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class AdmissionIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldQueueRequestsWithoutHoldingContainerThreads() throws JsonProcessingException, InterruptedException {
+        CommentResponse commentResponse = CommentResponseTestBuilder.aCommentResponse().build();
+        stubFor(get(urlEqualTo("/comments/7"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(1000)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(commentResponse))));
+
+        ExecutorService clients = Executors.newFixedThreadPool(4);
+        // one admitted and three queued requests, more than the two container threads
+        List<CompletableFuture<HttpStatusCode>> admitted = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> webTestClient.get()
+                        .uri("/api/comments/7")
+                        .exchange()
+                        .returnResult(String.class)
+                        .getStatus(), clients))
+                .toList();
+        Thread.sleep(500);
+
+        webTestClient.get()
+                .uri("/api/comments/7")
+                .exchange()
+                .expectStatus().isEqualTo(503)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER);
+
+        long start = System.nanoTime();
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/news/suggest")
+                        .queryParam("prefix", "news")
+                        .build())
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(System.nanoTime() - start).isLessThan(500_000_000L);
+
+        assertThat(admitted)
+                .extracting(CompletableFuture::join)
+                .allMatch(HttpStatusCode::is2xxSuccessful);
+        clients.shutdown();
+    }
+}
@@ -0,0 +1,103 @@
+package ru.clevertec.news.integration;
+
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.ArchiveJobRequest;
+import ru.clevertec.news.entity.dto.ArchiveJobResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.patch;
+import static com.github.tomakehurst.wiremock.client.WireMock.patchRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class ArchiveJobIntegrationTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldArchiveOwnNewsAndTheirCommentsInBackgroundAndReportOthersPerId() {
+        UUID author = UUID.randomUUID();
+        stubNews(71L, author);
+        stubNews(72L, UUID.randomUUID());
+        stubFor(patch(urlEqualTo("/news/71")).willReturn(aResponse().withStatus(200)));
+        stubFor(patch(urlEqualTo("/comments/news/71")).willReturn(aResponse().withStatus(200)));
+
+        HttpHeaders headers = webTestClient.post()
+                .uri("/api/news/archive-jobs")
+                .header(UserContext.X_USER_UUID, author.toString())
+                .bodyValue(new ArchiveJobRequest(List.of(71L, 72L, 71L)))
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.total").isEqualTo(2)
+                .returnResult()
+                .getResponseHeaders();
+        assertThat(headers.getLocation()).isNotNull();
+
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+            ArchiveJobResponse job = webTestClient.get()
+                    .uri(headers.getLocation().getPath())
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(ArchiveJobResponse.class)
+                    .returnResult()
+                    .getResponseBody();
+            assertThat(job).isNotNull();
+            assertThat(job.status()).isEqualTo(ArchiveJobResponse.Status.DONE);
+            assertThat(job.newsArchived()).isEqualTo(1);
+            assertThat(job.commentsArchived()).isEqualTo(1);
+            assertThat(job.errors()).singleElement()
+                    .satisfies(error -> {
+                        assertThat(error.id()).isEqualTo(72L);
+                        assertThat(error.status()).isEqualTo(403);
+                    });
+        });
+
+        verify(exactly(1), patchRequestedFor(urlEqualTo("/news/71")));
+        verify(exactly(0), patchRequestedFor(urlEqualTo("/news/72")));
+        verify(exactly(0), patchRequestedFor(urlEqualTo("/comments/news/72")));
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownJob() {
+        webTestClient.get()
+                .uri("/api/news/archive-jobs/{jobId}", UUID.randomUUID())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private void stubNews(long id, UUID author) {
+        stubFor(get(urlEqualTo("/news/" + id))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody("{\"user\":{\"uuid\":\"" + author + "\",\"userName\":\"author\"}}")));
+    }
+}
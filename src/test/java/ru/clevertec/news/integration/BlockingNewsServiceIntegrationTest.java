@@ -0,0 +1,100 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+import ru.clevertec.exceptionhandlerstarter.exception.AccessDeniedException;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.ModifyNewsRequest;
+import ru.clevertec.news.entity.dto.NewsRequest;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.entity.dto.UserRequest;
+import ru.clevertec.news.service.BlockingNewsServiceImpl;
+import ru.clevertec.news.service.NewsService;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserRequestBuilderTest;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(properties = "news.service.mode=blocking")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class BlockingNewsServiceIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    NewsService newsService;
+
+    @Test
+    void shouldRetrieveNewsWithCommentsWhenStatusCodeIs2xx() throws JsonProcessingException {
+        long newsId = 1L;
+        NewsResponse newsResponse = new NewsResponse(newsId, LocalDateTime.of(2024, 1, 1, 12, 0), "Title", "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+        CommentResponse commentResponse = CommentResponseTestBuilder.aCommentResponse().build();
+        PaginationResponse<CommentResponse> comments = new PaginationResponse<>(1, 1, List.of(commentResponse));
+
+        stubFor(get(urlEqualTo("/news/" + newsId))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(newsResponse))));
+        stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=1&numberPage=1"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(comments))));
+
+        ResponseEntity<NewsResponse> actual = newsService.get(newsId, 1, 1).block();
+
+        assertThat(newsService).isInstanceOf(BlockingNewsServiceImpl.class);
+        assertThat(actual.getBody().title()).isEqualTo(newsResponse.title());
+        assertThat(actual.getBody().comments().content()).containsExactly(commentResponse);
+    }
+
+    @Test
+    void shouldThrowAccessDeniedExceptionInMethodUpdate() throws JsonProcessingException {
+        long newsId = 1L;
+        UserRequest userRequest = UserRequestBuilderTest.aUserRequest().build();
+        UserContext user = new UserContext(UUID.fromString("93dee9c7-1756-4fe7-bd97-7b545c0e9467"), userRequest.getUserName());
+        NewsRequest request = new NewsRequest("Title", "Text");
+        ModifyNewsRequest modifyNewsRequest = ModifyNewsRequest.builder()
+                .title(request.title())
+                .text(request.text())
+                .user(userRequest)
+                .build();
+
+        stubFor(get(urlEqualTo("/news/" + newsId))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(modifyNewsRequest))));
+
+        StepVerifier.create(newsService.update(newsId, request, user))
+                .expectError(AccessDeniedException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,124 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.LocalDateTime;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class BulkGetIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldReturnNewsInRequestOrderWithPerIdErrors() throws JsonProcessingException {
+        stubNews(21L, "First");
+        stubNews(22L, "Second");
+        stubFor(get(urlEqualTo("/news/23"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(404)
+                        .withBody(objectMapper.writeValueAsString(
+                                new IncorrectData("EntityNotFoundException", "News with 23 not found", "404")))));
+
+        webTestClient.get()
+                .uri("/api/news?ids=22,23,21,22")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(4)
+                .jsonPath("$[0].id").isEqualTo(22)
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[0].value.title").isEqualTo("Second")
+                .jsonPath("$[1].id").isEqualTo(23)
+                .jsonPath("$[1].status").isEqualTo(404)
+                .jsonPath("$[1].value").doesNotExist()
+                .jsonPath("$[1].error.errorMessage").isEqualTo("News with 23 not found")
+                .jsonPath("$[2].value.title").isEqualTo("First")
+                .jsonPath("$[3].value.title").isEqualTo("Second");
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/news/22")));
+    }
+
+    @Test
+    void shouldApplyFieldsToEveryNewsItem() throws JsonProcessingException {
+        stubNews(24L, "Projected");
+
+        webTestClient.get()
+                .uri("/api/news?ids=24&fields=id,title")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(24)
+                .jsonPath("$[0].status").isEqualTo(200)
+                .jsonPath("$[0].value.id").isEqualTo(24)
+                .jsonPath("$[0].value.title").isEqualTo("Projected")
+                .jsonPath("$[0].value.text").doesNotExist()
+                .jsonPath("$[0].value.user").doesNotExist();
+    }
+
+    @Test
+    void shouldReturnCommentsByIds() throws JsonProcessingException {
+        CommentResponse commentResponse = CommentResponseTestBuilder.aCommentResponse().build();
+        stubFor(get(urlEqualTo("/comments/31"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(commentResponse))));
+        stubFor(get(urlEqualTo("/comments/32"))
+                .willReturn(aResponse()
+                        .withStatus(500)));
+
+        webTestClient.get()
+                .uri("/api/comments?ids=31,32")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].value.text").isEqualTo(commentResponse.text())
+                .jsonPath("$[1].id").isEqualTo(32)
+                .jsonPath("$[1].status").isEqualTo(500)
+                .jsonPath("$[1].value").doesNotExist();
+    }
+
+    private void stubNews(long id, String title) throws JsonProcessingException {
+        NewsResponse newsResponse = new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), title, "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+        stubFor(get(urlEqualTo("/news/" + id))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(newsResponse))));
+    }
+}
@@ -0,0 +1,104 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.util.CommentRequestTestBuilder;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class CommentCounterIntegrationTest {
+
+    private static final String SEED_URL = "/comments/news/61?pageSize=1&numberPage=1";
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldSeedCountOnNewsViewAndAdjustItOnCreatedComment() throws JsonProcessingException {
+        NewsResponse news = new NewsResponse(61L, LocalDateTime.of(2024, 1, 1, 12, 0), "Counted", "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+        CommentResponse comment = CommentResponseTestBuilder.aCommentResponse().withNewsId(61L).build();
+        stub(get(urlEqualTo("/news/61")), news);
+        stub(get(urlEqualTo("/news?pageSize=1&numberPage=1")), new PaginationResponse<>(1, 1, List.of(news)));
+        stub(get(urlEqualTo("/comments/news/61?pageSize=15&numberPage=1")),
+                new PaginationResponse<>(1, 1, List.of(comment, comment, comment)));
+        stub(get(urlEqualTo(SEED_URL)), new PaginationResponse<>(1, 3, List.of(comment)));
+        stub(post(urlEqualTo("/comments")), comment);
+
+        webTestClient.get()
+                .uri("/api/news/61?fields=id,title,commentsCount")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.commentsCount").isEqualTo(3);
+
+        webTestClient.post()
+                .uri("/api/comments")
+                .header(UserContext.X_USER_UUID, UUID.randomUUID().toString())
+                .bodyValue(CommentRequestTestBuilder.aCommentRequest().withId(61L).build())
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        webTestClient.get()
+                .uri("/api/news?pageSize=1&numberPage=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].commentsCount").isEqualTo(4);
+
+        webTestClient.get()
+                .uri("/api/news?ids=61&fields=title,commentsCount")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].value.title").isEqualTo("Counted")
+                .jsonPath("$[0].value.commentsCount").isEqualTo(4);
+
+        verify(exactly(1), getRequestedFor(urlEqualTo(SEED_URL)));
+    }
+
+    private void stub(MappingBuilder request, Object body) throws JsonProcessingException {
+        stubFor(request
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(body))));
+    }
+}
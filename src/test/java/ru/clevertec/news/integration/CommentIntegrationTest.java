@@ -3,10 +3,8 @@ package ru.clevertec.news.integration;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
-import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -18,10 +16,12 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.test.StepVerifier;
 import ru.clevertec.exceptionhandlerstarter.exception.AccessDeniedException;
+import ru.clevertec.exceptionhandlerstarter.exception.MicroserviceResponseException;
 import ru.clevertec.news.config.Config;
 import ru.clevertec.news.entity.dto.CommentRequest;
 import ru.clevertec.news.entity.dto.CommentResponse;
 import ru.clevertec.news.entity.dto.ModifyCommentRequest;
+import ru.clevertec.news.entity.dto.UserContext;
 import ru.clevertec.news.entity.dto.UserRequest;
 import ru.clevertec.news.service.CommentService;
 import ru.clevertec.news.util.CommentRequestTestBuilder;
@@ -30,27 +30,30 @@ import ru.clevertec.news.util.PaginationResponse;
 import ru.clevertec.news.util.PaginationResponseForCommentTestBuilder;
 import ru.clevertec.news.util.UserRequestBuilderTest;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.post;
 import static com.github.tomakehurst.wiremock.client.WireMock.put;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.Mockito.when;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
-@SpringBootTest
+@SpringBootTest(properties = "page.chunking.chunk-size=100")
 @WireMockTest(httpPort = 9998)
 @ActiveProfiles("test")
 @ExtendWith(MockitoExtension.class)
 @Import(Config.class)
 class CommentIntegrationTest {
 
-    @Mock
-    HttpServletRequest httpServletRequest;
-
     @Autowired
     ObjectMapper objectMapper;
 
@@ -77,7 +80,7 @@ class CommentIntegrationTest {
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getText()).isEqualTo("Test text comment");
+        assertThat(actual.getBody().text()).isEqualTo("Test text comment");
 
     }
 
@@ -98,7 +101,7 @@ class CommentIntegrationTest {
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getText()).isEqualTo("Test text comment");
+        assertThat(actual.getBody().text()).isEqualTo("Test text comment");
 
     }
 
@@ -123,9 +126,9 @@ class CommentIntegrationTest {
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getContent().size()).isOne();
-        assertThat(actual.getBody().getCountPage()).isEqualTo(paginationResponse.getCountPage());
-        assertThat(actual.getBody().getPageNumber()).isEqualTo(paginationResponse.getPageNumber());
+        assertThat(actual.getBody().content().size()).isOne();
+        assertThat(actual.getBody().countPage()).isEqualTo(paginationResponse.countPage());
+        assertThat(actual.getBody().pageNumber()).isEqualTo(paginationResponse.pageNumber());
 
     }
 
@@ -145,7 +148,7 @@ class CommentIntegrationTest {
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getText()).isEqualTo("Test text comment");
+        assertThat(actual.getBody().text()).isEqualTo("Test text comment");
 
     }
 
@@ -169,12 +172,143 @@ class CommentIntegrationTest {
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getContent().size()).isOne();
-        assertThat(actual.getBody().getCountPage()).isEqualTo(paginationResponse.getCountPage());
-        assertThat(actual.getBody().getPageNumber()).isEqualTo(paginationResponse.getPageNumber());
+        assertThat(actual.getBody().content().size()).isOne();
+        assertThat(actual.getBody().countPage()).isEqualTo(paginationResponse.countPage());
+        assertThat(actual.getBody().pageNumber()).isEqualTo(paginationResponse.pageNumber());
+
+    }
+
+    @Test
+    void shouldRetrieveLargePaginationResponseCommentsInStreamingMode() throws JsonProcessingException {
+        int pageSize = 300;
+        int numberPage = 1;
+
+        List<CommentResponse> content = new ArrayList<>();
+        for (long i = 0; i < pageSize; i++) {
+            content.add(CommentResponseTestBuilder.aCommentResponse().withId(i).build());
+        }
+        PaginationResponse<CommentResponse> paginationResponse = new PaginationResponse<>(numberPage, 2, content);
+        String expected = objectMapper.writeValueAsString(paginationResponse);
+
+        stubFor(get(urlEqualTo("/comments" + "?pageSize=300&numberPage=1"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(expected)));
+
+        ResponseEntity<PaginationResponse<CommentResponse>> actual = commentService.getAll(pageSize, numberPage).block();
+
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getBody()).isNotNull();
+        assertThat(actual.getBody().content()).hasSize(pageSize);
+        assertThat(actual.getBody().content().get(pageSize - 1).id()).isEqualTo(pageSize - 1);
+        assertThat(actual.getBody().countPage()).isEqualTo(paginationResponse.countPage());
+        assertThat(actual.getBody().pageNumber()).isEqualTo(paginationResponse.pageNumber());
+
+    }
+
+    @Test
+    void shouldRetrieveLargePaginationResponseCommentsByNewsIdInChunks() throws JsonProcessingException {
+        Long newsId = 1L;
+        int pageSize = 200;
+        int numberPage = 1;
+
+        for (int chunk = 1; chunk <= 2; chunk++) {
+            List<CommentResponse> content = new ArrayList<>();
+            for (long i = 0; i < 100; i++) {
+                content.add(CommentResponseTestBuilder.aCommentResponse().withId((chunk - 1) * 100 + i).build());
+            }
+            String expected = objectMapper.writeValueAsString(new PaginationResponse<>(chunk, 5, content));
+
+            stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=100&numberPage=" + chunk))
+                    .willReturn(aResponse()
+                            .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                            .withStatus(200)
+                            .withBody(expected)));
+        }
+        stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=100&numberPage=5"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(
+                                new PaginationResponse<>(5, 5, comments(400L, 50))))));
+
+        ResponseEntity<PaginationResponse<CommentResponse>> actual = commentService
+                .getCommentsByIdNews(newsId, pageSize, numberPage).block();
+
+        assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(actual.getBody()).isNotNull();
+        assertThat(actual.getBody().content()).hasSize(pageSize);
+        assertThat(actual.getBody().content().get(100).id()).isEqualTo(100L);
+        assertThat(actual.getBody().countPage()).isEqualTo(3);
+        assertThat(actual.getBody().pageNumber()).isEqualTo(numberPage);
 
     }
 
+    @Test
+    void shouldSliceLargePageFromFixedSizeChunks() throws JsonProcessingException {
+        Long newsId = 2L;
+        int pageSize = 150;
+        int numberPage = 2;
+
+        for (int chunk = 2; chunk <= 3; chunk++) {
+            stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=100&numberPage=" + chunk))
+                    .willReturn(aResponse()
+                            .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                            .withStatus(200)
+                            .withBody(objectMapper.writeValueAsString(
+                                    new PaginationResponse<>(chunk, 3, comments((chunk - 1) * 100L, 100))))));
+        }
+
+        ResponseEntity<PaginationResponse<CommentResponse>> actual = commentService
+                .getCommentsByIdNews(newsId, pageSize, numberPage).block();
+
+        assertThat(actual.getBody().content()).hasSize(pageSize);
+        assertThat(actual.getBody().content().get(0).id()).isEqualTo(150L);
+        assertThat(actual.getBody().content().get(149).id()).isEqualTo(299L);
+        assertThat(actual.getBody().countPage()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldCountPagesOfChunkedPageFromItemsOfLastChunk() throws JsonProcessingException {
+        Long newsId = 4L;
+        stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=100&numberPage=1"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(
+                                new PaginationResponse<>(1, 2, comments(0L, 100))))));
+        stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=100&numberPage=2"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(
+                                new PaginationResponse<>(2, 2, comments(100L, 20))))));
+
+        ResponseEntity<PaginationResponse<CommentResponse>> actual = commentService
+                .getCommentsByIdNews(newsId, 150, 1).block();
+
+        assertThat(actual.getBody().content()).hasSize(120);
+        assertThat(actual.getBody().countPage()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectChunkedPageAboveItemLimit() throws JsonProcessingException {
+        Long newsId = 3L;
+
+        stubFor(get(urlPathEqualTo("/comments/news/" + newsId))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(
+                                new PaginationResponse<>(1, 1000, comments(0L, 100))))));
+
+        StepVerifier.create(commentService.getCommentsByIdNews(newsId, 1_000_000, 1))
+                .expectError(MicroserviceResponseException.class)
+                .verify();
+        verify(0, getRequestedFor(urlPathEqualTo("/comments/news/" + newsId)));
+    }
+
     @Test
     void shouldRetrieveAllPaginationResponseCommentsFromArchiveWhenStatusCodeIs2xx() throws JsonProcessingException {
         int pageSize = 1;
@@ -195,9 +329,9 @@ class CommentIntegrationTest {
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getContent().size()).isOne();
-        assertThat(actual.getBody().getCountPage()).isEqualTo(paginationResponse.getCountPage());
-        assertThat(actual.getBody().getPageNumber()).isEqualTo(paginationResponse.getPageNumber());
+        assertThat(actual.getBody().content().size()).isOne();
+        assertThat(actual.getBody().countPage()).isEqualTo(paginationResponse.countPage());
+        assertThat(actual.getBody().pageNumber()).isEqualTo(paginationResponse.pageNumber());
 
     }
 
@@ -205,8 +339,7 @@ class CommentIntegrationTest {
     void shouldRetrieveCreatedCommentWhenStatusCodeIs2xx() throws JsonProcessingException {
         UserRequest userRequest = UserRequestBuilderTest.aUserRequest().build();
 
-        when(httpServletRequest.getHeader("X-User-UUID")).thenReturn(userRequest.getUuid().toString());
-        when(httpServletRequest.getHeader("X-User-Name")).thenReturn(userRequest.getUserName());
+        UserContext user = new UserContext(userRequest.getUuid(), userRequest.getUserName());
         CommentRequest request = CommentRequestTestBuilder.aCommentRequest().build();
         ModifyCommentRequest modifyCommentRequest = ModifyCommentRequest.builder()
                 .text(request.text())
@@ -221,13 +354,13 @@ class CommentIntegrationTest {
                         .withStatus(200)
                         .withBody(expected)));
 
-        ResponseEntity<CommentResponse> actual = commentService.create(request, httpServletRequest).block();
+        ResponseEntity<CommentResponse> actual = commentService.create(request, user).block();
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getText()).isEqualTo("Test text comment");
-        assertThat(actual.getBody().getUser().userName()).isEqualTo(userRequest.getUserName());
-        assertThat(actual.getBody().getNewsId()).isEqualTo(request.newsId());
+        assertThat(actual.getBody().text()).isEqualTo("Test text comment");
+        assertThat(actual.getBody().user().userName()).isEqualTo(userRequest.getUserName());
+        assertThat(actual.getBody().newsId()).isEqualTo(request.newsId());
 
     }
 
@@ -235,8 +368,7 @@ class CommentIntegrationTest {
     void shouldRetrieveUpdatedCommentWhenStatusCodeIs2xx() throws JsonProcessingException {
         UserRequest userRequest = UserRequestBuilderTest.aUserRequest().build();
         long commentId = 1L;
-        when(httpServletRequest.getHeader("X-User-UUID")).thenReturn(userRequest.getUuid().toString());
-        when(httpServletRequest.getHeader("X-User-Name")).thenReturn(userRequest.getUserName());
+        UserContext user = new UserContext(userRequest.getUuid(), userRequest.getUserName());
         CommentRequest request = CommentRequestTestBuilder.aCommentRequest().build();
         ModifyCommentRequest modifyCommentRequest = ModifyCommentRequest.builder()
                 .text(request.text())
@@ -257,13 +389,13 @@ class CommentIntegrationTest {
                         .withStatus(200)
                         .withBody(expected)));
 
-        ResponseEntity<CommentResponse> actual = commentService.update(commentId, request, httpServletRequest).block();
+        ResponseEntity<CommentResponse> actual = commentService.update(commentId, request, user).block();
 
         assertThat(actual.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(actual.getBody()).isNotNull();
-        assertThat(actual.getBody().getText()).isEqualTo("Test text comment");
-        assertThat(actual.getBody().getUser().userName()).isEqualTo(userRequest.getUserName());
-        assertThat(actual.getBody().getNewsId()).isEqualTo(request.newsId());
+        assertThat(actual.getBody().text()).isEqualTo("Test text comment");
+        assertThat(actual.getBody().user().userName()).isEqualTo(userRequest.getUserName());
+        assertThat(actual.getBody().newsId()).isEqualTo(request.newsId());
 
     }
 
@@ -271,8 +403,7 @@ class CommentIntegrationTest {
     void shouldThrowAccessDeniedExceptionInMethodUpdate() throws JsonProcessingException {
         long commentId = 1L;
         UserRequest userRequest = UserRequestBuilderTest.aUserRequest().build();
-        when(httpServletRequest.getHeader("X-User-UUID")).thenReturn("93dee9c7-1756-4fe7-bd97-7b545c0e9467");
-        when(httpServletRequest.getHeader("X-User-Name")).thenReturn(userRequest.getUserName());
+        UserContext user = new UserContext(UUID.fromString("93dee9c7-1756-4fe7-bd97-7b545c0e9467"), userRequest.getUserName());
         CommentRequest request = CommentRequestTestBuilder.aCommentRequest().build();
         ModifyCommentRequest modifyCommentRequest = ModifyCommentRequest.builder()
                 .text(request.text())
@@ -287,9 +418,17 @@ class CommentIntegrationTest {
                         .withStatus(200)
                         .withBody(expected)));
 
-        StepVerifier.create(commentService.update(commentId, request, httpServletRequest))
+        StepVerifier.create(commentService.update(commentId, request, user))
                 .expectError(AccessDeniedException.class)
                 .verify();
 
     }
-}
\ No newline at end of file
+
+    private List<CommentResponse> comments(long firstId, int count) {
+        List<CommentResponse> content = new ArrayList<>();
+        for (long id = firstId; id < firstId + count; id++) {
+            content.add(CommentResponseTestBuilder.aCommentResponse().withId(id).build());
+        }
+        return content;
+    }
+}
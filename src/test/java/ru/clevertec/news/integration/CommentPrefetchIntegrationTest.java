@@ -0,0 +1,86 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"comments.prefetch.enabled=true", "news.comments.reuse-max-age=10s"})
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class CommentPrefetchIntegrationTest {
+
+    private static final String COMMENTS_URL = "/comments/news/51?pageSize=15&numberPage=1";
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldServeNewsViewWithCommentsPrefetchedForServedPage() throws JsonProcessingException {
+        NewsResponse news = new NewsResponse(51L, LocalDateTime.of(2024, 1, 1, 12, 0), "Prefetched", "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+        CommentResponse comment = CommentResponseTestBuilder.aCommentResponse().build();
+        stub("/news?pageSize=1&numberPage=1", new PaginationResponse<>(1, 1, List.of(news)));
+        stub("/news/51", news);
+        stub(COMMENTS_URL, new PaginationResponse<>(1, 1, List.of(comment)));
+
+        webTestClient.get()
+                .uri("/api/news?pageSize=1&numberPage=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].title").isEqualTo("Prefetched");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(exactly(1), getRequestedFor(urlEqualTo(COMMENTS_URL))));
+
+        webTestClient.get()
+                .uri("/api/news/51")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.comments.content[0].text").isEqualTo(comment.text());
+
+        verify(exactly(1), getRequestedFor(urlEqualTo(COMMENTS_URL)));
+    }
+
+    private void stub(String url, Object body) throws JsonProcessingException {
+        stubFor(get(urlEqualTo(url))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(body))));
+    }
+}
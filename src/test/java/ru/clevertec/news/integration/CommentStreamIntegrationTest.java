@@ -0,0 +1,156 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import ru.clevertec.exceptionhandlerstarter.entity.IncorrectData;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.service.CommentStreams;
+import ru.clevertec.news.util.CommentRequestTestBuilder;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.moreThanOrExactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "comments.stream.poll-interval=200ms")
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class CommentStreamIntegrationTest {
+
+    private static final String POLL_URL = "/comments/news/91?pageSize=50&numberPage=1";
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    CommentStreams commentStreams;
+
+    @Test
+    void shouldStreamCreatedAndPolledCommentsToEveryViewerFromOneStream() throws JsonProcessingException {
+        CommentResponse existing = comment(400L);
+        CommentResponse created = comment(501L);
+        CommentResponse createdElsewhere = comment(502L);
+        stubNews(91L);
+        stubPoll(List.of(existing));
+        stubFor(post(urlEqualTo("/comments"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(created))));
+
+        Flux<Long> first = streamedIds();
+        Flux<Long> second = streamedIds();
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(moreThanOrExactly(2), getRequestedFor(urlEqualTo(POLL_URL))));
+        assertThat(commentStreams.activeStreams()).isEqualTo(1);
+
+        webTestClient.post()
+                .uri("/api/comments")
+                .header(UserContext.X_USER_UUID, UUID.randomUUID().toString())
+                .bodyValue(CommentRequestTestBuilder.aCommentRequest().withId(91L).build())
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+        stubPoll(List.of(existing, created, createdElsewhere));
+
+        StepVerifier.create(first)
+                .expectNext(501L, 502L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+        StepVerifier.create(second)
+                .expectNext(501L, 502L)
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void shouldNotStreamCommentsOfMissingNews() throws JsonProcessingException {
+        stubFor(get(urlEqualTo("/news/92"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(404)
+                        .withBody(objectMapper.writeValueAsString(
+                                new IncorrectData("EntityNotFoundException", "News with 92 not found", "404")))));
+
+        webTestClient.get()
+                .uri("/api/news/92/comments/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().value(status -> assertThat(status).isNotEqualTo(200));
+
+        verify(0, getRequestedFor(urlEqualTo("/comments/news/92?pageSize=50&numberPage=1")));
+    }
+
+    private Flux<Long> streamedIds() {
+        return webTestClient.get()
+                .uri("/api/news/91/comments/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<CommentResponse>>() {
+                })
+                .getResponseBody()
+                .filter(event -> event.data() != null)
+                .map(event -> event.data().id())
+                .cache();
+    }
+
+    private void stubNews(long id) throws JsonProcessingException {
+        NewsResponse news = new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), "Streamed", "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+        stubFor(get(urlEqualTo("/news/" + id))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(news))));
+    }
+
+    private void stubPoll(List<CommentResponse> comments) throws JsonProcessingException {
+        stubFor(get(urlEqualTo(POLL_URL))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(new PaginationResponse<>(1, 1, comments)))));
+    }
+
+    private CommentResponse comment(long id) {
+        return CommentResponseTestBuilder.aCommentResponse().withId(id).withNewsId(91L).build();
+    }
+}
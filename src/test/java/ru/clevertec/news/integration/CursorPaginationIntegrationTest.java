@@ -0,0 +1,93 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.pagination.CursorPaginator;
+import ru.clevertec.news.pagination.PageCursor;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "pagination.prefetch.enabled=true")
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class CursorPaginationIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldReturnNextCursorAndServePrefetchedNextPage() throws JsonProcessingException {
+        stubPage(1, "First");
+        stubPage(2, "Second");
+        String nextCursor = new PageCursor(1, 2).encode();
+
+        webTestClient.get()
+                .uri("/api/news/archive?pageSize=1&numberPage=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CursorPaginator.NEXT_CURSOR_HEADER, nextCursor)
+                .expectBody()
+                .jsonPath("$.content[0].title").isEqualTo("First");
+        await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                verify(exactly(1), getRequestedFor(urlEqualTo("/news/archive?pageSize=1&numberPage=2"))));
+
+        webTestClient.get()
+                .uri("/api/news/archive?cursor={cursor}", nextCursor)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(CursorPaginator.NEXT_CURSOR_HEADER)
+                .expectBody()
+                .jsonPath("$.content[0].title").isEqualTo("Second");
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/news/archive?pageSize=1&numberPage=2")));
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        webTestClient.get()
+                .uri("/api/news/archive?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    private void stubPage(int numberPage, String title) throws JsonProcessingException {
+        NewsResponse news = new NewsResponse((long) numberPage, LocalDateTime.of(2024, 1, 1, 12, 0), title, "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+        stubFor(get(urlEqualTo("/news/archive?pageSize=1&numberPage=" + numberPage))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(new PaginationResponse<>(numberPage, 2,
+                                List.of(news))))));
+    }
+}
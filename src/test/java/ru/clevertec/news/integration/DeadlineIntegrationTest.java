@@ -0,0 +1,85 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.deadline.Deadline;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+
+import java.time.Duration;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "deadline.enabled=true")
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class DeadlineIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldPropagateRemainingBudgetToDownstream() throws JsonProcessingException {
+        CommentResponse commentResponse = CommentResponseTestBuilder.aCommentResponse().build();
+        stubFor(get(urlEqualTo("/comments/1"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(commentResponse))));
+
+        webTestClient.get()
+                .uri("/api/comments/1")
+                .header(Deadline.HEADER, "2000")
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(getRequestedFor(urlEqualTo("/comments/1"))
+                .withHeader(Deadline.HEADER, matching("\\d+")));
+    }
+
+    @Test
+    void shouldAnswerWithGatewayTimeoutWhenDownstreamMissesDeadline() throws JsonProcessingException {
+        CommentResponse commentResponse = CommentResponseTestBuilder.aCommentResponse().build();
+        stubFor(get(urlEqualTo("/comments/2"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(3000)
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withBody(objectMapper.writeValueAsString(commentResponse))));
+
+        long start = System.nanoTime();
+        webTestClient.get()
+                .uri("/api/comments/2")
+                .header(Deadline.HEADER, "300")
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.exception").isEqualTo("DeadlineExceededException");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start))
+                .isLessThan(Duration.ofMillis(2500));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class NewsFeedIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldAttachFirstCommentsToEveryNewsItemAndReuseRecentPages() throws JsonProcessingException {
+        PaginationResponse<NewsResponse> news = new PaginationResponse<>(1, 1, List.of(news(41L, "First"),
+                news(42L, "Second")));
+        stubFor(get(urlEqualTo("/news?pageSize=2&numberPage=1"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(news))));
+        CommentResponse comment = CommentResponseTestBuilder.aCommentResponse().build();
+        stubComments(41L, new PaginationResponse<>(1, 1, List.of(comment)));
+        stubComments(42L, new PaginationResponse<>(1, 0, List.of()));
+
+        for (int i = 0; i < 2; i++) {
+            webTestClient.get()
+                    .uri("/api/news/feed?pageSize=2&numberPage=1&comments=2")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody()
+                    .jsonPath("$.content.length()").isEqualTo(2)
+                    .jsonPath("$.content[0].title").isEqualTo("First")
+                    .jsonPath("$.content[0].comments.content[0].text").isEqualTo(comment.text())
+                    .jsonPath("$.content[1].title").isEqualTo("Second")
+                    .jsonPath("$.content[1].comments.content").isEmpty();
+        }
+
+        verify(exactly(1), getRequestedFor(urlEqualTo("/comments/news/41?pageSize=2&numberPage=1")));
+        verify(exactly(1), getRequestedFor(urlEqualTo("/comments/news/42?pageSize=2&numberPage=1")));
+    }
+
+    @Test
+    void shouldRejectFeedPageAboveMaximumSize() {
+        // mapped to 400 by the exception handler, which is disabled in tests
+        webTestClient.get()
+                .uri("/api/news/feed?pageSize=101&numberPage=1")
+                .exchange()
+                .expectStatus().value(status -> assertThat(status).isNotEqualTo(200));
+
+        verify(exactly(0), getRequestedFor(urlEqualTo("/news?pageSize=101&numberPage=1")));
+    }
+
+    private NewsResponse news(long id, String title) {
+        return new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), title, "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+    }
+
+    private void stubComments(long newsId, PaginationResponse<CommentResponse> comments) throws JsonProcessingException {
+        stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=2&numberPage=1"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(comments))));
+    }
+}
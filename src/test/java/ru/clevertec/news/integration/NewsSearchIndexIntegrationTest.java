@@ -0,0 +1,139 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.NewsRequest;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.service.NewsSearchIndex;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.patch;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"news.search.index.enabled=true", "news.search.index.page-size=2",
+                "news.search.index.retry-backoff=100ms"})
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class NewsSearchIndexIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Autowired
+    NewsSearchIndex newsSearchIndex;
+
+    @Test
+    void shouldSearchDownstreamUntilIndexIsBuiltThenKeepIndexCurrent() throws JsonProcessingException {
+        UUID author = UUID.randomUUID();
+        NewsResponse bridge = news(1L, "Old bridge reopened", "Traffic is back");
+        NewsResponse city = news(2L, "City news", "The bridge was painted, the bridge is green");
+        NewsResponse weather = news(3L, "Weather", "Sunny all week");
+        stubPage(1, List.of(bridge, city));
+        stubPage(2, List.of(weather));
+        stubFor(get(urlPathEqualTo("/news/search"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(List.of(bridge)))));
+
+        expectSearch("bridge", 1L);
+        await().atMost(Duration.ofSeconds(5)).until(() -> newsSearchIndex.search("bridge", 0, 10) != null);
+
+        expectSearch("bridge", 1L, 2L);
+        expectSearch("BRID", 1L, 2L);
+        expectSearch("bridge green", 2L);
+        expectSearch("bridge sunny");
+
+        NewsResponse festival = news(4L, "Bridge festival", "Music on the river");
+        stubFor(post(urlEqualTo("/news"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(festival))));
+        webTestClient.post()
+                .uri("/api/news")
+                .header(UserContext.X_USER_UUID, author.toString())
+                .bodyValue(new NewsRequest("Bridge festival", "Music on the river"))
+                .exchange()
+                .expectStatus().isOk();
+        expectSearch("festival", 4L);
+
+        stubFor(patch(urlEqualTo("/news/1")).willReturn(aResponse().withStatus(200)));
+        stubFor(patch(urlEqualTo("/comments/news/1")).willReturn(aResponse().withStatus(200)));
+        stubFor(get(urlEqualTo("/news/1"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody("{\"user\":{\"uuid\":\"" + author + "\",\"userName\":\"author\"}}")));
+        webTestClient.patch()
+                .uri("/api/news/1")
+                .header(UserContext.X_USER_UUID, author.toString())
+                .exchange()
+                .expectStatus().isOk();
+        expectSearch("bridge", 4L, 2L);
+
+        verify(exactly(1), getRequestedFor(urlPathEqualTo("/news/search")));
+    }
+
+    private void expectSearch(String searchValue, Long... ids) {
+        List<NewsResponse> found = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/news/search")
+                        .queryParam("search", searchValue)
+                        .queryParam("offset", 0)
+                        .queryParam("limit", 10)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(NewsResponse.class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(found).extracting(NewsResponse::id).containsExactly(ids);
+    }
+
+    private void stubPage(int numberPage, List<NewsResponse> content) throws JsonProcessingException {
+        stubFor(get(urlEqualTo("/news?pageSize=2&numberPage=" + numberPage))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(new PaginationResponse<>(numberPage, 2, content)))));
+    }
+
+    private NewsResponse news(Long id, String title, String text) {
+        return new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), title, text,
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+    }
+}
@@ -0,0 +1,80 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.util.CommentRequestTestBuilder;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.exactly;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.put;
+import static com.github.tomakehurst.wiremock.client.WireMock.putRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class OwnershipCacheIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldUpdateCreatedCommentWithoutReadingItsAuthor() throws JsonProcessingException {
+        UUID author = UUID.randomUUID();
+        CommentResponse comment = CommentResponseTestBuilder.aCommentResponse().withId(81L).build();
+        String body = objectMapper.writeValueAsString(comment);
+        stubFor(post(urlEqualTo("/comments"))
+                .willReturn(aResponse().withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE).withStatus(200).withBody(body)));
+        stubFor(put(urlEqualTo("/comments/81"))
+                .willReturn(aResponse().withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE).withStatus(200).withBody(body)));
+
+        webTestClient.post()
+                .uri("/api/comments")
+                .header(UserContext.X_USER_UUID, author.toString())
+                .bodyValue(CommentRequestTestBuilder.aCommentRequest().build())
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+
+        webTestClient.put()
+                .uri("/api/comments/81")
+                .header(UserContext.X_USER_UUID, author.toString())
+                .bodyValue(CommentRequestTestBuilder.aCommentRequest().build())
+                .exchange()
+                .expectStatus().isOk();
+
+        webTestClient.put()
+                .uri("/api/comments/81")
+                .header(UserContext.X_USER_UUID, UUID.randomUUID().toString())
+                .bodyValue(CommentRequestTestBuilder.aCommentRequest().build())
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        verify(exactly(0), getRequestedFor(urlEqualTo("/comments/81")));
+        verify(exactly(1), putRequestedFor(urlEqualTo("/comments/81")));
+    }
+}
@@ -0,0 +1,123 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.service.CommentPageFallback;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "news.comments.budget=1s")
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class PartialNewsResponseIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldReturnNewsWithCommentsWhenCommentsArriveWithinBudget() throws JsonProcessingException {
+        long newsId = 11L;
+        stubNews(newsId);
+        stubComments(newsId, 0);
+
+        webTestClient.get()
+                .uri("/api/news/{id}?pageSizeComments=1&numberPageComments=1", newsId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(CommentPageFallback.PARTIAL_HEADER)
+                .expectBody()
+                .jsonPath("$.comments.content[0].text").isEqualTo(comment().text());
+    }
+
+    @Test
+    void shouldLeaveCommentsOutWhenCommentsMissBudget() throws JsonProcessingException {
+        long newsId = 12L;
+        stubNews(newsId);
+        stubComments(newsId, 5000);
+
+        long start = System.nanoTime();
+        webTestClient.get()
+                .uri("/api/news/{id}?pageSizeComments=1&numberPageComments=1", newsId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CommentPageFallback.PARTIAL_HEADER, CommentPageFallback.COMMENTS_MISSING)
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Title")
+                .jsonPath("$.comments").doesNotExist();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(3000));
+    }
+
+    @Test
+    void shouldFillCommentsFromLastServedPageWhenCommentsMissBudget() throws JsonProcessingException {
+        long newsId = 13L;
+        stubNews(newsId);
+        stubComments(newsId, 0);
+        webTestClient.get()
+                .uri("/api/news/{id}?pageSizeComments=1&numberPageComments=1", newsId)
+                .exchange()
+                .expectStatus().isOk();
+        stubComments(newsId, 5000);
+
+        webTestClient.get()
+                .uri("/api/news/{id}?pageSizeComments=1&numberPageComments=1", newsId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(CommentPageFallback.PARTIAL_HEADER, CommentPageFallback.COMMENTS_STALE)
+                .expectBody()
+                .jsonPath("$.comments.content[0].text").isEqualTo(comment().text());
+    }
+
+    private void stubNews(long newsId) throws JsonProcessingException {
+        NewsResponse newsResponse = new NewsResponse(newsId, LocalDateTime.of(2024, 1, 1, 12, 0), "Title", "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+        stubFor(get(urlEqualTo("/news/" + newsId))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(newsResponse))));
+    }
+
+    private void stubComments(long newsId, int delayMillis) throws JsonProcessingException {
+        PaginationResponse<CommentResponse> comments = new PaginationResponse<>(1, 1, List.of(comment()));
+        stubFor(get(urlEqualTo("/comments/news/" + newsId + "?pageSize=1&numberPage=1"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withFixedDelay(delayMillis)
+                        .withBody(objectMapper.writeValueAsString(comments))));
+    }
+
+    private CommentResponse comment() {
+        return CommentResponseTestBuilder.aCommentResponse().build();
+    }
+}
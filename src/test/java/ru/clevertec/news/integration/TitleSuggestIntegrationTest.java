@@ -0,0 +1,110 @@
+package ru.clevertec.news.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import com.github.tomakehurst.wiremock.matching.UrlPattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.clevertec.news.config.Config;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsRequest;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureWebTestClient(timeout = "10s")
+@WireMockTest(httpPort = 9998)
+@ActiveProfiles("test")
+@Import(Config.class)
+class TitleSuggestIntegrationTest {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    void shouldSuggestTitlesOfPagedCreatedAndViewedNews() throws JsonProcessingException {
+        NewsResponse reopened = news(31L, "Quokka reopened");
+        NewsResponse painted = news(32L, "Quokka painted");
+        stubJson(urlEqualTo("/news?pageSize=2&numberPage=1"),
+                new PaginationResponse<>(1, 1, List.of(reopened, painted)));
+        stubJson(urlEqualTo("/news/32"), painted);
+        stubJson(urlPathEqualTo("/comments/news/32"), new PaginationResponse<CommentResponse>(1, 0, List.of()));
+
+        webTestClient.get()
+                .uri("/api/news?pageSize=2&numberPage=1")
+                .exchange()
+                .expectStatus().isOk();
+        webTestClient.get()
+                .uri("/api/news/32")
+                .exchange()
+                .expectStatus().isOk();
+        expectSuggestions("quo", "Quokka painted", "Quokka reopened");
+
+        NewsResponse festival = news(33L, "Quoll festival");
+        stubFor(post(urlEqualTo("/news"))
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(festival))));
+        webTestClient.post()
+                .uri("/api/news")
+                .header(UserContext.X_USER_UUID, UUID.randomUUID().toString())
+                .bodyValue(new NewsRequest("Quoll festival", "Music"))
+                .exchange()
+                .expectStatus().isOk();
+
+        expectSuggestions("QUOL", "Quoll festival");
+        expectSuggestions("weather");
+    }
+
+    private void expectSuggestions(String prefix, String... titles) {
+        String[] suggested = webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/news/suggest")
+                        .queryParam("prefix", prefix)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String[].class)
+                .returnResult()
+                .getResponseBody();
+        assertThat(suggested).containsExactly(titles);
+    }
+
+    private void stubJson(UrlPattern url, Object body) throws JsonProcessingException {
+        stubFor(get(url)
+                .willReturn(aResponse()
+                        .withHeader(CONTENT_TYPE, APPLICATION_JSON_VALUE)
+                        .withStatus(200)
+                        .withBody(objectMapper.writeValueAsString(body))));
+    }
+
+    private NewsResponse news(Long id, String title) {
+        return new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), title, "Text",
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+    }
+}
@@ -0,0 +1,103 @@
+package ru.clevertec.news.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.clevertec.loggingstarter.annotation.Loggable;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampledLoggingAspectTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SampledLoggingAspect.LOGGER_NAME);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void shouldNotLogSuccessfulCallWhenItIsNotSampled() {
+        Service service = proxy(0.0, Map.of(), Duration.ofSeconds(10));
+
+        StepVerifier.create(service.find(1L)).expectNext("value 1").verifyComplete();
+
+        assertThat(appender.list).isEmpty();
+    }
+
+    @Test
+    void shouldLogSuccessfulCallWithRateOfMethod() {
+        Service service = proxy(0.0, Map.of("Service.find", 1.0), Duration.ofSeconds(10));
+
+        StepVerifier.create(service.find(1L)).expectNext("value 1").verifyComplete();
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.INFO);
+            assertThat(event.getFormattedMessage()).startsWith("Service.find args=[1] took").endsWith("value 1");
+        });
+    }
+
+    @Test
+    void shouldAlwaysLogFailedCall() {
+        Service service = proxy(0.0, Map.of(), Duration.ofSeconds(10));
+
+        StepVerifier.create(service.fail(2L)).verifyError(IllegalStateException.class);
+
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(event.getFormattedMessage()).contains("Service.fail args=[2] failed after");
+            assertThat(event.getThrowableProxy().getClassName()).isEqualTo(IllegalStateException.class.getName());
+        });
+    }
+
+    @Test
+    void shouldAlwaysLogSlowCall() {
+        Service service = proxy(0.0, Map.of(), Duration.ofMillis(10));
+
+        StepVerifier.create(service.slow()).expectNext("slow").verifyComplete();
+
+        assertThat(appender.list).singleElement()
+                .satisfies(event -> assertThat(event.getLevel()).isEqualTo(Level.WARN));
+    }
+
+    private Service proxy(double rate, Map<String, Double> methodRates, Duration slowThreshold) {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Service());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new SampledLoggingAspect(rate, methodRates, slowThreshold, 512));
+        return proxyFactory.getProxy();
+    }
+
+    @Loggable
+    static class Service {
+
+        public Mono<String> find(Long id) {
+            return Mono.just("value " + id);
+        }
+
+        public Mono<String> fail(Long id) {
+            return Mono.error(new IllegalStateException("Comment " + id + " is not available"));
+        }
+
+        public Mono<String> slow() {
+            return Mono.just("slow").delayElement(Duration.ofMillis(50));
+        }
+    }
+}
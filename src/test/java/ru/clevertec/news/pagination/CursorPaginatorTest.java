@@ -0,0 +1,70 @@
+package ru.clevertec.news.pagination;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.clevertec.news.admission.AdmissionController;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CursorPaginatorTest {
+
+    private final List<Integer> fetchedPages = new CopyOnWriteArrayList<>();
+    private final Function<PageCursor, Mono<ResponseEntity<PaginationResponse<String>>>> fetch = cursor -> {
+        fetchedPages.add(cursor.numberPage());
+        return Mono.just(ResponseEntity.ok(new PaginationResponse<>(cursor.numberPage(), 3, List.of("item"))));
+    };
+
+    private AdmissionController admissionController;
+    private ObjectProvider<AdmissionController> admissionProvider;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        admissionController = mock(AdmissionController.class);
+        admissionProvider = mock(ObjectProvider.class);
+        when(admissionProvider.getIfAvailable()).thenReturn(admissionController);
+    }
+
+    @Test
+    void shouldPrefetchNextPageWhenNoRequestsQueue() {
+        when(admissionController.queueingDelay()).thenReturn(Duration.ZERO);
+        CursorPaginator paginator = new CursorPaginator(true, admissionProvider, Duration.ofSeconds(10), 10);
+
+        paginator.page("news", new PageCursor(1, 1), fetch).block();
+
+        assertThat(fetchedPages).containsExactly(1, 2);
+    }
+
+    @Test
+    void shouldNotPrefetchWhileRequestsQueue() {
+        when(admissionController.queueingDelay()).thenReturn(Duration.ofMillis(20));
+        CursorPaginator paginator = new CursorPaginator(true, admissionProvider, Duration.ofSeconds(10), 10);
+
+        ResponseEntity<PaginationResponse<String>> response = paginator.page("news", new PageCursor(1, 1), fetch)
+                .block();
+
+        assertThat(fetchedPages).containsExactly(1);
+        assertThat(response.getHeaders().getFirst(CursorPaginator.NEXT_CURSOR_HEADER))
+                .isEqualTo(new PageCursor(1, 2).encode());
+    }
+
+    @Test
+    void shouldNotPrefetchWhenDisabled() {
+        CursorPaginator paginator = new CursorPaginator(false, admissionProvider, Duration.ofSeconds(10), 10);
+
+        paginator.page("news", new PageCursor(1, 1), fetch).block();
+
+        assertThat(fetchedPages).containsExactly(1);
+    }
+}
@@ -0,0 +1,146 @@
+package ru.clevertec.news.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.FieldsProjection;
+import ru.clevertec.news.util.PaginationResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentCounterTest {
+
+    private static final FieldsProjection COUNT_ONLY = FieldsProjection.of(List.of("commentsCount"));
+
+    private CommentService commentService;
+    private ObjectProvider<CommentService> commentServiceProvider;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        commentService = mock(CommentService.class);
+        commentServiceProvider = mock(ObjectProvider.class);
+        when(commentServiceProvider.getObject()).thenReturn(commentService);
+    }
+
+    @Test
+    void shouldCountNewItemsWhenFullByDroppingEarliestSeeded() {
+        CommentCounter counter = counter(2, Duration.ofMinutes(10));
+
+        counter.reset(1L);
+        counter.reset(2L);
+        counter.reset(3L);
+        counter.increment(3L);
+
+        assertThat(counter.find(1L)).isNull();
+        assertThat(counter.find(2L)).isZero();
+        assertThat(counter.find(3L)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldDropExpiredCountsOnInsert() throws InterruptedException {
+        CommentCounter counter = counter(2, Duration.ofMillis(20));
+
+        counter.reset(1L);
+        counter.reset(2L);
+        Thread.sleep(50);
+        counter.reset(3L);
+        counter.reset(4L);
+
+        assertThat(counter.find(3L)).isZero();
+        assertThat(counter.find(4L)).isZero();
+    }
+
+    @Test
+    void shouldAddCommentsCreatedDuringSeedToSeededCount() {
+        Sinks.One<ResponseEntity<PaginationResponse<CommentResponse>>> seed = Sinks.one();
+        when(commentService.getCommentsByIdNews(eq(1L), anyInt(), anyInt(), any(FieldsProjection.class)))
+                .thenReturn(seed.asMono());
+        CommentCounter counter = counter(10, Duration.ofMinutes(10));
+
+        Mono<ResponseEntity<NewsResponse>> view = counter.withCount(1L, Mono.just(ResponseEntity.ok(news())),
+                COUNT_ONLY).cache();
+        view.subscribe();
+        counter.increment(1L);
+        counter.increment(1L);
+        counter.decrement(1L);
+        seed.tryEmitValue(ResponseEntity.ok(new PaginationResponse<>(1, 3, List.of())));
+
+        assertThat(view.block().getBody().commentsCount()).isEqualTo(4L);
+        assertThat(counter.find(1L)).isEqualTo(4L);
+    }
+
+    @Test
+    void shouldLeaveCountOutWhenSeedFails() {
+        when(commentService.getCommentsByIdNews(eq(1L), anyInt(), anyInt(), any(FieldsProjection.class)))
+                .thenReturn(Mono.error(new IllegalStateException()));
+        CommentCounter counter = counter(10, Duration.ofMinutes(10));
+
+        ResponseEntity<NewsResponse> view = counter.withCount(1L, Mono.just(ResponseEntity.ok(news())),
+                COUNT_ONLY).block();
+        counter.increment(1L);
+
+        assertThat(view.getBody().commentsCount()).isNull();
+        assertThat(counter.find(1L)).isNull();
+    }
+
+    @Test
+    void shouldShareOneSeedBetweenConcurrentViews() {
+        Sinks.One<ResponseEntity<PaginationResponse<CommentResponse>>> seed = Sinks.one();
+        when(commentService.getCommentsByIdNews(eq(1L), anyInt(), anyInt(), any(FieldsProjection.class)))
+                .thenReturn(seed.asMono());
+        CommentCounter counter = counter(10, Duration.ofMinutes(10));
+
+        Mono<ResponseEntity<NewsResponse>> first = counter.withCount(1L, Mono.just(ResponseEntity.ok(news())),
+                COUNT_ONLY).cache();
+        Mono<ResponseEntity<NewsResponse>> second = counter.withCount(1L, Mono.just(ResponseEntity.ok(news())),
+                COUNT_ONLY).cache();
+        first.subscribe();
+        second.subscribe();
+        seed.tryEmitValue(ResponseEntity.ok(new PaginationResponse<>(1, 2, List.of())));
+
+        assertThat(first.block().getBody().commentsCount()).isEqualTo(2L);
+        assertThat(second.block().getBody().commentsCount()).isEqualTo(2L);
+        verify(commentService, times(1)).getCommentsByIdNews(eq(1L), anyInt(), anyInt(), any(FieldsProjection.class));
+    }
+
+    @Test
+    void shouldSeedDefaultViewInBackgroundWithoutWaitingForIt() {
+        Sinks.One<ResponseEntity<PaginationResponse<CommentResponse>>> seed = Sinks.one();
+        when(commentService.getCommentsByIdNews(eq(1L), anyInt(), anyInt(), any(FieldsProjection.class)))
+                .thenReturn(seed.asMono());
+        CommentCounter counter = counter(10, Duration.ofMinutes(10));
+
+        ResponseEntity<NewsResponse> view = counter.withCount(1L, Mono.just(ResponseEntity.ok(news())),
+                FieldsProjection.all()).block(Duration.ofSeconds(1));
+        seed.tryEmitValue(ResponseEntity.ok(new PaginationResponse<>(1, 5, List.of())));
+
+        assertThat(view.getBody().commentsCount()).isNull();
+        assertThat(counter.withCount(1L, Mono.just(ResponseEntity.ok(news())), FieldsProjection.all()).block()
+                .getBody().commentsCount()).isEqualTo(5L);
+    }
+
+    private CommentCounter counter(int maxEntries, Duration ttl) {
+        return new CommentCounter(commentServiceProvider, true, maxEntries, ttl, Duration.ofSeconds(5));
+    }
+
+    private static NewsResponse news() {
+        return new NewsResponse(1L, LocalDateTime.of(2024, 1, 1, 12, 0), "Title", "Text", null, null, null);
+    }
+}
@@ -0,0 +1,152 @@
+package ru.clevertec.news.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.clevertec.cache.Cache;
+import ru.clevertec.news.entity.dto.CommentRequest;
+import ru.clevertec.news.entity.dto.CommentResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+import ru.clevertec.news.util.CommentRequestTestBuilder;
+import ru.clevertec.news.util.CommentResponseTestBuilder;
+import ru.clevertec.news.util.FieldsProjection;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CommentServiceImplCachingDecoratorTest {
+
+    private final UserContext user = new UserContext(UUID.randomUUID(), "user");
+
+    private CommentServiceImpl commentService;
+    private CommentService decorator;
+
+    @BeforeEach
+    void setUp() {
+        commentService = mock(CommentServiceImpl.class);
+        decorator = new CommentServiceImplCachingDecorator(commentService, MapCache::new);
+    }
+
+    @Test
+    void shouldCallServiceOnceWhenCommentIsReadTwice() {
+        AtomicInteger subscriptions = new AtomicInteger();
+        ResponseEntity<CommentResponse> response = ResponseEntity.ok(
+                CommentResponseTestBuilder.aCommentResponse().build());
+        when(commentService.get(1L)).thenReturn(Mono.fromCallable(() -> {
+            subscriptions.incrementAndGet();
+            return response;
+        }));
+
+        assertThat(decorator.get(1L).block()).isEqualTo(response);
+        assertThat(decorator.get(1L).block()).isEqualTo(response);
+
+        verify(commentService, times(1)).get(1L);
+        assertThat(subscriptions).hasValue(1);
+    }
+
+    @Test
+    void shouldServeUpdatedCommentWithoutRunningUpdateAgain() {
+        CommentRequest request = CommentRequestTestBuilder.aCommentRequest().build();
+        AtomicInteger updates = new AtomicInteger();
+        ResponseEntity<CommentResponse> updated = ResponseEntity.ok(
+                CommentResponseTestBuilder.aCommentResponse().withText("Updated").build());
+        when(commentService.update(1L, request, user)).thenReturn(Mono.fromCallable(() -> {
+            updates.incrementAndGet();
+            return updated;
+        }));
+
+        decorator.update(1L, request, user).block();
+
+        assertThat(decorator.get(1L).block()).isEqualTo(updated);
+        assertThat(decorator.get(1L).block()).isEqualTo(updated);
+        assertThat(updates).hasValue(1);
+        verify(commentService, times(0)).get(1L);
+    }
+
+    @Test
+    void shouldNotCacheUpdateThatIsNotSubscribed() {
+        CommentRequest request = CommentRequestTestBuilder.aCommentRequest().build();
+        ResponseEntity<CommentResponse> response = ResponseEntity.ok(
+                CommentResponseTestBuilder.aCommentResponse().build());
+        when(commentService.update(1L, request, user)).thenReturn(Mono.error(new IllegalStateException()));
+        when(commentService.get(1L)).thenReturn(Mono.just(response));
+
+        decorator.update(1L, request, user);
+
+        assertThat(decorator.get(1L).block()).isEqualTo(response);
+        verify(commentService, times(1)).get(1L);
+    }
+
+    @Test
+    void shouldCallServiceAgainWhenCommentIsArchived() {
+        Mono<ResponseEntity<CommentResponse>> response = Mono.just(
+                ResponseEntity.ok(CommentResponseTestBuilder.aCommentResponse().build()));
+        when(commentService.get(1L)).thenReturn(response);
+        when(commentService.archive(1L, user)).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        decorator.get(1L).block();
+        Mono<ResponseEntity<Void>> archive = decorator.archive(1L, user);
+        decorator.get(1L).block();
+        archive.block();
+        decorator.get(1L).block();
+
+        verify(commentService, times(2)).get(1L);
+    }
+
+    @Test
+    void shouldNotCacheReadThatWasInFlightDuringUpdate() {
+        CommentRequest request = CommentRequestTestBuilder.aCommentRequest().build();
+        ResponseEntity<CommentResponse> stale = ResponseEntity.ok(
+                CommentResponseTestBuilder.aCommentResponse().build());
+        ResponseEntity<CommentResponse> updated = ResponseEntity.ok(
+                CommentResponseTestBuilder.aCommentResponse().withText("Updated").build());
+        Sinks.One<ResponseEntity<CommentResponse>> staleRead = Sinks.one();
+        when(commentService.get(1L)).thenReturn(staleRead.asMono());
+        when(commentService.update(1L, request, user)).thenReturn(Mono.just(updated));
+
+        Mono<ResponseEntity<CommentResponse>> read = decorator.get(1L).cache();
+        read.subscribe();
+        decorator.update(1L, request, user).block();
+        staleRead.tryEmitValue(stale);
+
+        assertThat(read.block()).isEqualTo(stale);
+        assertThat(decorator.get(1L).block()).isEqualTo(updated);
+    }
+
+    @Test
+    void shouldDelegateMethodsWithoutCachingAnnotations() {
+        decorator.getAll(10, 1);
+
+        verify(commentService).getAll(10, 1, FieldsProjection.all());
+    }
+
+    private static class MapCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, V> values = new HashMap<>();
+
+        @Override
+        public V get(K key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void removeByKey(K key) {
+            values.remove(key);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package ru.clevertec.news.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CommentStreamsTest {
+
+    private final List<Disposable> viewers = new ArrayList<>();
+    private CommentStreams commentStreams;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        CommentService commentService = mock(CommentService.class);
+        when(commentService.getCommentsByIdNews(anyLong(), anyInt(), anyInt())).thenReturn(Mono.never());
+        ObjectProvider<CommentService> commentServiceProvider = mock(ObjectProvider.class);
+        when(commentServiceProvider.getObject()).thenReturn(commentService);
+        commentStreams = new CommentStreams(commentServiceProvider, Duration.ofMinutes(1), 50, Duration.ofMinutes(1), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        viewers.forEach(Disposable::dispose);
+    }
+
+    @Test
+    void shouldRejectNewStreamWhenMaximumIsReached() {
+        viewers.add(commentStreams.stream(1L).subscribe());
+
+        StepVerifier.create(commentStreams.stream(2L))
+                .expectErrorSatisfies(e -> assertThat(e)
+                        .isInstanceOfSatisfying(ResponseStatusException.class, rejected ->
+                                assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS)))
+                .verify(Duration.ofSeconds(1));
+        assertThat(commentStreams.activeStreams()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldJoinStreamedNewsWhenMaximumIsReached() {
+        viewers.add(commentStreams.stream(1L).subscribe());
+
+        StepVerifier.create(commentStreams.stream(1L))
+                .expectNextMatches(event -> "keep-alive".equals(event.comment()))
+                .thenCancel()
+                .verify(Duration.ofSeconds(1));
+    }
+}
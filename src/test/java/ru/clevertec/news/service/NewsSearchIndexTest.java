@@ -0,0 +1,107 @@
+package ru.clevertec.news.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.util.PaginationResponse;
+import ru.clevertec.news.util.UserResponseBuilderTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsSearchIndexTest {
+
+    private NewsService newsService;
+    private ObjectProvider<NewsService> newsServiceProvider;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        newsService = mock(NewsService.class);
+        newsServiceProvider = mock(ObjectProvider.class);
+        when(newsServiceProvider.getObject()).thenReturn(newsService);
+    }
+
+    @Test
+    void shouldFindNewsWithTheirText() {
+        NewsSearchIndex index = index(10, Long.MAX_VALUE);
+
+        index.rebuild(Flux.just(news(1L, "Bridge reopened", "Traffic is back"))).block();
+
+        assertThat(index.search("traffic", 0, 10))
+                .singleElement()
+                .satisfies(found -> {
+                    assertThat(found.id()).isEqualTo(1L);
+                    assertThat(found.title()).isEqualTo("Bridge reopened");
+                    assertThat(found.user()).isNotNull();
+                    assertThat(found.text()).isEqualTo("Traffic is back");
+                });
+    }
+
+    @Test
+    void shouldNotIndexMoreThanMaximumBytes() {
+        when(newsService.getAll(2, 1)).thenReturn(Mono.never());
+        NewsSearchIndex index = index(10, 1000);
+
+        StepVerifier.create(index.rebuild(Flux.range(1, 10)
+                        .map(id -> news((long) id, "Title " + id, "Some words of the text " + id))))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+
+        assertThat(index.search("title", 0, 10)).isNull();
+    }
+
+    @Test
+    void shouldTellCorpusTooLargeFromFirstPageAndNotCrawlAgainBeforeMaximumAge() {
+        when(newsService.getAll(2, 1)).thenReturn(Mono.just(ResponseEntity.ok(
+                new PaginationResponse<>(1, 5, List.of(news(1L, "First", "Text"), news(2L, "Second", "Text"))))));
+        NewsSearchIndex index = index(4, Long.MAX_VALUE);
+
+        index.bootstrap();
+        assertThat(index.search("first", 0, 10)).isNull();
+        index.bootstrap();
+
+        verify(newsService, times(1)).getAll(2, 1);
+        verify(newsService, times(0)).getAll(2, 2);
+    }
+
+    @Test
+    void shouldRetryFailedBuildOnlyAfterBackoff() {
+        when(newsService.getAll(2, 1))
+                .thenReturn(Mono.error(new IllegalStateException("news-service is down")))
+                .thenReturn(Mono.just(ResponseEntity.ok(
+                        new PaginationResponse<>(1, 1, List.of(news(1L, "First", "Text"))))));
+        NewsSearchIndex index = new NewsSearchIndex(newsServiceProvider, true, 2, 10, Long.MAX_VALUE, 50,
+                Duration.ofMinutes(30), Duration.ofMillis(200));
+
+        index.bootstrap();
+        assertThat(index.search("first", 0, 10)).isNull();
+        verify(newsService, times(1)).getAll(2, 1);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> index.search("first", 0, 10) != null);
+        verify(newsService, times(2)).getAll(2, 1);
+    }
+
+    private NewsSearchIndex index(int maxDocuments, long maxBytes) {
+        return new NewsSearchIndex(newsServiceProvider, true, 2, maxDocuments, maxBytes, 50,
+                Duration.ofMinutes(30), Duration.ofSeconds(10));
+    }
+
+    private static NewsResponse news(Long id, String title, String text) {
+        return new NewsResponse(id, LocalDateTime.of(2024, 1, 1, 12, 0), title, text,
+                UserResponseBuilderTest.aUserResponse().build(), null, null);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.clevertec.news.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import ru.clevertec.cache.Cache;
+import ru.clevertec.news.entity.dto.BulkItem;
+import ru.clevertec.news.entity.dto.NewsRequest;
+import ru.clevertec.news.entity.dto.NewsResponse;
+import ru.clevertec.news.entity.dto.UserContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NewsServiceImplCachingDecoratorTest {
+
+    private final UserContext user = new UserContext(UUID.randomUUID(), "user");
+
+    private NewsServiceImpl newsService;
+    private NewsService decorator;
+
+    @BeforeEach
+    void setUp() {
+        newsService = mock(NewsServiceImpl.class);
+        decorator = new NewsServiceImplCachingDecorator(newsService, MapCache::new);
+    }
+
+    @Test
+    void shouldServeUpdatedNewsToBulkReadsWithoutRunningUpdateAgain() {
+        NewsRequest request = new NewsRequest("Updated", "Text");
+        AtomicInteger updates = new AtomicInteger();
+        ResponseEntity<NewsResponse> updated = ResponseEntity.ok(
+                new NewsResponse(1L, LocalDateTime.now(), "Updated", "Text", null, null, null));
+        when(newsService.update(1L, request, user)).thenReturn(Mono.fromCallable(() -> {
+            updates.incrementAndGet();
+            return updated;
+        }));
+        when(newsService.get(2L)).thenReturn(Mono.just(ResponseEntity.ok(
+                new NewsResponse(2L, LocalDateTime.now(), "Other", "Text", null, null, null))));
+
+        decorator.update(1L, request, user).block();
+        BulkFetcher bulkFetcher = new BulkFetcher(8);
+        List<BulkItem<NewsResponse>> first = bulkFetcher.fetch(List.of(1L, 2L), decorator::get).block().getBody();
+        List<BulkItem<NewsResponse>> second = bulkFetcher.fetch(List.of(2L, 1L), decorator::get).block().getBody();
+
+        assertThat(first).extracting(item -> item.value().title()).containsExactly("Updated", "Other");
+        assertThat(second).extracting(item -> item.value().title()).containsExactly("Other", "Updated");
+        assertThat(updates).hasValue(1);
+        verify(newsService, times(0)).get(1L);
+        verify(newsService, times(1)).get(2L);
+    }
+
+    private static class MapCache<K, V> implements Cache<K, V> {
+
+        private final Map<K, V> values = new ConcurrentHashMap<>();
+
+        @Override
+        public V get(K key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            values.put(key, value);
+        }
+
+        @Override
+        public void removeByKey(K key) {
+            values.remove(key);
+        }
+    }
+}
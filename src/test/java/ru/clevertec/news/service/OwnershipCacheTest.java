@@ -0,0 +1,57 @@
+package ru.clevertec.news.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnershipCacheTest {
+
+    private final UUID owner = UUID.randomUUID();
+
+    @Test
+    void shouldReturnRememberedOwnerOfSameKindOnly() {
+        OwnershipCache cache = new OwnershipCache(true, 1024);
+
+        cache.remember(OwnershipCache.Kind.NEWS, 7L, owner);
+
+        assertThat(cache.find(OwnershipCache.Kind.NEWS, 7L)).isEqualTo(owner);
+        assertThat(cache.find(OwnershipCache.Kind.COMMENT, 7L)).isNull();
+        assertThat(cache.find(OwnershipCache.Kind.NEWS, 8L)).isNull();
+    }
+
+    @Test
+    void shouldMissWhenOwnerIsForgotten() {
+        OwnershipCache cache = new OwnershipCache(true, 1024);
+        cache.remember(OwnershipCache.Kind.COMMENT, 7L, owner);
+
+        cache.forget(OwnershipCache.Kind.COMMENT, 7L);
+
+        assertThat(cache.find(OwnershipCache.Kind.COMMENT, 7L)).isNull();
+    }
+
+    @Test
+    void shouldNeverReturnOwnerOfAnotherIdSharingSlot() {
+        OwnershipCache cache = new OwnershipCache(true, 64);
+
+        for (long id = 1; id <= 1000; id++) {
+            cache.remember(OwnershipCache.Kind.NEWS, id, new UUID(id, id));
+        }
+
+        for (long id = 1; id <= 1000; id++) {
+            UUID found = cache.find(OwnershipCache.Kind.NEWS, id);
+            assertThat(found).isIn(null, new UUID(id, id));
+        }
+        assertThat(cache.find(OwnershipCache.Kind.NEWS, 1000L)).isEqualTo(new UUID(1000, 1000));
+    }
+
+    @Test
+    void shouldCacheNothingWhenDisabled() {
+        OwnershipCache cache = new OwnershipCache(false, 1024);
+
+        cache.remember(OwnershipCache.Kind.NEWS, 7L, owner);
+
+        assertThat(cache.find(OwnershipCache.Kind.NEWS, 7L)).isNull();
+    }
+}
@@ -0,0 +1,112 @@
+package ru.clevertec.news.service;
+
+import org.junit.jupiter.api.Test;
+import ru.clevertec.news.entity.dto.NewsResponse;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TitleSuggesterTest {
+
+    @Test
+    void shouldSuggestTitlesStartingWithPrefixMostPopularFirst() {
+        TitleSuggester suggester = new TitleSuggester(true, 1_000_000, 100);
+        suggester.put(news(1L, "Bridge reopened"));
+        suggester.put(news(2L, "Bridge festival"));
+        suggester.put(news(3L, "Brick prices"));
+        suggester.put(news(4L, "Weather"));
+
+        suggester.view(news(2L, "Bridge festival"));
+        suggester.view(news(3L, "Brick prices"));
+        suggester.view(news(3L, "Brick prices"));
+
+        assertThat(suggester.suggest("BRI", 10)).containsExactly("Brick prices", "Bridge festival", "Bridge reopened");
+        assertThat(suggester.suggest("bridge f", 10)).containsExactly("Bridge festival");
+        assertThat(suggester.suggest("br", 1)).containsExactly("Brick prices");
+        assertThat(suggester.suggest("brigade", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceUpdatedTitleAndDropArchivedOne() {
+        TitleSuggester suggester = new TitleSuggester(true, 1_000_000, 100);
+        suggester.put(news(1L, "Bridge reopened"));
+        suggester.put(news(2L, "Bridge festival"));
+
+        suggester.put(news(1L, "Bridge closed"));
+        suggester.remove(2L);
+
+        assertThat(suggester.suggest("bridge", 10)).containsExactly("Bridge closed");
+        assertThat(suggester.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountEveryConcurrentView() throws InterruptedException {
+        TitleSuggester suggester = new TitleSuggester(true, 1_000_000, 100);
+        suggester.put(news(1L, "Bridge reopened"));
+        suggester.put(news(2L, "Bridge festival"));
+        for (int i = 0; i < 1_999; i++) {
+            suggester.view(news(1L, "Bridge reopened"));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 2_000; i++) {
+            executor.execute(() -> suggester.view(news(2L, "Bridge festival")));
+            if (i % 100 == 0) {
+                executor.execute(() -> suggester.suggest("bridge", 10));
+            }
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(suggester.suggest("bridge", 1)).containsExactly("Bridge festival");
+    }
+
+    @Test
+    void shouldCarryViewsOverToUpdatedTitle() {
+        TitleSuggester suggester = new TitleSuggester(true, 1_000_000, 100);
+        suggester.put(news(1L, "Alpha"));
+        suggester.put(news(2L, "Alpine"));
+        suggester.view(news(2L, "Alpine"));
+        suggester.view(news(1L, "Alpha"));
+        suggester.view(news(1L, null));
+
+        suggester.view(news(1L, "Alps"));
+
+        assertThat(suggester.suggest("alp", 10)).containsExactly("Alps", "Alpine");
+    }
+
+    @Test
+    void shouldReturnAccountedMemoryToInitialSizeOnceTitlesAreRemoved() {
+        TitleSuggester suggester = new TitleSuggester(true, 1_000_000, 100);
+        long empty = suggester.memoryBytes();
+        suggester.put(news(1L, "Bridge reopened"));
+        suggester.put(news(2L, "Bridge festival"));
+        suggester.put(news(3L, "Bridge"));
+
+        suggester.remove(3L);
+        suggester.remove(1L);
+        suggester.remove(2L);
+
+        assertThat(suggester.memoryBytes()).isEqualTo(empty);
+        assertThat(suggester.suggest("b", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldNotAddTitlesBeyondMemoryLimit() {
+        TitleSuggester suggester = new TitleSuggester(true, 2_000, 100);
+
+        for (long id = 1; id <= 100; id++) {
+            suggester.put(news(id, "Title number " + id));
+        }
+
+        assertThat(suggester.size()).isBetween(1, 99);
+        assertThat(suggester.memoryBytes()).isLessThanOrEqualTo(2_000);
+    }
+
+    private NewsResponse news(Long id, String title) {
+        return new NewsResponse(id, null, title, "Text", null, null, null);
+    }
+}
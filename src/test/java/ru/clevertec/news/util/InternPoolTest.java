@@ -0,0 +1,30 @@
+package ru.clevertec.news.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InternPoolTest {
+
+    @Test
+    void shouldReturnSameInstanceForPooledKey() {
+        InternPool<String, StringBuilder> pool = new InternPool<>(16);
+
+        StringBuilder first = pool.intern("alice", StringBuilder::new);
+
+        assertThat(pool.intern("alice", StringBuilder::new)).isSameAs(first);
+    }
+
+    @Test
+    void shouldKeepInterningNewKeysOnceCapacityIsReached() {
+        InternPool<String, StringBuilder> pool = new InternPool<>(16);
+        for (int i = 0; i < 1_000; i++) {
+            pool.intern("old-user-" + i, StringBuilder::new);
+        }
+
+        StringBuilder current = pool.intern("current-user", StringBuilder::new);
+
+        assertThat(pool.intern("current-user", StringBuilder::new)).isSameAs(current);
+        assertThat(pool.size()).isLessThanOrEqualTo(16);
+    }
+}